@@ -0,0 +1,257 @@
+package com.study.jpa.loadtest;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+public class DataSeeder {
+
+    // 부하 테스트용 더미 데이터 생성
+    /*
+        - 같은 seed면 항상 같은 데이터 (글번호, 태그 번호도 1번부터 직접 지정) -> 실행마다 결과를 비교할 수 있다.
+        - JDBC batch + rewriteBatchedStatements -> 여러 줄짜리 INSERT로 합쳐서 전송, BATCH_SIZE줄마다 커밋
+        - 해시태그는 앞쪽 태그가 훨씬 많이 쓰이도록 치우치게 고른다. (인기 태그 / 희귀 태그 조회가 모두 생기게)
+    */
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int COMMIT_SIZE = 10_000;
+    private static final LocalDateTime BASE_DATE = LocalDateTime.of(2023, 1, 1, 0, 0);
+    private static final int MAX_CONTENT_LENGTH = 255; // tbl_post.content (Post.content, VARCHAR(255))
+
+    private final Options options;
+
+    public DataSeeder(Options options) {
+        this.options = options;
+    }
+
+    public void run() throws SQLException {
+        try (Connection con = DriverManager.getConnection(options.url, options.user, options.password)) {
+            con.setAutoCommit(false);
+
+            if (options.truncate) truncate(con);
+
+            seedTags(con, new SplittableRandom(options.seed));
+            seedPosts(con, new SplittableRandom(options.seed + 1));
+            seedStudents(con, new SplittableRandom(options.seed + 2));
+            seedProducts(con, new SplittableRandom(options.seed + 3));
+            seedDepartments(con);
+            seedEmployees(con, new SplittableRandom(options.seed + 4));
+        }
+    }
+
+    private void truncate(Connection con) throws SQLException {
+        try (Statement st = con.createStatement()) {
+            st.execute("SET FOREIGN_KEY_CHECKS = 0");
+            for (String table : new String[]{"tbl_post_tag", "tbl_post", "tbl_tag", "tbl_student", "tbl_product", "tbl_emp", "tbl_dept"}) {
+                st.execute("TRUNCATE TABLE " + table);
+            }
+            st.execute("SET FOREIGN_KEY_CHECKS = 1");
+        }
+        con.commit();
+        System.out.println("기존 데이터 삭제 완료");
+    }
+
+    private void seedTags(Connection con, SplittableRandom random) throws SQLException {
+        try (Batch batch = new Batch(con, "tbl_tag", "INSERT INTO tbl_tag (tag_id, tag_name) VALUES (?, ?)")) {
+            for (int id = 1; id <= options.tags; id++) {
+                batch.ps.setLong(1, id);
+                batch.ps.setString(2, "태그" + id);
+                batch.add();
+            }
+        }
+    }
+
+    private void seedPosts(Connection con, SplittableRandom random) throws SQLException {
+        String insertPost = "INSERT INTO tbl_post (post_no, writer, title, content, create_date, update_date, version)" +
+                " VALUES (?, ?, ?, ?, ?, ?, 0)";
+        String insertTag = "INSERT INTO tbl_post_tag (post_no, tag_id) VALUES (?, ?)";
+
+        try (Batch posts = new Batch(con, "tbl_post", insertPost);
+             Batch tags = new Batch(con, "tbl_post_tag", insertTag)) {
+            long[] chosen = new long[options.maxTagsPerPost];
+
+            for (long id = 1; id <= options.posts; id++) {
+                Timestamp created = Timestamp.valueOf(BASE_DATE.plusSeconds(id * 7));
+                posts.ps.setLong(1, id);
+                posts.ps.setString(2, "작성자" + random.nextInt(1000));
+                posts.ps.setString(3, "제목 " + id);
+                posts.ps.setString(4, content(random));
+                posts.ps.setTimestamp(5, created);
+                posts.ps.setTimestamp(6, created);
+                posts.add();
+
+                // 게시물이 먼저 들어가야 해시태그의 FK가 맞는다.
+                if (posts.pending == 0) tags.flush();
+
+                // 서로 다른 태그만 고르므로 전체 태그 수보다 많이 고르면 끝나지 않는다.
+                int tagCount = options.tags == 0 ? 0 : random.nextInt(Math.min(options.maxTagsPerPost, options.tags) + 1);
+                int picked = 0;
+                while (picked < tagCount) {
+                    long tagId = 1 + (long) (options.tags * Math.pow(random.nextDouble(), 3)); // 앞쪽 태그에 몰리게
+                    if (tagId > options.tags || contains(chosen, picked, tagId)) continue;
+                    chosen[picked++] = tagId;
+
+                    tags.ps.setLong(1, id);
+                    tags.ps.setLong(2, tagId);
+                    tags.addWithoutFlush();
+                }
+            }
+            posts.flush();
+        }
+    }
+
+    private void seedStudents(Connection con, SplittableRandom random) throws SQLException {
+        String[] cities = {"서울", "부산", "대구", "인천", "광주", "대전", "울산", "제주"};
+        String[] majors = {"컴퓨터공학", "수학", "경영학", "영문학", "물리학", "디자인"};
+
+        try (Batch batch = new Batch(con, "tbl_student",
+                "INSERT INTO tbl_student (stu_id, stu_name, city, major) VALUES (?, ?, ?, ?)")) {
+            for (int i = 1; i <= options.students; i++) {
+                batch.ps.setString(1, new UUID(random.nextLong(), random.nextLong()).toString());
+                batch.ps.setString(2, "학생" + i);
+                batch.ps.setString(3, cities[random.nextInt(cities.length)]);
+                batch.ps.setString(4, majors[random.nextInt(majors.length)]);
+                batch.add();
+            }
+        }
+    }
+
+    private void seedProducts(Connection con, SplittableRandom random) throws SQLException {
+        String[] categories = {"FOOD", "FASHION", "ELECTRONIC"};
+
+        try (Batch batch = new Batch(con, "tbl_product",
+                "INSERT INTO tbl_product (prod_id, prod_name, price, category, create_date, update_date)" +
+                        " VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= options.products; id++) {
+                Timestamp created = Timestamp.valueOf(BASE_DATE.plusMinutes(id));
+                batch.ps.setLong(1, id);
+                batch.ps.setString(2, "상품" + id); // 상품명은 unique
+                batch.ps.setInt(3, 1000 + random.nextInt(1_000_000));
+                batch.ps.setString(4, categories[random.nextInt(categories.length)]);
+                batch.ps.setTimestamp(5, created);
+                batch.ps.setTimestamp(6, created);
+                batch.add();
+            }
+        }
+    }
+
+    private void seedDepartments(Connection con) throws SQLException {
+        try (Batch batch = new Batch(con, "tbl_dept", "INSERT INTO tbl_dept (dept_id, dept_name) VALUES (?, ?)")) {
+            for (long id = 1; id <= options.departments; id++) {
+                batch.ps.setLong(1, id);
+                batch.ps.setString(2, "부서" + id);
+                batch.add();
+            }
+        }
+    }
+
+    private void seedEmployees(Connection con, SplittableRandom random) throws SQLException {
+        try (Batch batch = new Batch(con, "tbl_emp", "INSERT INTO tbl_emp (emp_id, emp_name, dept_id) VALUES (?, ?, ?)")) {
+            for (long id = 1; id <= options.employees; id++) {
+                batch.ps.setLong(1, id);
+                batch.ps.setString(2, "사원" + id);
+                if (options.departments > 0) {
+                    batch.ps.setLong(3, 1 + random.nextInt(options.departments));
+                } else {
+                    batch.ps.setNull(3, Types.BIGINT);
+                }
+                batch.add();
+            }
+        }
+    }
+
+    // 내용 길이도 seed에 따라 정해진다. (50 ~ 255자, 컬럼 길이를 넘으면 MySQL strict 모드에서 INSERT가 실패한다)
+    private static String content(SplittableRandom random) {
+        int length = 50 + random.nextInt(MAX_CONTENT_LENGTH - 50 + 1);
+        StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            sb.append("부하 테스트용 게시물 내용 ").append(random.nextInt(10_000)).append(' ');
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+
+    private static boolean contains(long[] values, int size, long value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) return true;
+        }
+        return false;
+    }
+
+    // PreparedStatement 하나로 BATCH_SIZE줄씩 보내고 COMMIT_SIZE줄마다 커밋, 끝나면 처리 속도 출력
+    private static final class Batch implements AutoCloseable {
+        private final Connection con;
+        private final String table;
+        private final PreparedStatement ps;
+        private final long start = System.nanoTime();
+        private long rows;
+        private int pending;
+
+        Batch(Connection con, String table, String sql) throws SQLException {
+            this.con = con;
+            this.table = table;
+            this.ps = con.prepareStatement(sql);
+        }
+
+        void add() throws SQLException {
+            addWithoutFlush();
+            if (pending >= BATCH_SIZE) flush();
+        }
+
+        void addWithoutFlush() throws SQLException {
+            ps.addBatch();
+            pending++;
+            rows++;
+        }
+
+        void flush() throws SQLException {
+            if (pending == 0) return;
+            ps.executeBatch();
+            pending = 0;
+            if (rows % COMMIT_SIZE < BATCH_SIZE) con.commit();
+        }
+
+        @Override
+        public void close() throws SQLException {
+            flush();
+            con.commit();
+            ps.close();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%-14s %,12d rows  %8.1f s  %,10.0f rows/s%n", table, rows, seconds, rows / Math.max(seconds, 1e-9));
+        }
+    }
+
+    static final class Options {
+        String url = "jdbc:mysql://localhost:3306/jpa?serverTimezone=Asia/Seoul&rewriteBatchedStatements=true";
+        String user = "spring";
+        String password = "spring";
+        long seed = 42;
+        boolean truncate;
+        long posts = 1_000_000;
+        int tags = 10_000;
+        int maxTagsPerPost = 5;
+        int students = 100_000;
+        long products = 100_000;
+        int departments = 100;
+        long employees = 100_000;
+
+        static Options from(Map<String, String> map) {
+            Options o = new Options();
+            o.url = map.getOrDefault("url", o.url);
+            o.user = map.getOrDefault("user", o.user);
+            o.password = map.getOrDefault("password", o.password);
+            o.seed = LoadTestMain.longOption(map, "seed", o.seed);
+            o.truncate = Boolean.parseBoolean(map.getOrDefault("truncate", "false"));
+            o.posts = LoadTestMain.longOption(map, "posts", o.posts);
+            o.tags = LoadTestMain.intOption(map, "tags", o.tags);
+            o.maxTagsPerPost = LoadTestMain.intOption(map, "max-tags-per-post", o.maxTagsPerPost);
+            o.students = LoadTestMain.intOption(map, "students", o.students);
+            o.products = LoadTestMain.longOption(map, "products", o.products);
+            o.departments = LoadTestMain.intOption(map, "departments", o.departments);
+            o.employees = LoadTestMain.longOption(map, "employees", o.employees);
+            return o;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.study.jpa.loadtest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// 응답 시간 히스토그램 (마이크로초, 2배 구간마다 16칸 -> 오차 6.25% 이내), 여러 스레드가 락 없이 기록
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 16;
+    private static final int SUB_BITS = 4;
+    private static final int MAX_OCTAVE = 40;
+    private static final int BUCKETS = (MAX_OCTAVE - SUB_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    public void record(long nanos, boolean error) {
+        counts.incrementAndGet(bucketOf(Math.max(0, nanos / 1000)));
+        total.increment();
+        if (error) errors.increment();
+    }
+
+    public long getCount() {
+        return total.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    // quantile(0.5, 0.99, 0.999 ...) 위치의 응답 시간 (ms)
+    public double percentileMillis(double quantile) {
+        long count = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return upperBoundOf(i) / 1000.0;
+        }
+        return upperBoundOf(BUCKETS - 1) / 1000.0;
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = other.counts.get(i);
+            if (c != 0) counts.addAndGet(i, c);
+        }
+        total.add(other.getCount());
+        errors.add(other.getErrors());
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) return (int) micros;
+        int octave = 63 - Long.numberOfLeadingZeros(micros); // SUB_BITS 이상
+        if (octave > MAX_OCTAVE) return BUCKETS - 1;
+        int sub = (int) (micros >>> (octave - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (octave - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int octave = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        long lower = (long) (SUB_BUCKETS + sub) << (octave - SUB_BITS);
+        return lower + (1L << (octave - SUB_BITS)) - 1;
+    }
+}
@@ -0,0 +1,71 @@
+package com.study.jpa.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class LoadTestMain {
+
+    /*
+        부하 테스트 실행
+        - seed : 로컬 DB에 더미 데이터 생성 (같은 --seed면 항상 같은 데이터)
+                 애플리케이션을 한 번 실행해서 테이블을 만든 뒤, 애플리케이션을 끄고 실행한다.
+                 (해시태그/검색 색인은 애플리케이션 시작 시 DB에서 만들어진다)
+        - drive: 실행 중인 애플리케이션의 게시물 API에 요청을 보내고 처리량, p50/p99/p999 응답 시간 출력
+
+        옵션은 --이름 값 형태, 기본값은 각 클래스의 Options 참고
+    */
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            usage();
+            return;
+        }
+
+        Map<String, String> options = parseOptions(args);
+        switch (args[0]) {
+            case "seed":
+                new DataSeeder(DataSeeder.Options.from(options)).run();
+                break;
+            case "drive":
+                new WorkloadDriver(WorkloadDriver.Options.from(options)).run();
+                break;
+            default:
+                usage();
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("옵션은 --이름 값 형태로 입력해 주세요: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            if (i + 1 >= args.length || args[i + 1].startsWith("--")) {
+                options.put(name, "true"); // 값이 없으면 켜기 옵션
+            } else {
+                options.put(name, args[++i]);
+            }
+        }
+        return options;
+    }
+
+    private static void usage() {
+        System.out.println("사용법:");
+        System.out.println("  seed  [--url jdbc:mysql://...] [--user spring] [--password spring] [--seed 42] [--truncate]");
+        System.out.println("        [--posts 1000000] [--tags 10000] [--max-tags-per-post 5]");
+        System.out.println("        [--students 100000] [--products 100000] [--departments 100] [--employees 100000]");
+        System.out.println("  drive [--base-url http://localhost:8181] [--seed 42] [--concurrency 32]");
+        System.out.println("        [--duration 60] [--warmup 10] [--rate 0] [--max-post-id 1000000]");
+        System.out.println("        [--mix list=60,detail=30,create=4,update=4,delete=2] [--out loadtest-results.csv]");
+    }
+
+    static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    static long longOption(Map<String, String> options, String name, long defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+}
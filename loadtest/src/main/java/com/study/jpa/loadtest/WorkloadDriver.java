@@ -0,0 +1,248 @@
+package com.study.jpa.loadtest;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.FileWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class WorkloadDriver {
+
+    // 게시물 API 부하 발생기
+    /*
+        - concurrency개의 가상 사용자(스레드)가 mix 비율대로 목록/상세/등록/수정/삭제 요청을 보낸다.
+        - 사용자마다 seed + 번호로 만든 난수를 쓰기 때문에 같은 옵션이면 같은 순서의 요청이 나간다.
+        - rate(초당 전체 요청 수)를 주면 정해진 간격으로 요청하고, 응답 시간은 "보냈어야 할 시각"부터 잰다.
+          -> 서버가 느려져서 못 보낸 요청의 대기 시간도 포함 (coordinated omission 보정)
+          rate가 0이면 응답을 받자마자 다음 요청 (최대 처리량 측정)
+        - warmup 동안의 결과는 버리고 duration 동안만 집계, 2xx/304가 아닌 응답과 예외는 오류로 센다.
+        - 결과는 화면에 출력하고 --out 파일(CSV)에 한 줄씩 추가해서 실행끼리 비교한다.
+    */
+
+    enum Operation {
+        LIST, DETAIL, CREATE, UPDATE, DELETE
+    }
+
+    private final Options options;
+    private final HttpClient client;
+
+    public WorkloadDriver(Options options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public void run() throws Exception {
+        Map<Operation, LatencyHistogram> histograms = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new LatencyHistogram());
+        }
+
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.warmup);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(options.duration);
+        AtomicBoolean measuring = new AtomicBoolean(false);
+        CountDownLatch done = new CountDownLatch(options.concurrency);
+
+        System.out.printf("부하 시작: %s, 동시 사용자 %d, 워밍업 %ds, 측정 %ds, 비율 %s, rate %s%n",
+                options.baseUrl, options.concurrency, options.warmup, options.duration, options.mix,
+                options.rate > 0 ? options.rate + "/s" : "최대");
+
+        for (int i = 0; i < options.concurrency; i++) {
+            int user = i;
+            Thread thread = new Thread(() -> {
+                try {
+                    runUser(user, histograms, warmupEnd, end, measuring);
+                } finally {
+                    done.countDown();
+                }
+            }, "load-user-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnd - System.nanoTime()));
+        measuring.set(true);
+        done.await();
+
+        report(histograms);
+    }
+
+    private void runUser(int user, Map<Operation, LatencyHistogram> histograms,
+                         long warmupEnd, long end, AtomicBoolean measuring) {
+        SplittableRandom random = new SplittableRandom(options.seed * 31 + user);
+        long interval = options.rate > 0 ? TimeUnit.SECONDS.toNanos(options.concurrency) / options.rate : 0;
+        long intended = System.nanoTime();
+
+        while (true) {
+            if (interval > 0) {
+                intended += interval;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            } else {
+                intended = System.nanoTime();
+            }
+            if (intended >= end) return;
+
+            Operation operation = options.pick(random);
+            HttpRequest request = request(operation, random);
+            boolean error;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                int status = response.statusCode();
+                error = !(status / 100 == 2 || status == 304);
+            } catch (IOException e) {
+                error = true;
+            } catch (InterruptedException e) {
+                return;
+            }
+            long latency = System.nanoTime() - intended;
+
+            if (measuring.get() && intended >= warmupEnd) {
+                histograms.get(operation).record(latency, error);
+            }
+        }
+    }
+
+    private HttpRequest request(Operation operation, SplittableRandom random) {
+        String posts = options.baseUrl + "/api/v1/posts";
+        long id = 1 + (long) (random.nextDouble() * options.maxPostId);
+
+        switch (operation) {
+            case LIST: {
+                int page = 1 + random.nextInt(options.maxPage);
+                return get(posts + "?page=" + page + "&size=10");
+            }
+            case DETAIL:
+                return get(posts + "/" + id);
+            case CREATE: {
+                int n = random.nextInt(1_000_000);
+                String body = "{\"writer\":\"부하\",\"title\":\"부하 테스트 " + n + "\",\"content\":\"부하 테스트 내용 " + n + "\"," +
+                        "\"hashTags\":[\"태그" + (1 + random.nextInt(100)) + "\",\"태그" + (1 + random.nextInt(10_000)) + "\"]}";
+                return json("POST", posts, body);
+            }
+            case UPDATE: {
+                int n = random.nextInt(1_000_000);
+                String body = "{\"postNo\":" + id + ",\"title\":\"수정 " + n + "\",\"content\":\"수정된 내용 " + n + "\"}";
+                return json("PUT", posts, body);
+            }
+            case DELETE:
+                // 이미 지워진 글번호에 대한 상세/수정/삭제는 오류로 집계된다. (비교할 때는 실행마다 seed --truncate로 다시 생성)
+                return HttpRequest.newBuilder(URI.create(posts + "/" + id))
+                        .timeout(Duration.ofSeconds(30)).DELETE().build();
+            default:
+                throw new IllegalStateException(operation.name());
+        }
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private static HttpRequest json(String method, String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private void report(Map<Operation, LatencyHistogram> histograms) throws IOException {
+        LatencyHistogram all = new LatencyHistogram();
+        histograms.values().forEach(all::add);
+
+        List<String> csv = new ArrayList<>();
+        String runAt = LocalDateTime.now().withNano(0).toString();
+
+        System.out.printf("%n%-8s %10s %8s %10s %10s %10s %10s%n", "요청", "횟수", "오류", "처리량/s", "p50 ms", "p99 ms", "p999 ms");
+        for (Map.Entry<Operation, LatencyHistogram> entry : histograms.entrySet()) {
+            if (entry.getValue().getCount() == 0) continue;
+            csv.add(print(runAt, entry.getKey().name(), entry.getValue()));
+        }
+        csv.add(print(runAt, "ALL", all));
+
+        Path out = Path.of(options.out);
+        boolean header = !Files.exists(out);
+        try (PrintWriter writer = new PrintWriter(new FileWriter(out.toFile(), true))) {
+            if (header) writer.println("run_at,seed,concurrency,rate,mix,operation,count,errors,throughput,p50_ms,p99_ms,p999_ms");
+            csv.forEach(writer::println);
+        }
+        System.out.println("\n결과 추가: " + out.toAbsolutePath());
+    }
+
+    private String print(String runAt, String name, LatencyHistogram h) {
+        double throughput = h.getCount() / (double) options.duration;
+        double p50 = h.percentileMillis(0.5);
+        double p99 = h.percentileMillis(0.99);
+        double p999 = h.percentileMillis(0.999);
+        System.out.printf("%-8s %10d %8d %10.1f %10.2f %10.2f %10.2f%n", name, h.getCount(), h.getErrors(), throughput, p50, p99, p999);
+        return String.format(Locale.ROOT, "%s,%d,%d,%d,\"%s\",%s,%d,%d,%.1f,%.3f,%.3f,%.3f",
+                runAt, options.seed, options.concurrency, options.rate, options.mix, name,
+                h.getCount(), h.getErrors(), throughput, p50, p99, p999);
+    }
+
+    static final class Options {
+        String baseUrl = "http://localhost:8181";
+        long seed = 42;
+        int concurrency = 32;
+        int duration = 60;
+        int warmup = 10;
+        int rate = 0;
+        long maxPostId = 1_000_000;
+        int maxPage = 1000;
+        String mix = "list=60,detail=30,create=4,update=4,delete=2";
+        String out = "loadtest-results.csv";
+
+        private Operation[] table; // 비율대로 채운 100칸짜리 표
+
+        static Options from(Map<String, String> map) {
+            Options o = new Options();
+            o.baseUrl = map.getOrDefault("base-url", o.baseUrl);
+            o.seed = LoadTestMain.longOption(map, "seed", o.seed);
+            o.concurrency = LoadTestMain.intOption(map, "concurrency", o.concurrency);
+            o.duration = LoadTestMain.intOption(map, "duration", o.duration);
+            o.warmup = LoadTestMain.intOption(map, "warmup", o.warmup);
+            o.rate = LoadTestMain.intOption(map, "rate", o.rate);
+            o.maxPostId = LoadTestMain.longOption(map, "max-post-id", o.maxPostId);
+            o.maxPage = LoadTestMain.intOption(map, "max-page", o.maxPage);
+            o.mix = map.getOrDefault("mix", o.mix);
+            o.out = map.getOrDefault("out", o.out);
+            o.table = parseMix(o.mix);
+            return o;
+        }
+
+        Operation pick(SplittableRandom random) {
+            return table[random.nextInt(table.length)];
+        }
+
+        // "list=60,detail=30,..." -> 비율만큼 칸을 채운 표
+        private static Operation[] parseMix(String mix) {
+            List<Operation> table = new ArrayList<>();
+            for (String part : mix.split(",")) {
+                String[] kv = part.trim().split("=");
+                Operation operation = Operation.valueOf(kv[0].trim().toUpperCase(Locale.ROOT));
+                int weight = Integer.parseInt(kv[1].trim());
+                for (int i = 0; i < weight; i++) table.add(operation);
+            }
+            if (table.isEmpty()) throw new IllegalArgumentException("요청 비율(--mix)을 입력해 주세요.");
+            return table.toArray(new Operation[0]);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.study.jpa.chap05_practice.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.study.jpa.chap05_practice.dto.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// 목록 응답 쓰기: 조회 결과 -> PostListResponseDTO 변환 + Jackson  vs  PostListJsonConverter (스트리밍)
+// 요청 하나당 할당량은 -prof gc 의 gc.alloc.rate.norm (B/op) 으로 비교
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostListWriteBenchmark {
+
+    @Param({"10", "50"})
+    int size;
+
+    @Param({"3"})
+    int tagCount;
+
+    ObjectWriter writer;
+    PostListJsonConverter converter;
+    PostListRowsDTO rows;
+    ByteArrayOutputStream out; // 응답 버퍼는 재사용 (쓰기 자체의 할당만 측정)
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(PostListResponseDTO.class);
+        converter = new PostListJsonConverter(objectMapper);
+        rows = rows(size, tagCount);
+        out = new ByteArrayOutputStream(64 * 1024);
+    }
+
+    // 기존 방식: PostService.getPosts와 같은 변환 후 Jackson 직렬화
+    @Benchmark
+    public int mapAndSerialize() throws IOException {
+        Map<Long, List<String>> tagMap = rows.getTags().stream()
+                .collect(Collectors.groupingBy(
+                        PostTagDTO::getPostId,
+                        Collectors.mapping(PostTagDTO::getTagName, Collectors.toList())
+                ));
+        List<PostDetailResponseDTO> detailList = rows.getPosts().stream()
+                .map(post -> new PostDetailResponseDTO(post, tagMap.getOrDefault(post.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+        PostListResponseDTO dto = PostListResponseDTO.builder()
+                .count(detailList.size())
+                .pageInfo(rows.getPageInfo())
+                .posts(detailList)
+                .build();
+
+        out.reset();
+        writer.writeValue(out, dto);
+        return out.size();
+    }
+
+    @Benchmark
+    public int stream() throws IOException {
+        out.reset();
+        converter.write(rows, out);
+        return out.size();
+    }
+
+    // 최신 글이 먼저 (글번호 내림차순), 태그는 글번호 순
+    static PostListRowsDTO rows(int size, int tagCount) {
+        List<PostSummaryDTO> posts = new ArrayList<>();
+        List<PostTagDTO> tags = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.of(2024, 3, 15, 10, 30);
+        for (long id = size; id >= 1; id--) {
+            posts.add(new PostSummaryDTO(id, "작성자" + id, "제목" + id,
+                    "게시물 내용입니다. " + id, now.minusHours(id), now));
+        }
+        for (long id = 1; id <= size; id++) {
+            for (int t = 0; t < tagCount; t++) {
+                tags.add(new PostTagDTO(id, "태그" + (id * 7 + t) % 100));
+            }
+        }
+        PageResponseDTO pageInfo = new PageResponseDTO(new PageImpl<>(posts, PageRequest.of(0, size), size * 10L));
+        return new PostListRowsDTO(pageInfo, posts, tags, null);
+    }
+}
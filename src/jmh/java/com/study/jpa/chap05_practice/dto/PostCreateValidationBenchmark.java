@@ -0,0 +1,57 @@
+package com.study.jpa.chap05_practice.dto;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// 게시물 등록 DTO 입력값 검증 비용 (통과 / 실패)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostCreateValidationBenchmark {
+
+    ValidatorFactory factory;
+    Validator validator;
+    PostCreateDTO valid;
+    PostCreateDTO invalid;
+
+    @Setup
+    public void setUp() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        valid = PostCreateDTO.builder()
+                .writer("작성자")
+                .title("제목")
+                .content("내용")
+                .hashTags(List.of("가", "나", "다"))
+                .build();
+        invalid = PostCreateDTO.builder()
+                .writer("이름이너무긴작성자")
+                .title(" ")
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<PostCreateDTO>> validate() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<PostCreateDTO>> validateWithViolations() {
+        return validator.validate(invalid);
+    }
+}
@@ -0,0 +1,100 @@
+package com.study.jpa.chap05_practice.dto;
+
+import com.study.jpa.chap05_practice.entity.HashTag;
+import com.study.jpa.chap05_practice.entity.Post;
+import com.study.jpa.chap05_practice.entity.Tag;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 엔터티 -> 응답 DTO 변환 비용 (./gradlew jmh, 연산 1번당 할당량은 gc.alloc.rate.norm)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostDtoMappingBenchmark {
+
+    // 해시태그 수에 따른 상세 DTO 변환 비용
+    @State(Scope.Benchmark)
+    public static class TaggedPost {
+
+        @Param({"0", "3", "10", "30"})
+        int tagCount;
+
+        Post post;
+
+        @Setup
+        public void setUp() {
+            post = PostFixtures.post(1L, tagCount);
+        }
+    }
+
+    // 페이지 정보 계산 (10개씩, 4페이지, 총 1234개)
+    @State(Scope.Benchmark)
+    public static class PostPage {
+
+        Page<Post> page;
+
+        @Setup
+        public void setUp() {
+            List<Post> posts = new ArrayList<>();
+            for (long i = 1; i <= 10; i++) {
+                posts.add(PostFixtures.post(i, 3));
+            }
+            page = new PageImpl<>(posts, PageRequest.of(3, 10), 1234);
+        }
+    }
+
+    @Benchmark
+    public PostDetailResponseDTO detailFromEntity(TaggedPost state) {
+        return new PostDetailResponseDTO(state.post);
+    }
+
+    @Benchmark
+    public PageResponseDTO pageInfo(PostPage state) {
+        return new PageResponseDTO(state.page);
+    }
+
+    // 벤치마크용 더미 데이터
+    static final class PostFixtures {
+
+        private PostFixtures() {
+        }
+
+        static Post post(Long id, int tagCount) {
+            Post post = Post.builder()
+                    .id(id)
+                    .writer("작성자")
+                    .title("제목" + id)
+                    .content("내용".repeat(100))
+                    .createDate(LocalDateTime.of(2024, 1, 1, 12, 0))
+                    .updateDate(LocalDateTime.of(2024, 1, 2, 12, 0))
+                    .build();
+            for (int i = 0; i < tagCount; i++) {
+                post.addHashTag(HashTag.builder()
+                        .tag(Tag.builder().id((long) i).tagName("태그" + i).build())
+                        .build());
+            }
+            return post;
+        }
+
+        static PostListResponseDTO list(int size, int tagCount) {
+            List<PostDetailResponseDTO> posts = new ArrayList<>();
+            for (long i = 1; i <= size; i++) {
+                posts.add(new PostDetailResponseDTO(post(i, tagCount)));
+            }
+            return PostListResponseDTO.builder()
+                    .count(size)
+                    .pageInfo(new PageResponseDTO(new PageImpl<>(posts, PageRequest.of(0, size), 1234)))
+                    .posts(posts)
+                    .build();
+        }
+    }
+}
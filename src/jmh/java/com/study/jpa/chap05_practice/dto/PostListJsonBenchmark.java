@@ -0,0 +1,35 @@
+package com.study.jpa.chap05_practice.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+// 목록 응답 JSON 직렬화 비용 (@JsonFormat 날짜 포함, 스프링과 같은 ObjectMapper 설정)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostListJsonBenchmark {
+
+    @Param({"10", "50"})
+    int size;
+
+    ObjectWriter writer;
+    PostListResponseDTO dto;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writerFor(PostListResponseDTO.class);
+        dto = PostDtoMappingBenchmark.PostFixtures.list(size, 3);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(dto);
+    }
+}
@@ -2,8 +2,10 @@ package com.study.jpa;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // 주기적으로 실행되는 작업(@Scheduled) 활성화
 public class JpaApplication {
 
 	// 이게 내장 톰캣 서버를 가동 시켜주는 주문임
@@ -4,12 +4,16 @@ import com.p6spy.engine.logging.Category;
 import com.p6spy.engine.spy.P6SpyOptions;
 import com.p6spy.engine.spy.appender.MessageFormattingStrategy;
 import org.hibernate.engine.jdbc.internal.FormatStyle;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
 
 import javax.annotation.PostConstruct;
 import java.util.Locale;
 
+// 개발용: 실행되는 모든 SQL을 줄바꿈해서 출력 (post.sql-log.mode: format, application-dev.yml)
+// 운영에서는 SQL마다 포맷팅 비용이 들기 때문에 통계만 모으는 P6SpySqlTelemetry를 사용한다.
 @Configuration
+@ConditionalOnProperty(name = "post.sql-log.mode", havingValue = "format")
 public class P6SpySqlFormatter implements MessageFormattingStrategy {
 
     @PostConstruct
@@ -19,7 +23,6 @@ public class P6SpySqlFormatter implements MessageFormattingStrategy {
 
     @Override
     public String formatMessage(int connectionId, String now, long elapsed, String category, String prepared, String sql, String url) {
-        sql = formatSql(category, sql);
         return String.format("[%s] | %d ms | %s", category, elapsed, formatSql(category, sql));
     }
 
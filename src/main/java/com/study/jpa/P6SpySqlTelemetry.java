@@ -0,0 +1,307 @@
+package com.study.jpa;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "post.sql-log.mode", havingValue = "telemetry", matchIfMissing = true)
+public class P6SpySqlTelemetry extends SimpleJdbcEventListener implements DisposableBean {
+
+    // 운영용 SQL 통계 (post.sql-log.mode: telemetry)
+    /*
+        - SQL마다 값을 뺀 모양(fingerprint)으로 묶어서 실행 횟수, 총 시간, p50 / p99, 최대 시간을 모은다.
+          ex) select ... where p.id in (1, 2, 3) -> select ... where p.id in (?+)
+        - 요청 스레드에서는 fingerprint 캐시 조회 + 카운터 증가만 한다. (문자열 포맷, 로그 출력 X, 락 X)
+        - 주기마다(report-interval) 총 시간이 긴 순서로 상위 N개를 로그로 남기고 새 구간을 시작한다.
+        - 느린 SQL(slow-threshold 이상)만 별도 스레드에서 로그로 남긴다. (대기열이 가득 차면 버린다)
+        - SQL을 한 줄씩 보기 좋게 출력하는 건 개발용 P6SpySqlFormatter (post.sql-log.mode: format)
+    */
+
+    // fingerprint 캐시 최대 크기 (하이버네이트가 만드는 SQL 문자열은 종류가 많지 않다)
+    private static final int MAX_FINGERPRINTS = 10_000;
+    private static final int SLOW_LOG_QUEUE_SIZE = 1000;
+
+    // 값이 2개 이상인 목록 -> (?+) (IN 목록 길이가 달라도 같은 SQL로 묶는다)
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\?(?:, \\?)+\\)");
+
+    private final long slowThresholdNanos;
+    private final int top;
+
+    private final ConcurrentHashMap<String, String> fingerprints = new ConcurrentHashMap<>();
+    private final AtomicReference<ConcurrentHashMap<String, SqlStats>> window =
+            new AtomicReference<>(new ConcurrentHashMap<>());
+    private volatile long windowStart = System.currentTimeMillis();
+
+    // 느린 SQL 로그 전용 스레드 1개 (요청 스레드는 로그 출력을 기다리지 않는다)
+    private final ThreadPoolExecutor slowLogger = new ThreadPoolExecutor(
+            1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(SLOW_LOG_QUEUE_SIZE),
+            runnable -> {
+                Thread thread = new Thread(runnable, "sql-slow-log");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy()
+    );
+
+    public P6SpySqlTelemetry(
+            @Value("${post.sql-log.slow-threshold:200}") long slowThresholdMillis,
+            @Value("${post.sql-log.top:10}") int top
+    ) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.top = top;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        String sql = statementInformation.getSql();
+        if (sql == null || sql.isEmpty()) return;
+
+        String fingerprint = fingerprintOf(sql);
+        window.get().computeIfAbsent(fingerprint, k -> new SqlStats()).record(timeElapsedNanos, e != null);
+
+        if (timeElapsedNanos >= slowThresholdNanos) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos);
+            slowLogger.execute(() -> log.warn("느린 SQL | {} ms{} | {}", millis, e != null ? " | 실패" : "", fingerprint));
+        }
+    }
+
+    // 구간 통계를 로그로 남기고 새 구간 시작
+    @Scheduled(
+            initialDelayString = "${post.sql-log.report-interval:60000}",
+            fixedDelayString = "${post.sql-log.report-interval:60000}"
+    )
+    public void report() {
+        long now = System.currentTimeMillis();
+        long seconds = Math.max(1, (now - windowStart) / 1000);
+        windowStart = now;
+
+        List<Snapshot> snapshots = toSnapshots(window.getAndSet(new ConcurrentHashMap<>()));
+        if (snapshots.isEmpty()) return;
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("SQL 통계 (최근 ").append(seconds).append("초, 총 시간 상위 ").append(snapshots.size()).append("개)");
+        for (Snapshot s : snapshots) {
+            sb.append(String.format("%n  %6d회 | 총 %8.1f ms | p50 %7.2f ms | p99 %7.2f ms | 최대 %7.2f ms | 실패 %d | %s",
+                    s.getCount(), s.getTotalMillis(), s.getP50Millis(), s.getP99Millis(), s.getMaxMillis(),
+                    s.getErrors(), s.getFingerprint()));
+        }
+        log.info(sb.toString());
+    }
+
+    // 현재 구간의 통계 (총 시간 상위 N개, 구간은 유지)
+    public List<Snapshot> snapshot() {
+        return toSnapshots(window.get());
+    }
+
+    private List<Snapshot> toSnapshots(Map<String, SqlStats> stats) {
+        return stats.entrySet().stream()
+                .map(entry -> entry.getValue().toSnapshot(entry.getKey()))
+                .sorted(Comparator.comparingDouble(Snapshot::getTotalMillis).reversed())
+                .limit(top)
+                .collect(Collectors.toList());
+    }
+
+    private String fingerprintOf(String sql) {
+        String cached = fingerprints.get(sql);
+        if (cached != null) return cached;
+
+        String fingerprint = fingerprint(sql);
+        if (fingerprints.size() < MAX_FINGERPRINTS) fingerprints.put(sql, fingerprint);
+        return fingerprint;
+    }
+
+    // SQL에서 값(문자열, 숫자)과 주석을 빼고 공백, 대소문자를 통일한다.
+    static String fingerprint(String sql) {
+        StringBuilder sb = new StringBuilder(sql.length());
+        int length = sql.length();
+        boolean space = false;
+
+        for (int i = 0; i < length; i++) {
+            char c = sql.charAt(i);
+
+            // 주석
+            if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                while (i < length && sql.charAt(i) != '\n') i++;
+                space = true;
+                continue;
+            }
+            if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 1;
+                space = true;
+                continue;
+            }
+
+            if (Character.isWhitespace(c)) {
+                space = true;
+                continue;
+            }
+            if (space && sb.length() > 0) sb.append(' ');
+            space = false;
+
+            // 문자열 값 ('' 는 따옴표 문자)
+            if (c == '\'') {
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                sb.append('?');
+                continue;
+            }
+
+            // 숫자 값 (이름의 일부인 숫자는 그대로: post0_, p1)
+            if (Character.isDigit(c) && !isNamePart(sb)) {
+                while (i + 1 < length && (Character.isDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '.')) i++;
+                sb.append('?');
+                continue;
+            }
+
+            // , 와 ( 뒤의 공백 통일 -> "in (?,?)" 와 "in ( ?, ? )" 를 같게
+            if (c == ',') {
+                sb.append(", ");
+                space = false;
+                while (i + 1 < length && Character.isWhitespace(sql.charAt(i + 1))) i++;
+                continue;
+            }
+            if (c == ')' && sb.length() > 0 && sb.charAt(sb.length() - 1) == ' ') {
+                sb.setLength(sb.length() - 1);
+            }
+            sb.append(Character.toLowerCase(c));
+            if (c == '(') {
+                while (i + 1 < length && Character.isWhitespace(sql.charAt(i + 1))) i++;
+            }
+        }
+
+        int end = sb.length();
+        while (end > 0 && sb.charAt(end - 1) == ' ') end--;
+        sb.setLength(end);
+
+        return IN_LIST.matcher(sb).replaceAll("(?+)");
+    }
+
+    private static boolean isNamePart(StringBuilder sb) {
+        if (sb.length() == 0) return false;
+        char prev = sb.charAt(sb.length() - 1);
+        return Character.isLetterOrDigit(prev) || prev == '_' || prev == '.' || prev == '`' || prev == '"';
+    }
+
+    @Override
+    public void destroy() {
+        slowLogger.shutdown();
+    }
+
+    @Getter
+    @ToString
+    @AllArgsConstructor
+    public static class Snapshot {
+        private String fingerprint;
+        private long count;
+        private long errors;
+        private double totalMillis;
+        private double p50Millis;
+        private double p99Millis;
+        private double maxMillis;
+    }
+
+    // fingerprint 하나의 통계 - 모두 락 없이 갱신 (LongAdder, Atomic)
+    static class SqlStats {
+        // 실행 시간 히스토그램 (마이크로초, 2배 구간마다 8칸 -> 오차 12.5% 이내)
+        private static final int SUB_BUCKETS = 8;
+        private static final int MAX_OCTAVE = 40; // 2^40us = 약 12일
+        private static final int BUCKETS = (MAX_OCTAVE - 1) * SUB_BUCKETS;
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        void record(long nanos, boolean error) {
+            count.increment();
+            if (error) errors.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            histogram.incrementAndGet(bucketOf(Math.max(0, nanos / 1000)));
+        }
+
+        static int bucketOf(long micros) {
+            if (micros < SUB_BUCKETS) return (int) micros;
+            int octave = 63 - Long.numberOfLeadingZeros(micros); // 3 이상
+            if (octave > MAX_OCTAVE) return BUCKETS - 1;
+            int sub = (int) (micros >>> (octave - 3)) & (SUB_BUCKETS - 1);
+            return Math.min(BUCKETS - 1, (octave - 2) * SUB_BUCKETS + sub);
+        }
+
+        // 구간의 상한 (마이크로초)
+        static long upperBoundOf(int bucket) {
+            if (bucket < SUB_BUCKETS) return bucket;
+            int octave = bucket / SUB_BUCKETS + 2;
+            int sub = bucket % SUB_BUCKETS;
+            long lower = (long) (SUB_BUCKETS + sub) << (octave - 3);
+            return lower + (1L << (octave - 3)) - 1;
+        }
+
+        long percentileMicros(double quantile) {
+            long total = 0;
+            long[] counts = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = histogram.get(i);
+                total += counts[i];
+            }
+            if (total == 0) return 0;
+
+            long rank = (long) Math.ceil(quantile * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) return upperBoundOf(i);
+            }
+            return upperBoundOf(BUCKETS - 1);
+        }
+
+        Snapshot toSnapshot(String fingerprint) {
+            long max = maxNanos.get();
+            return new Snapshot(
+                    fingerprint,
+                    count.sum(),
+                    errors.sum(),
+                    totalNanos.sum() / 1_000_000.0,
+                    Math.min(percentileMicros(0.5) / 1000.0, max / 1_000_000.0),
+                    Math.min(percentileMicros(0.99) / 1000.0, max / 1_000_000.0),
+                    max / 1_000_000.0
+            );
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.study.jpa;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "post.sql-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    // 요청마다 SQL 수, DB 시간을 세고, 끝났을 때 N+1(같은 SQL 반복)이나 예산 초과가 보이면 경고 로그
+    /*
+        - 비동기 요청(CompletableFuture)은 처음 요청과 결과를 보내는 재요청(async dispatch) 두 번 이 필터를 지난다.
+          통계 객체는 request 속성에 두고 두 번 모두 같은 객체를 쓰며, 응답이 끝나는 쪽에서 로그를 남긴다.
+        - 응답 헤더(X-Sql-Count, X-Sql-Time-Ms)는 SqlStatementHeaderAdvice (개발용)
+    */
+
+    public static final String ATTRIBUTE = SqlStatementStats.class.getName();
+
+    private final int repeatThreshold; // 같은 SQL이 이 횟수 이상 실행되면 N+1 의심
+    private final int budget;          // 요청 하나의 SQL 수가 이보다 많으면 경고
+
+    public SqlStatementFilter(
+            @Value("${post.sql-stats.repeat-threshold:5}") int repeatThreshold,
+            @Value("${post.sql-stats.budget:20}") int budget
+    ) {
+        this.repeatThreshold = repeatThreshold;
+        this.budget = budget;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        SqlStatementStats stats = (SqlStatementStats) request.getAttribute(ATTRIBUTE);
+        if (stats == null) {
+            stats = new SqlStatementStats();
+            request.setAttribute(ATTRIBUTE, stats);
+        }
+
+        SqlStatementStats.bind(stats);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementStats.unbind();
+        }
+
+        if (!isAsyncStarted(request)) {
+            check(request, stats);
+        }
+    }
+
+    private void check(HttpServletRequest request, SqlStatementStats stats) {
+        Map.Entry<String, Long> repeated = stats.mostRepeated().orElse(null);
+
+        if (repeated != null && repeated.getValue() >= repeatThreshold) {
+            log.warn("N+1 의심 | {} {} | 같은 SQL {}회 실행 (전체 {}개, {} ms) | {}",
+                    request.getMethod(), request.getRequestURI(), repeated.getValue(),
+                    stats.getCount(), stats.getMillis(), repeated.getKey());
+        } else if (stats.getCount() > budget) {
+            log.warn("SQL 예산 초과 | {} {} | {}", request.getMethod(), request.getRequestURI(), stats);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.study.jpa;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// 개발용: 응답 헤더로 요청 하나에서 실행된 SQL 수, DB 시간, 같은 SQL 최대 반복 횟수를 알려준다. (post.sql-stats.headers)
+// 응답 본문을 쓰기 직전에 추가하므로 비동기 요청도 DB 작업이 모두 끝난 값이 나간다.
+@ControllerAdvice
+@ConditionalOnProperty(name = "post.sql-stats.headers", havingValue = "true")
+public class SqlStatementHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest) {
+            Object stats = ((ServletServerHttpRequest) request).getServletRequest()
+                    .getAttribute(SqlStatementFilter.ATTRIBUTE);
+            if (stats instanceof SqlStatementStats) {
+                SqlStatementStats s = (SqlStatementStats) stats;
+                response.getHeaders().set("X-Sql-Count", String.valueOf(s.getCount()));
+                response.getHeaders().set("X-Sql-Time-Ms", String.valueOf(s.getMillis()));
+                response.getHeaders().set("X-Sql-Max-Repeat", String.valueOf(s.getMaxRepeat()));
+            }
+        }
+        return body;
+    }
+}
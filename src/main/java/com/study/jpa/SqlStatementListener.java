@@ -0,0 +1,21 @@
+package com.study.jpa;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+// 실행된 SQL을 현재 요청의 SqlStatementStats에 기록 (요청 밖의 SQL - 스케줄러, 시작 시 작업 등은 기록 X)
+@Component
+public class SqlStatementListener extends SimpleJdbcEventListener {
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats == null) return;
+
+        String sql = statementInformation.getSql();
+        if (sql != null) stats.record(sql, timeElapsedNanos);
+    }
+}
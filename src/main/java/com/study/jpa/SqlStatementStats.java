@@ -0,0 +1,85 @@
+package com.study.jpa;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class SqlStatementStats {
+    // 요청 하나(또는 테스트의 작업 하나)에서 실행된 SQL 수, DB 시간, 같은 SQL의 반복 횟수
+    /*
+        - SqlStatementFilter가 요청마다 만들어서 현재 스레드에 연결(bind)하고,
+          SqlStatementListener(p6spy)가 SQL이 실행될 때마다 기록한다.
+        - 비동기 요청은 DB 작업 스레드(postDbExecutor)로 wrap()해서 넘기므로 여러 스레드가 같이 기록할 수 있다. -> LongAdder
+        - 같은 SQL(값은 ?로 빠진 PreparedStatement)이 한 요청에서 여러 번 실행됐다면 N+1을 의심할 수 있다.
+          ex) 게시물마다 해시태그 조회, 사원마다 부서 지연 로딩
+    */
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final Map<String, LongAdder> bySql = new ConcurrentHashMap<>();
+
+    public void record(String sql, long elapsedNanos) {
+        count.increment();
+        nanos.add(elapsedNanos);
+        bySql.computeIfAbsent(sql, k -> new LongAdder()).increment();
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(nanos.sum());
+    }
+
+    // 가장 많이 반복된 SQL과 그 횟수
+    public Optional<Map.Entry<String, Long>> mostRepeated() {
+        return bySql.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .max(Comparator.comparingLong(Map.Entry::getValue));
+    }
+
+    public long getMaxRepeat() {
+        return mostRepeated().map(Map.Entry::getValue).orElse(0L);
+    }
+
+    @Override
+    public String toString() {
+        return "SQL " + getCount() + "개, " + getMillis() + " ms"
+                + mostRepeated()
+                .filter(e -> e.getValue() > 1)
+                .map(e -> ", 최다 반복 " + e.getValue() + "회: " + e.getKey())
+                .orElse("");
+    }
+
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    public static void bind(SqlStatementStats stats) {
+        CURRENT.set(stats);
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    // 작업을 등록한 스레드의 통계를 작업 스레드에서도 이어서 기록 (TaskDecorator)
+    public static Runnable wrap(Runnable task) {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats == null) return task;
+        return () -> {
+            CURRENT.set(stats);
+            try {
+                task.run();
+            } finally {
+                CURRENT.remove();
+            }
+        };
+    }
+}
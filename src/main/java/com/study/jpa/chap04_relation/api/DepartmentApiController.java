@@ -0,0 +1,53 @@
+package com.study.jpa.chap04_relation.api;
+
+import com.study.jpa.chap04_relation.dto.DepartmentListResponseDTO;
+import com.study.jpa.chap04_relation.dto.EmployeeView;
+import com.study.jpa.chap04_relation.service.DepartmentService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "department API", description = "부서 조회 api 입니다.")
+@RestController
+@Slf4j
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/departments")
+public class DepartmentApiController {
+
+    // 리소스: 부서 (Department)
+    /*
+        부서 목록 조회: /departments - GET , param: (page, size, view) -> page는 1부터, view: FULL(기본), ID, NAME
+        - 부서는 DB에서 페이징하고, 사원은 페이지마다 IN 쿼리 한 번으로 함께 조회
+        - view=ID / NAME 이면 사원 번호 / 이름만 조회 (엔터티를 만들지 않는다)
+     */
+    private static final int MAX_SIZE = 100; // 사원 IN 쿼리에 들어가는 부서 번호 수의 상한
+
+    private final DepartmentService departmentService;
+
+
+    // 부서 목록 페이징 조회 (부서원 포함)
+    @GetMapping
+    public ResponseEntity<?> list(
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "FULL") EmployeeView view
+    ) {
+        log.info("/api/v1/departments?page={}&size={}&view={}", page, size, view);
+
+        if (page < 1) {
+            return ResponseEntity.badRequest().body("page는 1 이상으로 보내주세요.");
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            return ResponseEntity.badRequest().body("size는 1~" + MAX_SIZE + " 사이로 보내주세요.");
+        }
+
+        DepartmentListResponseDTO dto = departmentService.getDepartments(page, size, view);
+        return ResponseEntity.ok().body(dto);
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.study.jpa.chap04_relation.dto;
+
+import lombok.*;
+
+@Getter
+@ToString @EqualsAndHashCode
+@AllArgsConstructor
+public class DepartmentEmployeeDTO {
+    // 부서 번호 + 사원 번호 또는 이름만 담는 프로젝션 (여러 부서의 사원을 한 번에 조회할 때 사용)
+    // e.department.id 는 FK 컬럼(dept_id)을 그대로 읽기 때문에 tbl_dept와 JOIN 하지 않는다.
+
+    private Long departmentId;
+    private Long employeeId;
+    private String name;
+
+    // SELECT new ...(e.department.id, e.id)
+    public DepartmentEmployeeDTO(Long departmentId, Long employeeId) {
+        this(departmentId, employeeId, null);
+    }
+
+    // SELECT new ...(e.department.id, e.name)
+    public DepartmentEmployeeDTO(Long departmentId, String name) {
+        this(departmentId, null, name);
+    }
+}
@@ -0,0 +1,20 @@
+package com.study.jpa.chap04_relation.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter
+@ToString @EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DepartmentListResponseDTO {
+
+    private int count; // 이 페이지의 부서 수
+    private int currentPage; // 1부터
+    private int totalPages;
+    private long totalCount; // 전체 부서 수
+    private List<DepartmentResponseDTO> departments;
+
+}
@@ -0,0 +1,24 @@
+package com.study.jpa.chap04_relation.dto;
+
+import com.study.jpa.chap04_relation.entity.Department;
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter
+@ToString @EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentResponseDTO {
+
+    private Long id;
+    private String name;
+    private List<EmployeeResponseDTO> employees;
+
+    // department.getEmployees()는 부르지 않는다. (부서마다 지연 로딩 -> N+1) 사원은 따로 모아서 조회한 뒤 전달
+    public DepartmentResponseDTO(Department department, List<EmployeeResponseDTO> employees) {
+        this.id = department.getId();
+        this.name = department.getName();
+        this.employees = employees;
+    }
+}
@@ -0,0 +1,26 @@
+package com.study.jpa.chap04_relation.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.study.jpa.chap04_relation.entity.Employee;
+import lombok.*;
+
+@Getter @Setter
+@ToString @EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL) // ID, NAME 조회에서는 조회하지 않은 값(null)을 JSON에서 뺀다.
+public class EmployeeResponseDTO {
+
+    private Long id;
+    private String name;
+
+    public EmployeeResponseDTO(Employee employee) {
+        this.id = employee.getId();
+        this.name = employee.getName();
+    }
+
+    public EmployeeResponseDTO(DepartmentEmployeeDTO employee) {
+        this.id = employee.getEmployeeId();
+        this.name = employee.getName();
+    }
+}
@@ -0,0 +1,8 @@
+package com.study.jpa.chap04_relation.dto;
+
+public enum EmployeeView {
+    // 부서 목록 조회 시 사원 정보를 어디까지 담을지
+    FULL, // 사원 엔터티 조회 -> 사원 번호 + 이름
+    ID, // 사원 번호만 (프로젝션, 엔터티 X)
+    NAME // 사원 이름만 (프로젝션, 엔터티 X)
+}
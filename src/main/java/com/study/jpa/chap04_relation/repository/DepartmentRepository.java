@@ -8,6 +8,8 @@ import java.util.List;
 
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
 
+    // 컬렉션 페치 조인 -> 부서 x 사원 수만큼 행이 나오고 DISTINCT로 메모리에서 중복을 없앤다.
+    // Pageable을 붙이면 전체를 읽어서 메모리에서 페이징하므로(HHH000104) 목록 페이징에는 쓰지 않는다. (DepartmentService 참고)
     @Query("SELECT DISTINCT d FROM Department d JOIN FETCH d.employees")
     List<Department> findAllIncludesEmployees();
 
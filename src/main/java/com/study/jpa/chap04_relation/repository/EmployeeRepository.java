@@ -1,10 +1,28 @@
 package com.study.jpa.chap04_relation.repository;
 
+import com.study.jpa.chap04_relation.dto.DepartmentEmployeeDTO;
 import com.study.jpa.chap04_relation.entity.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
+    // 여러 부서의 사원을 IN 쿼리 한 번으로 조회 (부서 페이지마다 1번 -> 부서 수와 상관없이 쿼리 수가 같다)
+    // 부서는 이미 영속성 컨텍스트에 있으므로 e.getDepartment()는 추가 조회 없이 그 부서를 돌려준다.
+    @Query("SELECT e FROM Employee e WHERE e.department.id IN :departmentIds ORDER BY e.id")
+    List<Employee> findByDepartmentIds(@Param("departmentIds") List<Long> departmentIds);
+
+    // 사원 번호만 (엔터티를 만들지 않는 프로젝션)
+    @Query("SELECT new com.study.jpa.chap04_relation.dto.DepartmentEmployeeDTO(e.department.id, e.id)" +
+            " FROM Employee e WHERE e.department.id IN :departmentIds ORDER BY e.id")
+    List<DepartmentEmployeeDTO> findIdsByDepartmentIds(@Param("departmentIds") List<Long> departmentIds);
 
+    // 사원 이름만 (엔터티를 만들지 않는 프로젝션)
+    @Query("SELECT new com.study.jpa.chap04_relation.dto.DepartmentEmployeeDTO(e.department.id, e.name)" +
+            " FROM Employee e WHERE e.department.id IN :departmentIds ORDER BY e.id")
+    List<DepartmentEmployeeDTO> findNamesByDepartmentIds(@Param("departmentIds") List<Long> departmentIds);
 
 }
@@ -0,0 +1,88 @@
+package com.study.jpa.chap04_relation.service;
+
+import com.study.jpa.chap04_relation.dto.*;
+import com.study.jpa.chap04_relation.entity.Department;
+import com.study.jpa.chap04_relation.repository.DepartmentRepository;
+import com.study.jpa.chap04_relation.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DepartmentService {
+
+    // 부서 목록 페이징 조회
+    /*
+        1. 부서만 DB에서 페이징 (LIMIT + COUNT) -> 페치 조인(findAllIncludesEmployees)처럼 메모리에서 페이징하지 않는다.
+        2. 이 페이지 부서들의 사원을 IN 쿼리 한 번으로 조회해서 부서별로 나눈다.
+        -> 부서 수, 사원 수와 상관없이 SQL 최대 3개 (COUNT는 마지막 페이지에서 생략될 수 있고, 빈 페이지는 사원 조회 X)
+        department.getEmployees()는 부르지 않는다. (부서마다 지연 로딩 -> N+1)
+    */
+
+    private final DepartmentRepository departmentRepository;
+    private final EmployeeRepository employeeRepository;
+
+    // page는 1부터
+    public DepartmentListResponseDTO getDepartments(int page, int size, EmployeeView view) {
+        Page<Department> departments = departmentRepository.findAll(
+                PageRequest.of(page - 1, size, Sort.by("id"))
+        );
+
+        List<Long> departmentIds = departments.getContent().stream()
+                .map(Department::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<EmployeeResponseDTO>> employeeMap = findEmployees(departmentIds, view);
+
+        List<DepartmentResponseDTO> departmentList = departments.getContent().stream()
+                .map(department -> new DepartmentResponseDTO(
+                        department, employeeMap.getOrDefault(department.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+
+        return DepartmentListResponseDTO.builder()
+                .count(departmentList.size())
+                .currentPage(page)
+                .totalPages(departments.getTotalPages())
+                .totalCount(departments.getTotalElements())
+                .departments(departmentList)
+                .build();
+    }
+
+    // 부서 번호 -> 사원 목록 (사원 번호 순)
+    private Map<Long, List<EmployeeResponseDTO>> findEmployees(List<Long> departmentIds, EmployeeView view) {
+        if (departmentIds.isEmpty()) return Map.of();
+
+        switch (view) {
+            case ID:
+                return groupByDepartment(employeeRepository.findIdsByDepartmentIds(departmentIds));
+            case NAME:
+                return groupByDepartment(employeeRepository.findNamesByDepartmentIds(departmentIds));
+            default:
+                return employeeRepository.findByDepartmentIds(departmentIds)
+                        .stream()
+                        .collect(Collectors.groupingBy(
+                                employee -> employee.getDepartment().getId(),
+                                Collectors.mapping(EmployeeResponseDTO::new, Collectors.toList())
+                        ));
+        }
+    }
+
+    private static Map<Long, List<EmployeeResponseDTO>> groupByDepartment(List<DepartmentEmployeeDTO> employees) {
+        return employees.stream()
+                .collect(Collectors.groupingBy(
+                        DepartmentEmployeeDTO::getDepartmentId,
+                        Collectors.mapping(EmployeeResponseDTO::new, Collectors.toList())
+                ));
+    }
+}
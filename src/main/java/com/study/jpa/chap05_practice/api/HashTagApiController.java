@@ -0,0 +1,75 @@
+package com.study.jpa.chap05_practice.api;
+
+import com.study.jpa.chap05_practice.dto.TrendingTagDTO;
+import com.study.jpa.chap05_practice.trending.TrendingTagCounter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Tag(name = "hashtag API", description = "해시태그 조회 api 입니다.")
+@RestController
+@Slf4j
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/hashtags")
+public class HashTagApiController {
+
+    // 리소스: 해시태그 (HashTag)
+    /*
+        인기 해시태그 조회: /hashtags/trending - GET , param: (window, limit) -> window: 30m, 1h, 90s ... (기본 1h)
+        - DB를 조회하지 않고 등록 시점에 메모리에 집계해 둔 값으로 응답 (근사값)
+     */
+    private static final Pattern WINDOW_PATTERN = Pattern.compile("(\\d+)([smh])");
+
+    private final TrendingTagCounter trendingTagCounter;
+
+
+    // 인기 해시태그 조회
+    @GetMapping("/trending")
+    public ResponseEntity<?> trending(
+            @RequestParam(defaultValue = "1h") String window,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        log.info("/api/v1/hashtags/trending?window={}&limit={}", window, limit);
+
+        if (limit < 1 || limit > 100) {
+            return ResponseEntity.badRequest().body("limit은 1~100 사이로 보내주세요.");
+        }
+
+        try {
+            List<TrendingTagDTO> tags = trendingTagCounter.top(
+                    parseWindow(window, trendingTagCounter.maxWindow()), limit, System.currentTimeMillis());
+            return ResponseEntity.ok().body(tags);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // 30m, 1h 같은 문자열을 Duration으로
+    // 숫자가 아주 크면 Duration을 만들거나 ms로 바꿀 때 ArithmeticException(500)이 나므로 최대 구간과 먼저 비교한다.
+    static Duration parseWindow(String window, Duration maxWindow) {
+        Matcher matcher = WINDOW_PATTERN.matcher(window.trim().toLowerCase());
+        BigInteger amount = matcher.matches() ? new BigInteger(matcher.group(1)) : BigInteger.ZERO;
+        if (amount.signum() == 0) {
+            throw new IllegalArgumentException("window는 30m, 1h 처럼 숫자 + 단위(s, m, h)로 보내주세요.");
+        }
+        TimeUnit unit = matcher.group(2).equals("s") ? TimeUnit.SECONDS
+                : matcher.group(2).equals("m") ? TimeUnit.MINUTES : TimeUnit.HOURS;
+        if (amount.compareTo(BigInteger.valueOf(unit.convert(maxWindow))) > 0) {
+            throw new IllegalArgumentException("조회할 수 있는 최대 구간은 " + maxWindow + " 입니다.");
+        }
+        return Duration.of(amount.longValue(), unit.toChronoUnit());
+    }
+
+}
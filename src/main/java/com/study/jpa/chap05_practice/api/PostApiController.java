@@ -1,6 +1,9 @@
 package com.study.jpa.chap05_practice.api;
 
+import com.study.jpa.chap05_practice.cache.PostListCache;
 import com.study.jpa.chap05_practice.dto.*;
+import com.study.jpa.chap05_practice.service.PostExportService;
+import com.study.jpa.chap05_practice.service.PostImportService;
 import com.study.jpa.chap05_practice.service.PostService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,14 +16,33 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @Tag(name = "post API", description = "게시물 조회, 등록 및 수정, 삭제 api 입니다.")
 @RestController
@@ -31,27 +53,103 @@ public class PostApiController {
 
     // 리소스: 게시물 (Post)
     /*
-        게시물 목록 조회: /posts            - GET , param: (page, size)
+        게시물 목록 조회: /posts            - GET , param: (page, size, strategy) -> strategy: PAGE(기본), SLICE, CACHED_COUNT
+        - 목록 조회 공통 param: previewLength -> 내용을 앞에서부터 몇 글자만 받을지 (생략하면 내용 전체)
+        해시태그로 조회: /posts            - GET , param: (tag, tagMode, page, size) -> tag=a&tag=b, tagMode: AND(기본), OR
+        게시물 커서 조회: /posts            - GET , param: (cursor, size) -> cursor를 보내면 커서 페이징 (첫 페이지는 cursor=)
+        게시물 검색:     /posts/search     - GET , param: (q, page, size) -> 제목 + 내용 검색, 관련도 순
+        게시물 내보내기:  /posts/export     - GET , param: (format) -> NDJSON(기본), CSV / 전체 게시물 + 해시태그를 스트리밍으로 다운로드
         게시물 개별 조회: /posts/{id}       - GET
+        - 앞쪽 목록 페이지(기본 크기)는 응답 본문을 JSON, gzip 두 가지로 캐시해 둔다. (PostListCache)
+          Accept-Encoding: gzip 이면 압축된 본문 + Content-Encoding: gzip
+        - 목록(페이지 조회), 개별 조회 응답에는 ETag, Last-Modified 헤더가 붙는다.
+          다음 요청에 If-None-Match, If-Modified-Since로 보내면 바뀐 게 없을 때 본문 없이 304
         - param으로 넘어오는 것은 쿼리스트링으로 값이 넘어오는 것
         {id}는 그냥 url에 묻어서 오는 것
         
         게시물 등록:     /posts            - POST , payload(: 유효 탑재량, 전송되는 순수한 데이터): writer, title, content, hashTags -> fetch로 프론트에서 보내는 이름.
+        게시물 대량 등록: /posts/bulk       - POST , payload: {posts: [{writer, title, content, hashTags}, ...]}
+        게시물 가져오기:  /posts/import     - POST , payload: NDJSON (한 줄에 {writer, title, content, hashTags} 하나씩)
         게시물 수정:     /posts            - PATCH, PUT, payload: {title, content, postNo}
+        - 개별 조회/수정 응답의 ETag 헤더 값(게시물 버전)을 수정 요청의 If-Match 헤더로 보내면
+          그 사이에 다른 사람이 수정한 경우 덮어쓰지 않고 412 (Precondition Failed)
         게시물 삭제:     /posts/{id}       - DELETE
+        게시물 대량 삭제: /posts/bulk       - DELETE, payload: {postNos: [1, 2, ...]} 또는 {writer, from, to}
+
+        - 내보내기/가져오기를 제외한 요청은 DB 작업 전용 스레드 풀에서 비동기로 처리한다.
+          (풀 크기 = 커넥션 풀 크기, 대기열이 가득 차면 바로 503 + Retry-After)
      */
     private final PostService postService;
+    private final PostExportService postExportService;
+    private final PostImportService postImportService;
+    private final ThreadPoolTaskExecutor postDbExecutor; // DB 작업 전용 스레드 풀 (PostExecutorConfig)
+    private final PostListCache postListCache; // 앞쪽 목록 페이지의 응답 본문(JSON, gzip) 캐시
+    private final PostListJsonConverter postListJsonConverter;
 
 
     // 게시물 목록 페이징 조회
     @GetMapping
-    public ResponseEntity<?> list(PageDTO pageDTO) {
-        log.info("/api/v1/posts?page={}&size={}", pageDTO.getPage(), pageDTO.getSize());
+    public CompletableFuture<ResponseEntity<?>> list(
+            PageDTO pageDTO,
+            @RequestParam(defaultValue = "PAGE") PageStrategy strategy, // 페이징 방식 (COUNT 쿼리 여부)
+            @RequestParam(required = false) String cursor, // 커서 페이징 모드 (페이지 번호 대신 마지막으로 본 위치)
+            @RequestParam(required = false) List<String> tag, // 해시태그로 찾기 (여러 개 가능)
+            @RequestParam(defaultValue = "AND") TagMatchMode tagMode,
+            HttpServletRequest request // 조건부 GET (If-None-Match, If-Modified-Since) 확인용
+    ) {
+        if (tag != null && !tag.isEmpty()) {
+            log.info("/api/v1/posts?tag={}&tagMode={}&page={}&size={}", tag, tagMode, pageDTO.getPage(), pageDTO.getSize());
+            return async(() -> {
+                try {
+                    PostListResponseDTO dto = postService.getPostsByTags(tag, tagMode, pageDTO);
+                    return ResponseEntity.ok().body(dto);
+                } catch (IllegalStateException e) {
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+                }
+            });
+        }
+
+        if (cursor != null) {
+            log.info("/api/v1/posts?cursor={}&size={}", cursor, pageDTO.getSize());
+            return async(() -> {
+                try {
+                    PostCursorResponseDTO dto = postService.getPostsByCursor(cursor, pageDTO);
+                    return ResponseEntity.ok().body(dto);
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.badRequest().body(e.getMessage());
+                }
+            });
+        }
+
+        log.info("/api/v1/posts?page={}&size={}&strategy={}", pageDTO.getPage(), pageDTO.getSize(), strategy);
+
+        // 작업 스레드에서는 요청 객체를 읽지 않는다. (시간 초과로 응답이 끝나면 Tomcat이 요청 객체를 재사용)
+        RequestHeaders headers = RequestHeaders.of(request);
+
+        // 캐시된 페이지는 DB 작업 스레드 풀도 거치지 않고 저장된 바이트를 그대로 응답 (DB 조회, JSON 변환, 압축 X)
+        PostListCache.Key cacheKey = postListCache.keyOf(pageDTO, strategy);
+        if (cacheKey != null) {
+            PostListCache.Page cached = postListCache.get(cacheKey);
+            if (cached != null) return CompletableFuture.completedFuture(cachedResponse(cached, headers));
+        }
 
-        // 화면단에게는 JSON형태로 전달이 될 것이다.
-        PostListResponseDTO dto = postService.getPosts(pageDTO);
+        return async(() -> {
+            // 조건부 요청이면 목록 버전만 먼저 확인 -> 바뀐 게 없으면 본문 없이 304 Not Modified
+            if (headers.isConditional()) {
+                VersionInfoDTO version = postService.getPostsVersion(pageDTO, strategy);
+                if (headers.isNotModified(version)) return withVersion(ResponseEntity.status(HttpStatus.NOT_MODIFIED), version).build();
+            }
 
-        return ResponseEntity.ok().body(dto);
+            // 화면단에게는 JSON형태로 전달이 될 것이다.
+            // 조회 결과를 DTO로 변환하지 않고 PostListJsonConverter가 JSON으로 바로 쓴다. (본문은 PostListResponseDTO와 같다)
+            long cacheGeneration = postListCache.generation(); // 조회 도중에 게시물이 바뀌면 캐시에 넣지 않는다.
+            PostListRowsDTO rows = postService.getPostRows(pageDTO, strategy);
+
+            if (cacheKey != null) {
+                return cachedResponse(postListCache.put(cacheKey, cacheGeneration, rows, postListJsonConverter::toBytes), headers);
+            }
+            return withVersion(ResponseEntity.ok(), rows.getVersionInfo()).body(rows);
+        });
         /*
         - ResponseEntity.ok()
         응답상태코드임. 200 상태를 리턴함
@@ -59,21 +157,68 @@ public class PostApiController {
     }
 
 
+    // 게시물 제목 + 내용 검색
+    @GetMapping("/search")
+    public CompletableFuture<ResponseEntity<?>> search(@RequestParam String q, PageDTO pageDTO) {
+        log.info("/api/v1/posts/search?q={}&page={}&size={}", q, pageDTO.getPage(), pageDTO.getSize());
+
+        if (q.isBlank()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("검색어를 입력해 주세요."));
+        }
+
+        return async(() -> {
+            try {
+                PostListResponseDTO dto = postService.search(q, pageDTO);
+                return ResponseEntity.ok().body(dto);
+            } catch (IllegalStateException e) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+            }
+        });
+    }
+
+
+    // 전체 게시물 내보내기 - 조회하는 대로 응답 스트림에 바로 쓴다. (전체를 메모리에 모으지 않음)
+    @Operation(summary = "게시물 내보내기", description = "전체 게시물과 해시태그를 NDJSON 또는 CSV로 내보냅니다.")
+    @GetMapping("/export")
+    public void export(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            HttpServletResponse response
+    ) throws IOException {
+        log.info("/api/v1/posts/export?format={}", format);
+
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"posts." + format.getExtension() + "\"");
+
+        postExportService.export(format, response.getOutputStream());
+    }
+
+
     // 특정 게시물 개별 조회
     @GetMapping("/{id}")
-    public ResponseEntity<?> detail(@PathVariable Long id){
+    public CompletableFuture<ResponseEntity<?>> detail(@PathVariable Long id, HttpServletRequest request){
         log.info("/api/v1/posts/{}", id);
 
 
+        RequestHeaders headers = RequestHeaders.of(request); // 작업 스레드에서는 요청 객체를 읽지 않는다.
+
         // 서비스에서 보낸 결과 값에 예외가 발생했다면 던지고 컨트롤러에서 받아 예외를 처리하겠다.
-        try {
-            PostDetailResponseDTO dto = postService.getDetail(id);
-            return ResponseEntity.ok().body(dto);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.badRequest().body(e.getMessage());
-            // 화면단에 잘못된 요청을 보냈다고 body에 예외의 매개 값인 e에 서비스에서 적었던 메세지를 전달한다.
-        }
+        return async(() -> {
+            try {
+                // 조건부 요청이면 버전만 조회해서 304 여부 판단 (PK로 한 줄, 해시태그 조회 X)
+                if (headers.isConditional()) {
+                    VersionInfoDTO version = postService.getDetailVersion(id);
+                    if (headers.isNotModified(version)) return withVersion(ResponseEntity.status(HttpStatus.NOT_MODIFIED), version).build();
+                }
+
+                PostDetailResponseDTO dto = postService.getDetail(id);
+                return withVersion(ResponseEntity.ok(), VersionInfoDTO.ofVersion(dto.getVersion(), dto.getUpdateDate())).body(dto);
+            } catch (Exception e) {
+                e.printStackTrace();
+                return ResponseEntity.badRequest().body(e.getMessage());
+                // 화면단에 잘못된 요청을 보냈다고 body에 예외의 매개 값인 e에 서비스에서 적었던 메세지를 전달한다.
+            }
+        });
 
         /*
         - 결과 (id: 17)
@@ -99,7 +244,7 @@ public class PostApiController {
             // 이렇게 작성 해 주면 지정한 api 홈페이지에 들어갔을 때 설명들이 나온다.
     })
     @PostMapping
-    public ResponseEntity<?> create(
+    public CompletableFuture<ResponseEntity<?>> create(
             @Validated @RequestBody PostCreateDTO dto,
             BindingResult result // 검증 에러 정보를 가진 객체
     ){
@@ -109,67 +254,292 @@ public class PostApiController {
         // 1단계
          if(dto == null){
              // DTO 객체가 전달 자체가 안된 경우에는 여기서 막아서 끝내겠다.
-             return ResponseEntity.badRequest().body("등록 게시물 정보를 전달 해 주세요!");
+             return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("등록 게시물 정보를 전달 해 주세요!"));
          }
          // 2단계
         ResponseEntity<List<FieldError>> fieldErrors = getValidatedResult(result);
-        if (fieldErrors != null) return fieldErrors;
+        if (fieldErrors != null) return CompletableFuture.completedFuture(fieldErrors);
 
         // 위의 if문들을 다 패스 했다면 = dto가 null도 아니고, 입력 값 검증도 모두 통과함. -> service에게 명령.
+        return async(() -> {
+            try {
+                PostDetailResponseDTO responseDTO = postService.insert(dto);
+                return ResponseEntity.ok().body(responseDTO);
+            } catch (Exception e) {
+                e.printStackTrace();
+                return ResponseEntity.internalServerError().body("서버 터짐뵤 먄. 원인 -> " + e.getMessage());
+            }
+        });
+    }
+    // 게시글 대량 등록 (post)
+    @Operation(summary = "게시물 대량 등록", description = "여러 게시물과 해시태그를 한 번에 등록합니다. (JDBC batch insert)")
+    @PostMapping("/bulk")
+    public CompletableFuture<ResponseEntity<?>> createAll(
+            @Validated @RequestBody PostBulkCreateDTO dto,
+            BindingResult result
+    ){
+        log.info("/api/v1/posts/bulk POST!! - size: {}", dto.getPosts() == null ? 0 : dto.getPosts().size());
+
+        ResponseEntity<List<FieldError>> fieldErrors = getValidatedResult(result);
+        if (fieldErrors != null) return CompletableFuture.completedFuture(fieldErrors);
+
+        return async(() -> {
+            try {
+                PostBulkResponseDTO responseDTO = postService.insertAll(dto);
+                return ResponseEntity.ok().body(responseDTO);
+            } catch (Exception e) {
+                e.printStackTrace();
+                return ResponseEntity.internalServerError().body("서버 터짐뵤 먄. 원인 -> " + e.getMessage());
+            }
+        });
+    }
+
+    // 게시물 가져오기 (NDJSON) - 본문을 읽으면서 청크 단위로 저장 (청크마다 커밋)
+    @Operation(summary = "게시물 가져오기", description = "한 줄에 게시물 하나씩 적힌 NDJSON을 읽어서 청크 단위로 등록합니다.")
+    @PostMapping("/import")
+    public ResponseEntity<?> importPosts(HttpServletRequest request) {
+        log.info("/api/v1/posts/import POST!! - content-length: {}", request.getContentLengthLong());
+
         try {
-            PostDetailResponseDTO responseDTO = postService.insert(dto);
+            PostImportResponseDTO responseDTO = postImportService.importPosts(request.getInputStream());
             return ResponseEntity.ok().body(responseDTO);
-        } catch (Exception e) {
+        } catch (IOException e) {
             e.printStackTrace();
-            return ResponseEntity.internalServerError().body("서버 터짐뵤 먄. 원인 -> " + e.getMessage());
+            return ResponseEntity.badRequest().body("요청 본문을 읽는 중 오류가 발생했습니다. 원인 -> " + e.getMessage());
         }
     }
+
     @Operation(summary = "게시물 수정", description = "게시물 수정을 담당하는 메서드 입니다.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "수정 완료!", content = @Content(schema = @Schema(implementation = PostDetailResponseDTO.class))),
             @ApiResponse(responseCode = "400", description = "입력값 검증 실패"),
-            @ApiResponse(responseCode = "404", description = "NOT FOUND")
+            @ApiResponse(responseCode = "404", description = "NOT FOUND"),
+            @ApiResponse(responseCode = "412", description = "If-Match에 현재 버전과 같은 강한 ETag가 없음 (다른 사람이 먼저 수정)")
     })
     
 
     // 게시물 수정
     @RequestMapping(method = {RequestMethod.PUT, RequestMethod.PATCH})
-    public ResponseEntity<?> update(
+    public CompletableFuture<ResponseEntity<?>> update(
             @Validated @RequestBody PostModifyDTO dto,
             BindingResult result,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch, // 수정 전에 보고 있던 버전
             HttpServletRequest request // 여러 개의 요청 방식에 따라 다른 처리를 해줘야 한다.
     ){
 
         log.info("/api/v1/posts {} - payload: {}", request.getMethod(), dto);
 
         ResponseEntity<List<FieldError>> fieldErrors = getValidatedResult(result);
-        if(fieldErrors != null) return fieldErrors;
+        if(fieldErrors != null) return CompletableFuture.completedFuture(fieldErrors);
 
-        PostDetailResponseDTO responseDTO = postService.modify(dto);
+        // 강한 ETag 중 게시물 버전이 될 수 있는 것만 남긴다. 하나도 없으면 서비스에서 UPDATE 없이 412
+        List<Long> expectedVersions = parseIfMatch(ifMatch);
 
-        return ResponseEntity.ok().body(responseDTO);
+        return async(() -> {
+            try {
+                PostDetailResponseDTO responseDTO = postService.modify(dto, expectedVersions);
+                return withVersion(ResponseEntity.ok(), VersionInfoDTO.ofVersion(responseDTO.getVersion(), responseDTO.getUpdateDate()))
+                        .body(responseDTO);
+            } catch (OptimisticLockingFailureException e) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
+            }
+        });
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> delete(@PathVariable Long id){
+    public CompletableFuture<ResponseEntity<?>> delete(@PathVariable Long id){
         log.info("/api/v1/posts/{} DELETE!!", id);
 
+        return async(() -> {
+            try {
+                postService.delete(id);
+                return ResponseEntity.ok("DEL SUCCESS!!");
+            /*
+            }
+            - 방법 1
+            catch (SQLIntegrityConstraintViolationException e){
+                return ResponseEntity.internalServerError()
+                        .body("해시태그가 달린 게시물은 삭제할 수 없습니다."); // 근본적인 해결 방법은 X
+            */
+            } catch (Exception e) {
+                e.printStackTrace();
+                return ResponseEntity.internalServerError().body(e.getMessage());
+            }
+        });
+    }
+
+
+    // 게시물 대량 삭제 (스팸 계정 정리 등)
+    @Operation(summary = "게시물 대량 삭제", description = "글번호 목록 또는 작성자 + 작성일 범위로 게시물과 해시태그를 한 번에 삭제합니다.")
+    @DeleteMapping("/bulk")
+    public CompletableFuture<ResponseEntity<?>> deleteAll(
+            @Validated @RequestBody PostBulkDeleteDTO dto,
+            BindingResult result
+    ){
+        log.info("/api/v1/posts/bulk DELETE!! - payload: {}", dto);
+
+        ResponseEntity<List<FieldError>> fieldErrors = getValidatedResult(result);
+        if (fieldErrors != null) return CompletableFuture.completedFuture(fieldErrors);
+
+        return async(() -> {
+            try {
+                PostBulkDeleteResponseDTO responseDTO = postService.deleteAll(dto);
+                return ResponseEntity.ok().body(responseDTO);
+            } catch (Exception e) {
+                e.printStackTrace();
+                return ResponseEntity.internalServerError().body(e.getMessage());
+            }
+        });
+    }
+
+
+    // 응답에 ETag, Last-Modified 헤더 추가
+    private static ResponseEntity.BodyBuilder withVersion(ResponseEntity.BodyBuilder builder, VersionInfoDTO version) {
+        builder.eTag(version.getETag());
+        if (version.getLastModified() != null) {
+            builder.lastModified(version.getLastModifiedMillis());
+        }
+        return builder;
+    }
+
+    // 캐시된 목록 페이지 응답 - 클라이언트가 gzip을 받을 수 있으면 압축해 둔 바이트를 그대로 보낸다.
+    private static ResponseEntity<?> cachedResponse(PostListCache.Page page, RequestHeaders headers) {
+        if (headers.isNotModified(page.getVersionInfo())) {
+            return withVersion(ResponseEntity.status(HttpStatus.NOT_MODIFIED), page.getVersionInfo()).build();
+        }
+        boolean gzip = headers.acceptsGzip();
+        ResponseEntity.BodyBuilder builder = withVersion(ResponseEntity.ok(), page.getVersionInfo())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING); // 중간 캐시(프록시)가 인코딩별로 따로 저장하도록
+        if (gzip) builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return builder.body(gzip ? page.getGzipBody() : page.getBody());
+    }
+
+    // DB 작업을 요청 스레드가 아닌 전용 스레드 풀(postDbExecutor)에서 실행
+    // 풀과 대기열이 모두 차 있으면 기다리지 않고 바로 503 -> DB가 느려져도 Tomcat 스레드가 묶이지 않는다.
+    // task는 요청 객체(HttpServletRequest)를 읽으면 안 된다. 필요한 헤더는 호출하기 전에 꺼내서 넘긴다.
+    private CompletableFuture<ResponseEntity<?>> async(Callable<ResponseEntity<?>> task) {
+        CompletableFuture<ResponseEntity<?>> future;
         try {
-            postService.delete(id);
-            return ResponseEntity.ok("DEL SUCCESS!!");
-        /*
+            future = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.call();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, postDbExecutor);
+        } catch (RejectedExecutionException e) {
+            log.warn("DB 작업 대기열이 가득 차서 요청을 거절합니다. - {}", e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("요청이 많아 지금은 처리할 수 없습니다. 잠시 후 다시 시도해 주세요."));
         }
-        - 방법 1
-        catch (SQLIntegrityConstraintViolationException e){
-            return ResponseEntity.internalServerError()
-                    .body("해시태그가 달린 게시물은 삭제할 수 없습니다."); // 근본적인 해결 방법은 X
-        */
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.internalServerError().body(e.getMessage());
+        cancelOnTimeout(future);
+        return future;
+    }
+
+    // 요청 시간(spring.mvc.async.request-timeout)이 지나 503으로 끝나는 등 작업보다 응답이 먼저 끝나면 작업을 취소한다.
+    // 아직 대기열에 있던 작업은 DB 작업 없이 끝나고, 이미 실행 중인 작업의 결과는 버려진다.
+    // (시간 초과 처리 중에 취소하면 503 대신 취소 예외가 응답되므로 응답이 끝난 뒤에 취소)
+    private static void cancelOnTimeout(CompletableFuture<?> future) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) return;
+
+        WebAsyncUtils.getAsyncManager(((ServletRequestAttributes) attributes).getRequest())
+                .registerDeferredResultInterceptor(future, new DeferredResultProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest request, DeferredResult<T> deferredResult) {
+                        future.cancel(false); // 이미 끝난 작업이면 아무 일도 없다.
+                    }
+                });
+    }
+
+    // 작업 스레드에서 쓸 요청 헤더 (요청 스레드에서 미리 꺼내 둔다)
+    private static final class RequestHeaders {
+        private final String ifNoneMatch;
+        private final long ifModifiedSince; // 없거나 형식이 틀리면 -1
+        private final String acceptEncoding;
+
+        private RequestHeaders(String ifNoneMatch, long ifModifiedSince, String acceptEncoding) {
+            this.ifNoneMatch = ifNoneMatch;
+            this.ifModifiedSince = ifModifiedSince;
+            this.acceptEncoding = acceptEncoding;
+        }
+
+        static RequestHeaders of(HttpServletRequest request) {
+            long ifModifiedSince;
+            try {
+                ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            } catch (IllegalArgumentException e) {
+                ifModifiedSince = -1;
+            }
+            return new RequestHeaders(request.getHeader(HttpHeaders.IF_NONE_MATCH), ifModifiedSince,
+                    request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        }
+
+        // 캐시된 응답을 가진 클라이언트의 재요청인지 (If-None-Match 또는 If-Modified-Since 헤더)
+        boolean isConditional() {
+            return ifNoneMatch != null || ifModifiedSince >= 0;
+        }
+
+        // 클라이언트가 가진 버전이 현재 버전과 같은지
+        // If-None-Match가 있으면 그것만 본다. (약한 비교 - W/는 떼고 비교) 없으면 If-Modified-Since (초 단위)
+        boolean isNotModified(VersionInfoDTO version) {
+            if (ifNoneMatch != null) {
+                for (String tag : ifNoneMatch.split(",")) {
+                    String value = tag.trim();
+                    if (value.equals("*") || weak(value).equals(weak(version.getETag()))) return true;
+                }
+                return false;
+            }
+            long lastModified = version.getLastModifiedMillis();
+            return ifModifiedSince >= 0 && lastModified >= 0 && lastModified / 1000 * 1000 <= ifModifiedSince;
+        }
+
+        // Accept-Encoding 헤더에 gzip(또는 *)이 있고 q=0이 아닌지
+        boolean acceptsGzip() {
+            if (acceptEncoding == null) return false;
+            for (String token : acceptEncoding.split(",")) {
+                String[] parts = token.trim().split(";");
+                String coding = parts[0].trim();
+                if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) continue;
+                boolean rejected = false;
+                for (int i = 1; i < parts.length; i++) {
+                    if (parts[i].trim().replace(" ", "").matches("q=0(\\.0{0,3})?")) rejected = true;
+                }
+                if (!rejected) return true;
+            }
+            return false;
+        }
+
+        private static String weak(String eTag) {
+            return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
         }
     }
 
+    // If-Match 헤더 -> 수정을 허용할 게시물 버전 목록 (헤더가 없거나 * 이면 null -> 버전 확인 없이 수정)
+    /*
+        - If-Match: "3"  또는  "3", "4"  처럼 ETag를 쉼표로 여러 개 보낼 수 있다. -> 현재 버전이 그 중 하나면 수정
+        - If-Match는 강한 비교를 하므로 약한 ETag(W/"3")는 어떤 버전과도 일치하지 않는다.
+        - 약한 ETag, 숫자가 아닌 ETag, 따옴표가 없는 값은 건너뛴다. -> 남는 게 없으면 빈 목록 (412)
+    */
+    static List<Long> parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+
+        List<Long> versions = new ArrayList<>();
+        for (String tag : ifMatch.split(",")) {
+            String value = tag.trim();
+            if (value.length() < 3 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') continue;
+            try {
+                versions.add(Long.parseLong(value.substring(1, value.length() - 1)));
+            } catch (NumberFormatException e) {
+                // 다른 리소스의 ETag 등 -> 일치하지 않는 값
+            }
+        }
+        return versions;
+    }
 
     // 입력값 검증(Validation)의 결과를 처리 해 주는 전역 메서드
     private static ResponseEntity<List<FieldError>> getValidatedResult(BindingResult result) {
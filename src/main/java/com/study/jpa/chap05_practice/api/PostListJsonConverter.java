@@ -0,0 +1,213 @@
+package com.study.jpa.chap05_practice.api;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.jpa.chap05_practice.dto.PageResponseDTO;
+import com.study.jpa.chap05_practice.dto.PostListRowsDTO;
+import com.study.jpa.chap05_practice.dto.PostSummaryDTO;
+import com.study.jpa.chap05_practice.dto.PostTagDTO;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+@Component // 스프링 부트가 HttpMessageConverter 빈을 기본 컨버터(Jackson)보다 앞에 등록한다.
+public class PostListJsonConverter extends AbstractHttpMessageConverter<PostListRowsDTO> {
+
+    // 게시물 목록(PostListRowsDTO)을 JSON 스트리밍으로 바로 응답에 쓰는 컨버터
+    /*
+        - 결과는 PostListResponseDTO를 Jackson(ObjectMapper)으로 쓴 것과 바이트 단위로 같다.
+          {"count":..,"pageInfo":{..},"posts":[{"writer":..,"title":..,"content":..,"hashTags":[..],"regDate":"yyyy/MM/dd"}, ..]}
+        - 게시물마다 PostDetailResponseDTO, 해시태그 리스트를 만들지 않고 조회한 프로젝션을 그대로 읽어서 쓴다.
+        - 필드 이름은 미리 인코딩해 둔 값을 쓰고, 작성일은 char[] 하나에 직접 채운다. (문자열 포맷팅 X)
+        - PostListResponseDTO / PostDetailResponseDTO / PageResponseDTO에 필드를 추가하면 여기도 같이 고쳐야 한다.
+          (PostListJsonConverterTest가 두 결과를 비교한다)
+    */
+
+    // PostDetailResponseDTO.regDate의 @JsonFormat 과 같은 형식 (연도가 4자리가 아닐 때만 사용)
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy/MM/dd");
+    private static final int DATE_LENGTH = 10;
+
+    private static final SerializableString COUNT = new SerializedString("count");
+    private static final SerializableString PAGE_INFO = new SerializedString("pageInfo");
+    private static final SerializableString POSTS = new SerializedString("posts");
+
+    private static final SerializableString START_PAGE = new SerializedString("startPage");
+    private static final SerializableString END_PAGE = new SerializedString("endPage");
+    private static final SerializableString CURRENT_PAGE = new SerializedString("currentPage");
+    private static final SerializableString PREV = new SerializedString("prev");
+    private static final SerializableString NEXT = new SerializedString("next");
+    private static final SerializableString TOTAL_COUNT = new SerializedString("totalCount");
+
+    private static final SerializableString WRITER = new SerializedString("writer");
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString CONTENT = new SerializedString("content");
+    private static final SerializableString HASH_TAGS = new SerializedString("hashTags");
+    private static final SerializableString REG_DATE = new SerializedString("regDate");
+
+    // 스프링이 설정한 ObjectMapper와 같은 JsonFactory (문자 이스케이프 등 출력 설정이 같아야 결과가 같다)
+    private final JsonFactory jsonFactory;
+
+    public PostListJsonConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PostListRowsDTO.class == clazz;
+    }
+
+    // 응답 전용 (요청 본문으로는 받지 않는다)
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected PostListRowsDTO readInternal(Class<? extends PostListRowsDTO> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("게시물 목록은 요청 본문으로 받을 수 없습니다.", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(PostListRowsDTO rows, HttpOutputMessage outputMessage) throws IOException {
+        write(rows, outputMessage.getBody());
+    }
+
+    // 응답 본문을 바이트로 만들어 둘 때 (PostListCache)
+    public byte[] toBytes(PostListRowsDTO rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        try {
+            write(rows, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public void write(PostListRowsDTO rows, OutputStream out) throws IOException {
+        // close() 해야 Jackson이 출력 버퍼를 돌려받아서 다음 요청에 재사용한다. (응답 스트림은 닫지 않고 flush만)
+        try (JsonGenerator gen = jsonFactory.createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            write(gen, rows);
+        }
+    }
+
+    private static void write(JsonGenerator gen, PostListRowsDTO rows) throws IOException {
+        List<PostSummaryDTO> posts = rows.getPosts();
+        List<PostTagDTO> tags = rows.getTags();
+
+        gen.writeStartObject();
+        gen.writeFieldName(COUNT);
+        gen.writeNumber(posts.size()); // 총 게시물 수가 아니라 조회된 게시물의 개수
+
+        gen.writeFieldName(PAGE_INFO);
+        writePageInfo(gen, rows.getPageInfo());
+
+        gen.writeFieldName(POSTS);
+        gen.writeStartArray();
+        char[] dateBuffer = new char[DATE_LENGTH];
+        int tagIndex = 0;
+        for (PostSummaryDTO post : posts) {
+            gen.writeStartObject();
+            gen.writeFieldName(WRITER);
+            gen.writeString(post.getWriter());
+            gen.writeFieldName(TITLE);
+            gen.writeString(post.getTitle());
+            gen.writeFieldName(CONTENT);
+            gen.writeString(post.getContent());
+
+            // 태그는 글번호 순으로 정렬되어 있지만 게시물은 작성일 순이라서 게시물마다 시작 위치를 찾는다.
+            // 바로 앞 게시물 다음 글번호인 경우(대부분)는 찾지 않고 이어서 읽는다.
+            gen.writeFieldName(HASH_TAGS);
+            gen.writeStartArray();
+            Long postId = post.getId();
+            if (tagIndex >= tags.size() || !postId.equals(tags.get(tagIndex).getPostId())) {
+                tagIndex = firstTagIndex(tags, postId);
+            }
+            while (tagIndex < tags.size() && postId.equals(tags.get(tagIndex).getPostId())) {
+                gen.writeString(tags.get(tagIndex++).getTagName());
+            }
+            gen.writeEndArray();
+
+            gen.writeFieldName(REG_DATE);
+            writeDate(gen, post.getCreateDate(), dateBuffer);
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    private static void writePageInfo(JsonGenerator gen, PageResponseDTO pageInfo) throws IOException {
+        if (pageInfo == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeFieldName(START_PAGE);
+        gen.writeNumber(pageInfo.getStartPage());
+        gen.writeFieldName(END_PAGE);
+        gen.writeNumber(pageInfo.getEndPage());
+        gen.writeFieldName(CURRENT_PAGE);
+        gen.writeNumber(pageInfo.getCurrentPage());
+        gen.writeFieldName(PREV);
+        gen.writeBoolean(pageInfo.isPrev());
+        gen.writeFieldName(NEXT);
+        gen.writeBoolean(pageInfo.isNext());
+        gen.writeFieldName(TOTAL_COUNT);
+        gen.writeNumber(pageInfo.getTotalCount());
+        gen.writeEndObject();
+    }
+
+    // 글번호가 postId인 첫 번째 태그의 위치 (이진 탐색, 없으면 postId보다 큰 첫 위치 -> 태그 없음)
+    static int firstTagIndex(List<PostTagDTO> tags, Long postId) {
+        int low = 0;
+        int high = tags.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (tags.get(mid).getPostId() < postId) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    // yyyy/MM/dd
+    static void writeDate(JsonGenerator gen, LocalDateTime date, char[] buffer) throws IOException {
+        if (date == null) {
+            gen.writeNull();
+            return;
+        }
+        int year = date.getYear();
+        if (year < 1000 || year > 9999) {
+            gen.writeString(DATE_FORMAT.format(date));
+            return;
+        }
+        writeDigits(buffer, 0, year, 4);
+        buffer[4] = '/';
+        writeDigits(buffer, 5, date.getMonthValue(), 2);
+        buffer[7] = '/';
+        writeDigits(buffer, 8, date.getDayOfMonth(), 2);
+        gen.writeString(buffer, 0, DATE_LENGTH);
+    }
+
+    private static void writeDigits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
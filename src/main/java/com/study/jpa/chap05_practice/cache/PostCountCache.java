@@ -0,0 +1,57 @@
+package com.study.jpa.chap05_practice.cache;
+
+import com.study.jpa.chap05_practice.event.PostChangedEvent;
+import com.study.jpa.chap05_practice.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class PostCountCache {
+    // 총 게시물 수 캐시 -> 목록 조회 때마다 SELECT COUNT(*)를 하지 않기 위해 사용
+
+    private final PostRepository postRepository;
+
+    // -1이면 아직 한 번도 DB에서 읽어오지 않은 상태
+    private final AtomicLong count = new AtomicLong(-1);
+
+    public long get() {
+        long current = count.get();
+        if (current < 0) {
+            reconcile();
+            current = count.get();
+        }
+        return current;
+    }
+
+    // 등록/삭제 이벤트로 맞춰가는 값이 어긋날 수 있으니(다른 서버, 직접 넣은 데이터 등) 주기적으로 실제 값으로 보정
+    @Scheduled(
+            initialDelayString = "${post.count-cache.reconcile-interval:60000}",
+            fixedDelayString = "${post.count-cache.reconcile-interval:60000}"
+    )
+    public void reconcile() {
+        long actual = postRepository.count();
+        long before = count.getAndSet(actual);
+        if (before >= 0 && before != actual) {
+            log.info("게시물 수 캐시 보정: {} -> {}", before, actual);
+        }
+    }
+
+    // 커밋이 끝난 뒤에만 반영 (롤백된 등록/삭제는 반영하지 않는다)
+    @TransactionalEventListener
+    public void onPostChanged(PostChangedEvent event) {
+        if (count.get() < 0) return; // 아직 로딩 전이면 다음 get()에서 DB 값을 읽는다.
+
+        if (event.getType() == PostChangedEvent.Type.CREATED) {
+            count.incrementAndGet();
+        } else if (event.getType() == PostChangedEvent.Type.DELETED) {
+            count.updateAndGet(c -> Math.max(0, c - 1));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.study.jpa.chap05_practice.cache;
+
+import com.study.jpa.chap05_practice.config.ReadYourWrites;
+import com.study.jpa.chap05_practice.dto.PostDetailResponseDTO;
+import com.study.jpa.chap05_practice.event.PostChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class PostDetailCache {
+    // 게시물 상세 조회 결과(DTO) 캐시 - 개수 제한(LRU) + 만료 시간(TTL)
+    /*
+        수정된 게시물이 커밋 이후에 예전 내용으로 나가면 안 되기 때문에
+        1. 게시물 변경 이벤트가 발행되는 순간(트랜잭션 안) 해당 게시물을 "수정 중"으로 표시 -> 캐시를 쓰지 않고 DB에서 읽는다.
+        2. 트랜잭션이 끝나면(커밋/롤백) 표시를 지우고 한 번 더 비운다.
+        3. DB에서 읽어오는 도중에 무효화가 일어났다면 읽어온 값은 캐시에 넣지 않는다. (generation 비교)
+        replica를 쓸 때 (spring.datasource.replica.url) 복제가 늦은 예전 값이 캐시에 들어가면 안 되기 때문에
+        4. primary로 고정된 요청(ReadYourWrites)은 캐시를 보지 않고 primary에서 읽는다. (읽어온 값은 최신이므로 넣는다)
+        5. 커밋 후 고정 시간(post.datasource.sticky-millis) 동안은 replica에서 읽은 그 게시물을 캐시에 넣지 않는다.
+    */
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final long replicaLagMillis; // replica가 없으면 0
+
+    // accessOrder = true -> 가장 오래 안 쓴 게시물부터 제거 (LRU)
+    private final LinkedHashMap<Long, Entry> entries;
+
+    // 수정/삭제 트랜잭션이 진행 중인 게시물 번호 -> 진행 중인 트랜잭션 수
+    private final Map<Long, Integer> writing = new ConcurrentHashMap<>();
+
+    // 커밋된 게시물 번호 -> replica에서 읽은 값을 넣지 않을 시각(epoch ms)
+    private final Map<Long, Long> replicaStaleUntil = new ConcurrentHashMap<>();
+
+    // 무효화가 일어날 때마다 1씩 증가
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public PostDetailCache(
+            @Value("${post.detail-cache.max-size:1000}") int maxSize,
+            @Value("${post.detail-cache.ttl:60000}") long ttlMillis,
+            @Value("${spring.datasource.replica.url:}") String replicaUrl,
+            @Value("${post.datasource.sticky-millis:1000}") long stickyMillis,
+            MeterRegistry meterRegistry
+    ) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.replicaLagMillis = replicaUrl.isEmpty() ? 0 : stickyMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                boolean full = size() > PostDetailCache.this.maxSize;
+                if (full) evictions.increment();
+                return full;
+            }
+        };
+
+        // 메트릭 등록 (게시물 번호 같은 값은 태그로 쓰지 않는다)
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tags("cache", "postDetail", "result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tags("cache", "postDetail", "result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+                .tags("cache", "postDetail")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", this, PostDetailCache::size)
+                .tags("cache", "postDetail")
+                .register(meterRegistry);
+    }
+
+    // 캐시에 있으면 캐시에서, 없으면 loader로 DB에서 읽고 캐시에 넣는다.
+    public PostDetailResponseDTO get(Long id, Function<Long, PostDetailResponseDTO> loader) {
+        if (writing.containsKey(id)) {
+            misses.increment();
+            return loader.apply(id);
+        }
+
+        long now = System.currentTimeMillis();
+        boolean pinned = ReadYourWrites.isPinned(); // 방금 쓴 클라이언트 -> 캐시에 예전 값이 있을 수 있으니 primary에서
+        if (!pinned) {
+            synchronized (entries) {
+                Entry entry = entries.get(id);
+                if (entry != null) {
+                    if (entry.expireAt > now) {
+                        hits.increment();
+                        return entry.value;
+                    }
+                    entries.remove(id);
+                    evictions.increment();
+                }
+            }
+        }
+        misses.increment();
+
+        long startGeneration = generation.get();
+        PostDetailResponseDTO loaded = loader.apply(id);
+
+        synchronized (entries) {
+            // 읽는 도중에 무효화가 있었다면 예전 값일 수 있으니 넣지 않는다.
+            // replica에서 읽은 값은 복제가 따라왔을 시간이 지난 뒤에만 넣는다.
+            if (generation.get() == startGeneration && !writing.containsKey(id)
+                    && (pinned || !replicaMayBeStale(id, now))) {
+                entries.put(id, new Entry(loaded, now + ttlMillis));
+            }
+        }
+        return loaded;
+    }
+
+    public void invalidate(Long id) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(id);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // 이벤트 발행 시점(트랜잭션 안)에 바로 실행 -> 커밋 전부터 캐시를 쓰지 않도록 표시
+    @EventListener
+    public void onPostChanging(PostChangedEvent event) {
+        writing.merge(event.getPostId(), 1, Integer::sum);
+        invalidate(event.getPostId());
+    }
+
+    // 커밋이든 롤백이든 트랜잭션이 끝나면 표시를 지운다.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void onPostChanged(PostChangedEvent event) {
+        invalidate(event.getPostId());
+        writing.computeIfPresent(event.getPostId(), (id, count) -> count > 1 ? count - 1 : null);
+
+        if (replicaLagMillis > 0) {
+            long now = System.currentTimeMillis();
+            replicaStaleUntil.merge(event.getPostId(), now + replicaLagMillis, Math::max);
+            if (replicaStaleUntil.size() > maxSize) replicaStaleUntil.values().removeIf(until -> until <= now);
+        }
+    }
+
+    private boolean replicaMayBeStale(Long id, long now) {
+        Long until = replicaStaleUntil.get(id);
+        if (until == null) return false;
+        if (until > now) return true;
+        replicaStaleUntil.remove(id, until);
+        return false;
+    }
+
+    private static class Entry {
+        private final PostDetailResponseDTO value;
+        private final long expireAt;
+
+        private Entry(PostDetailResponseDTO value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.study.jpa.chap05_practice.cache;
+
+import com.study.jpa.chap05_practice.config.ReadYourWrites;
+import com.study.jpa.chap05_practice.dto.PageDTO;
+import com.study.jpa.chap05_practice.dto.PageStrategy;
+import com.study.jpa.chap05_practice.dto.PostListRowsDTO;
+import com.study.jpa.chap05_practice.dto.PostSummaryDTO;
+import com.study.jpa.chap05_practice.dto.VersionInfoDTO;
+import com.study.jpa.chap05_practice.event.PostChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+@Slf4j
+public class PostListCache {
+    // 자주 조회되는 앞쪽 목록 페이지의 "응답 본문" 캐시 (JSON 바이트 + gzip 압축한 바이트)
+    /*
+        - 캐시 대상: page <= max-page, size가 sizes 중 하나, 미리보기 길이 지정 X (정렬은 항상 작성일 역순)
+          키는 (page, size, strategy) -> strategy에 따라 pageInfo(총 게시물 수)가 다르기 때문
+        - 캐시에서 응답할 때는 DB 조회, JSON 변환, 압축을 하지 않는다. (ETag도 같이 저장)
+        - 무효화 (PostChangedEvent)
+          등록: 새 글은 항상 첫 페이지에 들어가고 뒤 페이지가 한 칸씩 밀린다. -> 전부
+          수정: 작성일이 바뀌지 않으므로 위치는 그대로 -> 그 게시물이 들어 있는 페이지만
+          삭제: PAGE, CACHED_COUNT는 모든 페이지의 총 게시물 수가 바뀐다. -> 전부
+                SLICE는 그 게시물이 있는 페이지부터 뒤쪽만 (캐시된 페이지에 없으면 어디 있는지 모르니 그 크기 전부)
+        - PostDetailCache와 같은 방식으로 커밋 전에 예전 내용이 다시 들어가지 않게 막는다.
+          이벤트 발행 시점(트랜잭션 안)에 무효화 + "수정 중"으로 표시 -> 표시가 지워질 때까지 관련 페이지는 캐시를 쓰지도, 넣지도 않는다.
+          DB에서 읽는 도중에 무효화가 있었다면 읽어온 값은 넣지 않는다. (generation 비교)
+        - replica를 쓸 때도 PostDetailCache와 같다. primary로 고정된 요청은 캐시를 보지 않고,
+          게시물이 바뀐 뒤 고정 시간(post.datasource.sticky-millis) 동안은 replica에서 읽은 목록을 넣지 않는다.
+        - 다른 서버에서 바뀐 내용, 총 게시물 수 캐시 보정(PostCountCache)은 이벤트가 없으므로 ttl로 맞춘다.
+    */
+
+    private final int maxPage;
+    private final Set<Integer> sizes;
+    private final long ttlMillis;
+    private final long replicaLagMillis; // replica가 없으면 0
+
+    private final Map<Key, Page> entries = new ConcurrentHashMap<>();
+
+    // 진행 중인 등록/삭제 트랜잭션 수 -> 0보다 크면 캐시 전체를 쓰지 않는다.
+    private final AtomicInteger structuralWrites = new AtomicInteger();
+    // 수정 트랜잭션이 진행 중인 게시물 번호 -> 진행 중인 트랜잭션 수
+    private final Map<Long, Integer> modifying = new ConcurrentHashMap<>();
+
+    // 무효화가 일어날 때마다 1씩 증가
+    private final AtomicLong generation = new AtomicLong();
+
+    // 이 시각(epoch ms)까지는 replica에서 읽은 목록을 넣지 않는다.
+    private final AtomicLong replicaStaleUntil = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public PostListCache(
+            @Value("${post.list-cache.max-page:3}") int maxPage,
+            @Value("${post.list-cache.sizes:10}") Set<Integer> sizes,
+            @Value("${post.list-cache.ttl:60000}") long ttlMillis,
+            @Value("${spring.datasource.replica.url:}") String replicaUrl,
+            @Value("${post.datasource.sticky-millis:1000}") long stickyMillis,
+            MeterRegistry meterRegistry
+    ) {
+        this.maxPage = maxPage;
+        this.sizes = sizes;
+        this.ttlMillis = ttlMillis;
+        this.replicaLagMillis = replicaUrl.isEmpty() ? 0 : stickyMillis;
+
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tags("cache", "postList", "result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tags("cache", "postList", "result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", entries, Map::size)
+                .tags("cache", "postList")
+                .register(meterRegistry);
+    }
+
+    // 캐시 대상 페이지면 키, 아니면 null
+    public Key keyOf(PageDTO pageDTO, PageStrategy strategy) {
+        if (pageDTO.getPage() < 0 || pageDTO.getPage() > maxPage) return null;
+        if (!sizes.contains(pageDTO.getSize())) return null;
+        if (pageDTO.getPreviewLength() > 0) return null;
+        return new Key(pageDTO.getPage(), pageDTO.getSize(), strategy);
+    }
+
+    // 캐시된 페이지 (없거나, 만료되었거나, 들어 있는 게시물이 수정 중이거나, primary로 고정된 요청이면 null)
+    public Page get(Key key) {
+        Page page = ReadYourWrites.isPinned() ? null : entries.get(key);
+        if (page == null || !usable(page)) {
+            misses.increment();
+            return null;
+        }
+        if (page.expireAt <= System.currentTimeMillis()) {
+            entries.remove(key, page);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return page;
+    }
+
+    // DB에서 읽기 전에 호출 -> put에 그대로 넘긴다.
+    public long generation() {
+        return generation.get();
+    }
+
+    // 읽어온 목록을 JSON, gzip으로 한 번씩만 변환해서 넣는다.
+    // startGeneration 이후에 무효화가 있었다면 넣지 않고 만들어진 페이지만 돌려준다.
+    public Page put(Key key, long startGeneration, PostListRowsDTO rows, Function<PostListRowsDTO, byte[]> serializer) {
+        long now = System.currentTimeMillis();
+        Page page = new Page(rows, serializer.apply(rows), now + ttlMillis);
+        boolean fromPrimary = ReadYourWrites.isPinned() || replicaStaleUntil.get() <= now;
+        synchronized (entries) {
+            if (generation.get() == startGeneration && usable(page) && fromPrimary) {
+                entries.put(key, page);
+            }
+        }
+        return page;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private boolean usable(Page page) {
+        if (structuralWrites.get() > 0) return false;
+        if (modifying.isEmpty()) return true;
+        for (long id : page.postIds) {
+            if (modifying.containsKey(id)) return false;
+        }
+        return true;
+    }
+
+    // 이벤트 발행 시점(트랜잭션 안)에 바로 실행 -> 커밋 전부터 관련 페이지를 쓰지 않도록 표시
+    @EventListener
+    public void onPostChanging(PostChangedEvent event) {
+        if (event.getType() == PostChangedEvent.Type.MODIFIED) {
+            modifying.merge(event.getPostId(), 1, Integer::sum);
+        } else {
+            structuralWrites.incrementAndGet();
+        }
+        invalidate(event);
+    }
+
+    // 커밋이든 롤백이든 트랜잭션이 끝나면 표시를 지운다.
+    // 표시가 있는 동안에는 관련 페이지가 새로 들어오지 않으므로 다시 지울 필요는 없고,
+    // 트랜잭션 도중에 DB에서 읽기 시작한 요청이 커밋 전 내용을 넣지 못하도록 generation만 올린다.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void onPostChanged(PostChangedEvent event) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+        }
+        if (replicaLagMillis > 0) {
+            replicaStaleUntil.accumulateAndGet(System.currentTimeMillis() + replicaLagMillis, Math::max);
+        }
+        if (event.getType() == PostChangedEvent.Type.MODIFIED) {
+            modifying.computeIfPresent(event.getPostId(), (id, count) -> count > 1 ? count - 1 : null);
+        } else {
+            structuralWrites.decrementAndGet();
+        }
+    }
+
+    private void invalidate(PostChangedEvent event) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            switch (event.getType()) {
+                case CREATED:
+                    entries.clear();
+                    break;
+                case MODIFIED:
+                    entries.values().removeIf(page -> page.contains(event.getPostId()));
+                    break;
+                case DELETED:
+                    invalidateDeleted(event.getPostId());
+                    break;
+            }
+        }
+    }
+
+    private void invalidateDeleted(Long postId) {
+        // SLICE 페이지 크기별로 삭제된 게시물이 있는 페이지 번호 (없으면 null)
+        Map<Integer, Integer> firstPageBySize = new HashMap<>();
+        for (Map.Entry<Key, Page> entry : entries.entrySet()) {
+            Key key = entry.getKey();
+            if (key.strategy != PageStrategy.SLICE) continue;
+            firstPageBySize.putIfAbsent(key.size, null);
+            if (entry.getValue().contains(postId)) {
+                // 한 건뿐인 페이지였다면 바로 앞 페이지의 next도 바뀐다.
+                int from = entry.getValue().postIds.length == 1 ? key.page - 1 : key.page;
+                firstPageBySize.merge(key.size, from, Math::min); // 값이 null이면 그대로 들어간다.
+            }
+        }
+
+        Iterator<Map.Entry<Key, Page>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Key key = iterator.next().getKey();
+            if (key.strategy != PageStrategy.SLICE) {
+                iterator.remove();
+                continue;
+            }
+            Integer from = firstPageBySize.get(key.size);
+            if (from == null || key.page >= from) iterator.remove();
+        }
+    }
+
+    @Getter
+    @ToString
+    @EqualsAndHashCode
+    public static class Key {
+        private final int page;
+        private final int size;
+        private final PageStrategy strategy;
+
+        private Key(int page, int size, PageStrategy strategy) {
+            this.page = page;
+            this.size = size;
+            this.strategy = strategy;
+        }
+    }
+
+    @Getter
+    public static class Page {
+        private final byte[] body; // 응답 본문 그대로 (Content-Encoding: identity)
+        private final byte[] gzipBody; // gzip으로 압축한 본문 (Content-Encoding: gzip)
+        private final VersionInfoDTO versionInfo;
+        private final long[] postIds; // 이 페이지에 들어 있는 게시물 번호 (수정/삭제 무효화 판단용)
+        private final long expireAt;
+
+        private Page(PostListRowsDTO rows, byte[] body, long expireAt) {
+            this.body = body;
+            this.gzipBody = gzip(body);
+            this.versionInfo = rows.getVersionInfo();
+            List<PostSummaryDTO> posts = rows.getPosts();
+            this.postIds = new long[posts.size()];
+            for (int i = 0; i < postIds.length; i++) {
+                postIds[i] = posts.get(i).getId();
+            }
+            this.expireAt = expireAt;
+        }
+
+        private boolean contains(long postId) {
+            for (long id : postIds) {
+                if (id == postId) return true;
+            }
+            return false;
+        }
+
+        private static byte[] gzip(byte[] body) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.study.jpa.chap05_practice.cache;
+
+import com.study.jpa.chap05_practice.entity.Tag;
+import com.study.jpa.chap05_practice.repository.TagRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@Slf4j
+public class TagIdCache {
+    // 해시태그 이름 -> tag_id 캐시
+    // 자주 쓰이는 태그는 게시물 등록 때 SELECT 없이 바로 tag_id를 찾는다.
+    /*
+        새 태그는 게시물을 등록하는 트랜잭션 안에서 같이 등록한다. (커넥션 1개)
+        - 별도의 트랜잭션(REQUIRES_NEW)을 쓰면 요청 하나가 커넥션을 2개 잡는다.
+          -> 모든 스레드가 첫 번째 커넥션을 잡은 채 두 번째를 기다리면 풀이 고갈되어 멈춘다. (PostExecutorConfig)
+        - 캐시에는 트랜잭션이 커밋된 다음에 넣는다. (롤백된 id를 캐싱해서 FK 오류가 나는 일이 없음)
+        - 동시에 같은 태그를 등록하더라도 INSERT IGNORE + unique 제약조건으로 한 줄만 남는다.
+          먼저 등록한 트랜잭션이 커밋될 때까지 기다린 뒤 무시되고, 다시 조회할 때는 잠금 읽기로 커밋된 태그를 읽는다.
+        - 새 태그는 이름 순으로 등록한다. -> 여러 트랜잭션이 같은 태그들을 등록해도 잠금 순서가 같아서 데드락이 나지 않는다.
+    */
+
+    private static final String INSERT_TAG = "INSERT IGNORE INTO tbl_tag (tag_name) VALUES (?)";
+
+    private final Map<String, Long> ids = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    private final TagRepository tagRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public TagIdCache(
+            @Value("${post.tag-cache.max-size:100000}") int maxSize,
+            TagRepository tagRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.maxSize = maxSize;
+        this.tagRepository = tagRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager); // REQUIRED -> 호출한 쪽의 트랜잭션에 참여
+    }
+
+    // 태그 이름들의 tag_id를 찾아서 리턴 (사전에 없는 태그는 등록한다)
+    // 호출한 쪽의 트랜잭션이 커밋되어야 등록한 태그가 남고 캐시에도 들어간다.
+    public Map<String, Long> resolve(Collection<String> tagNames) {
+        Map<String, Long> result = new HashMap<>();
+        Set<String> misses = new LinkedHashSet<>();
+
+        for (String tagName : tagNames) {
+            Long id = ids.get(tagName);
+            if (id != null) {
+                result.put(tagName, id);
+            } else {
+                misses.add(tagName);
+            }
+        }
+        if (misses.isEmpty()) return result;
+
+        Map<String, Long> loaded = transactionTemplate.execute(status -> {
+            Map<String, Long> found = loadOrInsert(misses);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    found.forEach(TagIdCache.this::put);
+                }
+            });
+            return found;
+        });
+        if (loaded != null) {
+            result.putAll(loaded);
+        }
+        return result;
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    private Map<String, Long> loadOrInsert(Set<String> tagNames) {
+        // 1. 사전에 이미 있는 태그 (IN 쿼리 1번)
+        Map<String, Long> found = findIds(tagNames);
+
+        // 2. 없는 태그 등록(이름 순) 후 잠금 읽기로 다시 조회
+        List<String> newNames = new ArrayList<>();
+        for (String tagName : tagNames) {
+            if (!found.containsKey(tagName)) newNames.add(tagName);
+        }
+        if (newNames.isEmpty()) return found;
+        Collections.sort(newNames);
+
+        jdbcTemplate.batchUpdate(INSERT_TAG, newNames, newNames.size(),
+                (ps, tagName) -> ps.setString(1, tagName));
+        for (Tag tag : tagRepository.findLockedByTagNameIn(newNames)) {
+            found.put(tag.getTagName(), tag.getId());
+        }
+
+        // 3. DB의 비교 규칙(대소문자 무시 등) 때문에 이름이 그대로 돌아오지 않은 태그는 하나씩 조회
+        for (String tagName : newNames) {
+            if (found.containsKey(tagName)) continue;
+            Tag tag = tagRepository.findLockedByTagName(tagName)
+                    .orElseThrow(() -> new IllegalStateException("해시태그를 등록하지 못했습니다: " + tagName));
+            found.put(tagName, tag.getId());
+        }
+        return found;
+    }
+
+    private Map<String, Long> findIds(Collection<String> tagNames) {
+        Map<String, Long> found = new HashMap<>();
+        for (Tag tag : tagRepository.findByTagNameIn(tagNames)) {
+            found.put(tag.getTagName(), tag.getId());
+        }
+        return found;
+    }
+
+    // 캐시가 가득 차면 더 넣지 않는다. (넣지 못한 태그는 다음에 DB에서 다시 찾는다)
+    private void put(String tagName, Long id) {
+        if (ids.size() < maxSize) {
+            ids.put(tagName, id);
+        }
+    }
+}
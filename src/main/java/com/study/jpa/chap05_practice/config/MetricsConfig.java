@@ -0,0 +1,26 @@
+package com.study.jpa.chap05_practice.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // 응답 시간 / 처리량 메트릭 (/actuator/metrics)
+    /*
+        - API 엔드포인트: http.server.requests          (스프링 부트 기본, uri 템플릿 단위 -> 글번호가 태그에 들어가지 않는다)
+        - 서비스 메서드:  post.service                  (@Timed를 붙인 클래스의 메서드마다, class / method 태그)
+        - 레파지토리:     spring.data.repository.invocations (스프링 부트 기본, repository / method 태그)
+        - 커넥션 풀:      hikaricp.connections.acquire(대기 시간), hikaricp.connections.active / pending
+        - DB 작업 스레드: executor.active / executor.queued (name = postDbExecutor)
+        백분위(p50, p95, p99)와 히스토그램 설정은 application.yml의 management.metrics.distribution
+    */
+
+    // @Timed 아노테이션이 붙은 메서드의 실행 시간을 기록
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -0,0 +1,39 @@
+package com.study.jpa.chap05_practice.config;
+
+import com.study.jpa.SqlStatementStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class PostExecutorConfig {
+
+    // 게시물 API의 DB 작업 전용 스레드 풀 (bulkhead)
+    /*
+        - 스레드 수 = 커넥션 풀 크기 -> 풀보다 많은 요청이 동시에 커넥션을 기다리며 쌓이지 않는다.
+          단, 작업 하나가 커넥션을 하나만 쓸 때 얘기다.
+          작업 안에서 커넥션을 하나 더 잡으면(REQUIRES_NEW 등) 모든 스레드가 첫 번째 커넥션을 잡은 채
+          두 번째를 기다리다 멈출 수 있으므로, 이 풀에서 실행하는 코드는 트랜잭션을 새로 열지 않는다. (TagIdCache 참고)
+          내보내기/가져오기, 스케줄러처럼 이 풀 밖에서 커넥션을 쓰는 작업이 있으면 잠깐 기다릴 수는 있다. (connection-timeout까지)
+        - 대기열은 정해진 크기까지만, 가득 차면 RejectedExecutionException (컨트롤러에서 바로 503)
+          -> DB가 느려져도 Tomcat 요청 스레드는 바로 돌아가서 헬스 체크 등 다른 요청을 받을 수 있다.
+        - 메트릭: /actuator/metrics/executor.active?tag=name:postDbExecutor (executor.queued, executor.completed ...)
+    */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor postDbExecutor(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${post.async.queue-capacity:100}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("post-db-");
+        // 요청 스레드의 primary 고정 상태, SQL 통계를 작업 스레드로 전달
+        executor.setTaskDecorator(task -> ReadYourWrites.wrap(SqlStatementStats.wrap(task)));
+        executor.setWaitForTasksToCompleteOnShutdown(true); // 종료 시 처리 중인 요청은 마무리
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
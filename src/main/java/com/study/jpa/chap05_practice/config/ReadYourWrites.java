@@ -0,0 +1,66 @@
+package com.study.jpa.chap05_practice.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class ReadYourWrites {
+    // 쓰기 직후의 읽기를 primary로 고정하기 위한 스레드별 표시 (read-your-writes)
+    /*
+        - 쓰기 트랜잭션이 끝나면(커밋) "그때 + 고정 시간"까지 이 스레드의 읽기 전용 트랜잭션도 primary로 보낸다.
+          -> replica 복제가 따라오기 전에 방금 쓴 글을 다시 읽어도 예전 값이 나오지 않는다.
+        - 같은 클라이언트의 다음 요청들은 ReadYourWritesFilter가 쿠키로 이어 준다.
+        - 요청 스레드 -> DB 작업 스레드(postDbExecutor)로는 wrap()으로 넘긴다.
+          고정 시각은 두 스레드가 같은 값(AtomicLong)을 나눠 쓰므로 작업 스레드에서 커밋한 시각도 요청 쪽에서 보인다.
+    */
+
+    private static final ThreadLocal<AtomicLong> PRIMARY_UNTIL = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    // until(epoch ms)까지 primary 고정 (이미 더 늦게까지 고정되어 있으면 그대로)
+    public static void pinPrimaryUntil(long until) {
+        holder().accumulateAndGet(until, Math::max);
+    }
+
+    public static boolean isPinned() {
+        AtomicLong until = PRIMARY_UNTIL.get();
+        return until != null && until.get() > System.currentTimeMillis();
+    }
+
+    public static Long current() {
+        AtomicLong until = PRIMARY_UNTIL.get();
+        return until == null ? null : until.get();
+    }
+
+    // 이 스레드의 고정 시각 (없으면 고정하지 않은 상태로 새로 만든다)
+    // 돌려받은 값을 다른 스레드에서 attach()하면 어느 쪽에서 고정하든 같은 값이 늘어난다.
+    public static AtomicLong holder() {
+        AtomicLong until = PRIMARY_UNTIL.get();
+        if (until == null) {
+            until = new AtomicLong(0);
+            PRIMARY_UNTIL.set(until);
+        }
+        return until;
+    }
+
+    public static void attach(AtomicLong until) {
+        PRIMARY_UNTIL.set(until);
+    }
+
+    public static void clear() {
+        PRIMARY_UNTIL.remove();
+    }
+
+    // 작업을 등록한 스레드의 고정 상태를 작업 스레드와 나눠 쓰고, 작업이 끝나면 지운다. (TaskDecorator)
+    public static Runnable wrap(Runnable task) {
+        AtomicLong until = PRIMARY_UNTIL.get();
+        return () -> {
+            if (until != null) PRIMARY_UNTIL.set(until);
+            try {
+                task.run();
+            } finally {
+                PRIMARY_UNTIL.remove();
+            }
+        };
+    }
+}
@@ -0,0 +1,163 @@
+package com.study.jpa.chap05_practice.config;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    // 클라이언트(세션) 단위 read-your-writes
+    /*
+        - 쓰기 요청(POST, PUT, PATCH, DELETE)을 받으면 "primary 고정 만료 시각"을 쿠키로 내려준다.
+        - 다음 요청에 쿠키가 있고 아직 만료 전이면 그 요청의 읽기도 primary로 보낸다.
+          -> 글을 쓰고 바로 목록/상세로 이동해도 replica 복제 지연 때문에 내 글이 안 보이는 일이 없다.
+        - 만료 시각은 요청 시작이 아니라 쓰기가 끝난(커밋) 시각 + 고정 시간이다.
+          -> 응답 본문을 쓰기 직전(응답이 커밋되기 전)에 쿠키를 추가한다.
+          -> 비동기 응답은 작업이 끝난 뒤의 ASYNC 디스패치에서 본문을 쓰므로 그때도 필터를 거친다.
+    */
+
+    public static final String COOKIE_NAME = "POST_PRIMARY_UNTIL";
+
+    // 쓰기 요청의 고정 상태 (ASYNC 디스패치로 이어 준다)
+    private static final String WRITE_PIN_ATTRIBUTE = ReadYourWritesFilter.class.getName() + ".WRITE_PIN";
+
+    private final long stickyMillis;
+
+    public ReadYourWritesFilter(long stickyMillis) {
+        this.stickyMillis = stickyMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        WritePin writePin = (WritePin) request.getAttribute(WRITE_PIN_ATTRIBUTE);
+        if (writePin != null) {
+            ReadYourWrites.attach(writePin.until); // ASYNC 디스패치 - 작업 스레드가 커밋하며 늘린 값
+        } else {
+            Long until = readCookie(request);
+            if (until != null) ReadYourWrites.pinPrimaryUntil(until);
+
+            if (isWrite(request)) {
+                ReadYourWrites.pinPrimaryUntil(System.currentTimeMillis() + stickyMillis);
+                writePin = new WritePin(ReadYourWrites.holder());
+                request.setAttribute(WRITE_PIN_ATTRIBUTE, writePin);
+            }
+        }
+
+        try {
+            if (writePin == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            PinCookieResponse pinCookieResponse = new PinCookieResponse(response, writePin);
+            filterChain.doFilter(request, pinCookieResponse);
+            // 본문 없이 끝난 응답 (비동기로 넘어갔으면 ASYNC 디스패치에서)
+            if (!request.isAsyncStarted()) pinCookieResponse.addPinCookie();
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return "POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method) || "DELETE".equals(method);
+    }
+
+    // 쿠키는 클라이언트가 바꿀 수 있으므로 지금 + 고정 시간보다 늦게까지는 고정하지 않는다.
+    private Long readCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) return null;
+
+        for (Cookie cookie : cookies) {
+            if (!COOKIE_NAME.equals(cookie.getName())) continue;
+            try {
+                return Math.min(Long.parseLong(cookie.getValue()), System.currentTimeMillis() + stickyMillis);
+            } catch (NumberFormatException e) {
+                return null; // 잘못된 쿠키는 무시
+            }
+        }
+        return null;
+    }
+
+    private static final class WritePin {
+        private final AtomicLong until; // 요청 스레드와 DB 작업 스레드가 같이 쓰는 고정 시각
+        private final AtomicBoolean cookieAdded = new AtomicBoolean();
+
+        private WritePin(AtomicLong until) {
+            this.until = until;
+        }
+    }
+
+    // 응답이 커밋되기 직전에 그때까지의 고정 시각으로 쿠키를 한 번만 추가하는 응답
+    private static final class PinCookieResponse extends HttpServletResponseWrapper {
+        private final WritePin writePin;
+
+        private PinCookieResponse(HttpServletResponse response, WritePin writePin) {
+            super(response);
+            this.writePin = writePin;
+        }
+
+        void addPinCookie() {
+            if (isCommitted() || !writePin.cookieAdded.compareAndSet(false, true)) return;
+
+            long until = writePin.until.get();
+            long remaining = Math.max(0, until - System.currentTimeMillis());
+            Cookie cookie = new Cookie(COOKIE_NAME, String.valueOf(until));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (remaining + 999) / 1000));
+            addCookie(cookie);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addPinCookie();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addPinCookie();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addPinCookie();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addPinCookie();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addPinCookie();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addPinCookie();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.study.jpa.chap05_practice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "spring.datasource.replica", name = "url") // replica 주소가 있을 때만 사용
+public class ReplicationDataSourceConfig {
+
+    // primary(쓰기) / replica(읽기) DataSource 구성
+    /*
+        - primary: spring.datasource.*, spring.datasource.hikari.*  (기존 설정 그대로)
+        - replica: spring.datasource.replica.url / username / password, spring.datasource.replica.hikari.*
+        - JPA, JdbcTemplate은 @Primary인 라우팅 DataSource를 쓴다.
+          @Transactional(readOnly = true) -> replica, 그 외 -> primary (ReplicationRoutingDataSource)
+        - 쓰기 직후 같은 요청/클라이언트의 읽기는 잠시 primary로 고정한다. (post.datasource.sticky-millis)
+          replica 지연보다 길게 잡아야 한다.
+        - 상세/목록 캐시(PostDetailCache, PostListCache)는 primary로 고정된 요청이면 캐시를 보지 않고,
+          게시물이 바뀐 뒤 고정 시간 동안은 replica에서 읽은 값을 캐시에 넣지 않는다.
+    */
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${spring.datasource.replica.url}") String url,
+            @Value("${spring.datasource.replica.username:}") String username,
+            @Value("${spring.datasource.replica.password:}") String password
+    ) {
+        // 계정을 따로 적지 않으면 primary와 같은 계정 사용
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(StringUtils.hasText(username) ? username : properties.determineUsername())
+                .password(StringUtils.hasText(password) ? password : properties.determinePassword())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource routingDataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${post.datasource.sticky-millis:1000}") long stickyMillis
+    ) {
+        ReplicationRoutingDataSource routing = new ReplicationRoutingDataSource(stickyMillis);
+        routing.setTargetDataSources(Map.of(
+                ReplicationRoutingDataSource.Route.PRIMARY, primary,
+                ReplicationRoutingDataSource.Route.REPLICA, replica
+        ));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+
+        // 실제 커넥션은 첫 SQL을 실행할 때 꺼낸다 -> 그 시점에는 readOnly 여부가 정해져 있다.
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${post.datasource.sticky-millis:1000}") long stickyMillis
+    ) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(stickyMillis));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,47 @@
+package com.study.jpa.chap05_practice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Slf4j
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+    // 읽기 전용 트랜잭션은 replica, 나머지(쓰기 트랜잭션, 트랜잭션 밖의 작업)는 primary로 보내는 DataSource
+    // 트랜잭션 정보는 커넥션을 실제로 꺼낼 때 확인하므로 반드시 LazyConnectionDataSourceProxy로 감싸서 써야 한다.
+    // (감싸지 않으면 트랜잭션 시작 시점에 커넥션을 꺼내서 readOnly 여부를 아직 알 수 없다)
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final long stickyMillis; // 쓰기 이후 primary로 고정할 시간 (ms)
+
+    public ReplicationRoutingDataSource(long stickyMillis) {
+        this.stickyMillis = stickyMillis;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+
+        if (readOnly && !ReadYourWrites.isPinned()) {
+            return Route.REPLICA;
+        }
+
+        // 쓰기 트랜잭션이면 이후의 읽기도 잠시 primary로 (read-your-writes)
+        // 복제는 커밋한 뒤에 시작되므로 고정 시간은 트랜잭션이 끝난 시각부터 다시 잰다. -> 고정 시간보다 오래 걸린 쓰기도 커밋 후 고정된다.
+        if (!readOnly && TransactionSynchronizationManager.isActualTransactionActive()) {
+            ReadYourWrites.pinPrimaryUntil(System.currentTimeMillis() + stickyMillis);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        ReadYourWrites.pinPrimaryUntil(System.currentTimeMillis() + stickyMillis);
+                    }
+                });
+            }
+        }
+        return Route.PRIMARY;
+    }
+}
@@ -0,0 +1,16 @@
+package com.study.jpa.chap05_practice.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    // 게시물 내보내기 형식
+
+    NDJSON("application/x-ndjson", "ndjson"), // 한 줄에 게시물 하나씩 JSON (기본값)
+    CSV("text/csv", "csv");                   // 첫 줄은 헤더, 해시태그는 | 로 구분
+
+    private final String contentType;
+    private final String extension;
+}
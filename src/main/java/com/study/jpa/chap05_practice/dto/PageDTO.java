@@ -13,8 +13,12 @@ public class PageDTO {
 
     private int size;
 
+    // 목록에서 내용 미리보기 글자 수 (0 이하면 내용 전체)
+    private int previewLength;
+
     public PageDTO() {
         this.page = 1;
         this.size = 10;
+        this.previewLength = 0;
     }
 }
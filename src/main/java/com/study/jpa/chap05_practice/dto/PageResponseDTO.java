@@ -1,10 +1,11 @@
 package com.study.jpa.chap05_practice.dto;
 
-import com.study.jpa.chap05_practice.entity.Post;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 @Getter @Setter
 @ToString
@@ -21,17 +22,34 @@ public class PageResponseDTO {
     // 한 페이지에 배치할 페이지 버튼 수 (1~10 // 11~20): 10개로 고정
     private static final int PAGE_COUNT = 10;
     
-    public PageResponseDTO(Page<Post> pageData) {
+    public PageResponseDTO(Page<?> pageData) {
         // 기존에 사용했던 PageCreator와 다를 것이 없다.
         // 매개 값(pageDate)으로 전달 된 객체가 많은 정보를 제공 하기 때문에 로직이 좀 더 간편해진 것 뿐 입니다.
-        this.totalCount = (int) pageData.getTotalElements();
-        this.currentPage = pageData.getPageable().getPageNumber() + 1;
+        this((int) pageData.getTotalElements(), pageData.getPageable().getPageNumber() + 1, pageData.getTotalPages());
+    }
+
+    // SLICE 방식: 총 게시물 수를 모르기 때문에 다음 페이지가 있다면 "다음 페이지까지"를 마지막 페이지로 본다.
+    // 총 게시물 수는 알 수 없으므로 -1
+    public PageResponseDTO(Slice<?> sliceData) {
+        this(-1,
+                sliceData.getPageable().getPageNumber() + 1,
+                sliceData.getPageable().getPageNumber() + 1 + (sliceData.hasNext() ? 1 : 0));
+    }
+
+    // CACHED_COUNT 방식: 캐싱된 총 게시물 수로 계산 (COUNT 쿼리 X)
+    public PageResponseDTO(Pageable pageable, long totalCount) {
+        this((int) totalCount,
+                pageable.getPageNumber() + 1,
+                (int) Math.ceil((double) totalCount / pageable.getPageSize()));
+    }
+
+    private PageResponseDTO(int totalCount, int currentPage, int realEnd) {
+        this.totalCount = totalCount;
+        this.currentPage = currentPage;
         this.endPage
                 = (int) (Math.ceil((double) currentPage / PAGE_COUNT) * PAGE_COUNT);
         this.startPage = endPage - PAGE_COUNT + 1;
 
-        int realEnd = pageData.getTotalPages();
-
         // 마지막 페이지 보정
         if(realEnd < this.endPage) this.endPage = realEnd;
 
@@ -0,0 +1,9 @@
+package com.study.jpa.chap05_practice.dto;
+
+public enum PageStrategy {
+    // 게시물 목록 페이징 방식
+
+    PAGE,         // 매 요청마다 COUNT 쿼리를 실행해서 정확한 총 게시물 수로 페이지 정보 계산 (기본값)
+    SLICE,        // COUNT 없이 size + 1개를 조회해서 다음 페이지 존재 여부만 판단 (총 게시물 수는 -1)
+    CACHED_COUNT  // COUNT 없이 캐싱해둔 총 게시물 수(PostCountCache)로 페이지 정보 계산
+}
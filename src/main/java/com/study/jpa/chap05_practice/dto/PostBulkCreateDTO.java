@@ -0,0 +1,24 @@
+package com.study.jpa.chap05_practice.dto;
+
+import lombok.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Getter @Setter
+@ToString @EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PostBulkCreateDTO {
+    // 게시물 대량 등록 요청 payload -> { "posts": [ {writer, title, content, hashTags}, ... ] }
+
+    // @Valid -> 리스트 안의 PostCreateDTO 각각에 대해서도 입력값 검증을 진행
+    @NotEmpty
+    @Size(max = 10000)
+    @Valid
+    private List<PostCreateDTO> posts;
+
+}
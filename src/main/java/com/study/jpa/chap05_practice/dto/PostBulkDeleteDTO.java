@@ -0,0 +1,39 @@
+package com.study.jpa.chap05_practice.dto;
+
+import lombok.*;
+
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter @Setter
+@ToString @EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PostBulkDeleteDTO {
+    // 게시물 대량 삭제 요청 payload
+    // 1. 글번호로 삭제         -> { "postNos": [1, 2, 3] }
+    // 2. 작성자 + 기간으로 삭제 -> { "writer": "스팸계정", "from": "2023-11-01T00:00:00", "to": "2023-12-01T00:00:00" }
+    //    (from, to는 생략 가능, to는 포함하지 않음)
+
+    @Size(max = 10000)
+    private List<Long> postNos;
+
+    private String writer;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    // 글번호 목록이나 작성자 중 하나만 보내야 한다.
+    @AssertTrue(message = "postNos 또는 writer 중 하나만 보내주세요.")
+    public boolean isValidCondition() {
+        boolean byIds = postNos != null && !postNos.isEmpty();
+        boolean byWriter = writer != null && !writer.isBlank();
+        return byIds != byWriter;
+    }
+
+    public boolean isByIds() {
+        return postNos != null && !postNos.isEmpty();
+    }
+}
@@ -0,0 +1,16 @@
+package com.study.jpa.chap05_practice.dto;
+
+import lombok.*;
+
+@Getter @Setter
+@ToString @EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostBulkDeleteResponseDTO {
+    // 게시물 대량 삭제 결과
+
+    private int postCount; // 삭제된 게시물 수
+    private int hashTagCount; // 함께 삭제된 해시태그 수
+
+}
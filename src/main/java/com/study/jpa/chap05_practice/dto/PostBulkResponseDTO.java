@@ -0,0 +1,19 @@
+package com.study.jpa.chap05_practice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter
+@ToString @EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostBulkResponseDTO {
+    // 게시물 대량 등록 결과
+
+    private int postCount; // 등록된 게시물 수
+    private int hashTagCount; // 등록된 해시태그 수
+    private List<Long> postNos; // 생성된 글번호 (요청한 순서대로)
+
+}
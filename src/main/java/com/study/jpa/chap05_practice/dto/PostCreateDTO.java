@@ -1,6 +1,7 @@
 package com.study.jpa.chap05_practice.dto;
 
 import com.study.jpa.chap05_practice.entity.Post;
+import com.study.jpa.chap05_practice.entity.Tag;
 import lombok.*;
 
 import javax.validation.constraints.NotBlank;
@@ -32,7 +33,8 @@ public class PostCreateDTO {
     @Size(min = 1, max = 20)
     private String title;
     private String content;
-    private List<String> hashTags;
+    // 태그마다 길이 검증 (태그 사전의 컬럼 길이를 넘으면 저장할 수 없다)
+    private List<@Size(max = Tag.NAME_LENGTH) String> hashTags;
     
     // DTO -> Entity 해주는 메서드(리턴값이 필요하므로 생성자로 만들면 안됌) : 재활용성
     // 왜: jpa를 구현하는 레파지토리가 엔터티를 받는다고 작성해줬기 때문에
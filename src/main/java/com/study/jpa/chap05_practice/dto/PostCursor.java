@@ -0,0 +1,46 @@
+package com.study.jpa.chap05_practice.dto;
+
+import lombok.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Getter
+@ToString @EqualsAndHashCode
+@AllArgsConstructor
+public class PostCursor {
+    // 커서 페이징에서 "마지막으로 본 게시물"의 위치 (정렬 기준과 같은 작성일 + 글번호)
+
+    private LocalDateTime createDate;
+    private Long id;
+
+    private static final String DELIMITER = "|";
+
+    public static PostCursor of(PostSummaryDTO post) {
+        return new PostCursor(post.getCreateDate(), post.getId());
+    }
+
+    // 클라이언트에게는 내부 구조를 알 수 없는 문자열(opaque)로 전달
+    public String encode() {
+        String raw = createDate + DELIMITER + id;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PostCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(DELIMITER);
+            return new PostCursor(
+                    LocalDateTime.parse(raw.substring(0, idx)),
+                    Long.parseLong(raw.substring(idx + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            // NumberFormatException도 IllegalArgumentException의 자식이라 같이 잡힌다.
+            throw new IllegalArgumentException("잘못된 커서 값 입니다: " + cursor);
+        }
+    }
+}
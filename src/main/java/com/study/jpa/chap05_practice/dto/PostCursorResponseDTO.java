@@ -0,0 +1,19 @@
+package com.study.jpa.chap05_practice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter
+@ToString @EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostCursorResponseDTO {
+    // 커서 페이징 응답 (페이지 번호, 총 게시물 수 없이 다음 커서만 전달)
+
+    private int count; // 조회된 게시물 수
+    private String nextCursor; // 다음 페이지 요청 시 그대로 보내면 되는 값 (마지막 페이지면 null)
+    private List<PostDetailResponseDTO> posts;
+
+}
@@ -1,6 +1,7 @@
 package com.study.jpa.chap05_practice.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.study.jpa.chap05_practice.entity.HashTag;
 import com.study.jpa.chap05_practice.entity.Post;
 import lombok.*;
@@ -26,12 +27,22 @@ public class PostDetailResponseDTO {
     @JsonFormat(pattern = "yyyy/MM/dd")
     private LocalDateTime regDate;
 
+    // 게시물 버전 - 본문이 아니라 ETag 헤더로 전달한다. (목록 조회에서는 null)
+    @JsonIgnore
+    private Long version;
+
+    // 마지막 수정 시간 - Last-Modified 헤더로 전달
+    @JsonIgnore
+    private LocalDateTime updateDate;
+
     // 엔터티를 DTO로 변환하는 생성자
     public PostDetailResponseDTO(Post post){
         this.writer = post.getWriter();
         this.title = post.getTitle();
         this.content = post.getContent();
         this.regDate = post.getCreateDate();
+        this.version = post.getVersion();
+        this.updateDate = post.getUpdateDate();
         this.hashTags = post.getHashTags() // 여기서 NPE가 터진것이였음 -> 빌더 아노테이션의 기본값을 설정하지 않아서 발생
                 .stream()
                 .map(HashTag::getTagName)
@@ -43,4 +54,14 @@ public class PostDetailResponseDTO {
         */
 
     }
+
+    // 목록 조회용 프로젝션을 DTO로 변환하는 생성자 (해시태그는 따로 모아서 조회한 뒤 전달)
+    public PostDetailResponseDTO(PostSummaryDTO post, List<String> hashTags) {
+        this.writer = post.getWriter();
+        this.title = post.getTitle();
+        this.content = post.getContent();
+        this.regDate = post.getCreateDate();
+        this.updateDate = post.getUpdateDate();
+        this.hashTags = hashTags;
+    }
 }
@@ -0,0 +1,26 @@
+package com.study.jpa.chap05_practice.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@ToString @EqualsAndHashCode
+@AllArgsConstructor
+public class PostExportDTO {
+    // 게시물 내보내기(NDJSON) 한 줄 -> {"id":1,"writer":"...","title":"...","content":"...","hashTags":[...],"createDate":"...","updateDate":"..."}
+
+    private Long id;
+    private String writer;
+    private String title;
+    private String content;
+    private List<String> hashTags;
+    private LocalDateTime createDate;
+    private LocalDateTime updateDate;
+
+    public PostExportDTO(PostSummaryDTO post, List<String> hashTags) {
+        this(post.getId(), post.getWriter(), post.getTitle(), post.getContent(),
+                hashTags, post.getCreateDate(), post.getUpdateDate());
+    }
+}
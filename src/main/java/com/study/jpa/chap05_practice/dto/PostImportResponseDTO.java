@@ -0,0 +1,31 @@
+package com.study.jpa.chap05_practice.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter @Setter
+@ToString @EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostImportResponseDTO {
+    // 게시물 가져오기(NDJSON) 결과
+
+    private long lineCount; // 읽은 줄 수 (빈 줄 제외)
+    private long postCount; // 등록된 게시물 수
+    private long hashTagCount; // 등록된 해시태그 수
+    private long failedCount; // 실패한 줄 수
+    @Builder.Default
+    private List<Failure> failures = new ArrayList<>(); // 실패한 줄 (앞에서부터 최대 1000개)
+
+    @Getter
+    @ToString @EqualsAndHashCode
+    @AllArgsConstructor
+    public static class Failure {
+        private long line; // 몇 번째 줄 (1부터)
+        private long offset; // 그 줄이 시작하는 위치 (요청 본문의 byte 단위)
+        private String reason;
+    }
+}
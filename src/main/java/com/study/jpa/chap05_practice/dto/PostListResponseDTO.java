@@ -1,5 +1,6 @@
 package com.study.jpa.chap05_practice.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 import java.util.List;
@@ -17,4 +18,8 @@ public class PostListResponseDTO {
     private PageResponseDTO pageInfo; // 페이지 렌더링 정보
     private List<PostDetailResponseDTO> posts; // 게시물 렌더링 정보
 
+    // 이 목록의 ETag, Last-Modified (본문이 아니라 헤더로 전달)
+    @JsonIgnore
+    private VersionInfoDTO versionInfo;
+
 }
@@ -0,0 +1,22 @@
+package com.study.jpa.chap05_practice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class PostListRowsDTO {
+    // 게시물 목록을 조회한 결과 그대로 (PostListResponseDTO로 변환하지 않은 상태)
+    // PostListJsonConverter가 이 값을 읽어서 PostListResponseDTO와 똑같은 JSON을 바로 응답에 쓴다.
+    // -> 게시물마다 PostDetailResponseDTO, 해시태그 리스트를 만들지 않는다.
+
+    private PageResponseDTO pageInfo;
+    private List<PostSummaryDTO> posts;
+    private List<PostTagDTO> tags; // 이 페이지 게시물들의 해시태그 (글번호 순으로 정렬)
+
+    // 이 목록의 ETag, Last-Modified (본문이 아니라 헤더로 전달)
+    private VersionInfoDTO versionInfo;
+
+}
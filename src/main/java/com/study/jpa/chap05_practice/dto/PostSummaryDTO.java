@@ -0,0 +1,21 @@
+package com.study.jpa.chap05_practice.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString @EqualsAndHashCode
+@AllArgsConstructor
+public class PostSummaryDTO {
+    // 게시물 목록 조회용 프로젝션 (JPQL의 SELECT new 로 바로 생성)
+    // 엔터티가 아니기 때문에 영속성 컨텍스트에 올라가지 않는다 -> 스냅샷 생성, 변경 감지, flush 대상 X
+
+    private Long id;
+    private String writer;
+    private String title;
+    private String content; // 미리보기 길이를 지정하면 DB에서 잘라서 가져온 내용
+    private LocalDateTime createDate;
+    private LocalDateTime updateDate;
+
+}
@@ -0,0 +1,14 @@
+package com.study.jpa.chap05_practice.dto;
+
+import lombok.*;
+
+@Getter
+@ToString @EqualsAndHashCode
+@AllArgsConstructor
+public class PostTagDTO {
+    // 게시물 번호와 해시태그 이름만 담는 프로젝션 (목록의 해시태그를 한 번에 조회할 때 사용)
+
+    private Long postId;
+    private String tagName;
+
+}
@@ -0,0 +1,17 @@
+package com.study.jpa.chap05_practice.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString @EqualsAndHashCode
+@AllArgsConstructor
+public class PostVersionDTO {
+    // 게시물 버전 조회용 프로젝션 (조건부 GET에서 304 여부만 판단할 때 사용 - 제목, 내용, 해시태그는 읽지 않는다)
+
+    private Long id;
+    private Long version;
+    private LocalDateTime updateDate;
+
+}
@@ -0,0 +1,8 @@
+package com.study.jpa.chap05_practice.dto;
+
+public enum TagMatchMode {
+    // 해시태그 여러 개로 게시물을 찾을 때의 조건
+
+    AND, // 모든 태그가 달린 게시물
+    OR   // 태그 중 하나라도 달린 게시물
+}
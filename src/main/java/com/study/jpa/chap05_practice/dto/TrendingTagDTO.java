@@ -0,0 +1,14 @@
+package com.study.jpa.chap05_practice.dto;
+
+import lombok.*;
+
+@Getter
+@ToString @EqualsAndHashCode
+@AllArgsConstructor
+public class TrendingTagDTO {
+    // 인기 해시태그 (구간 안에서 게시물에 달린 횟수 - 근사값)
+
+    private String tagName;
+    private long count;
+
+}
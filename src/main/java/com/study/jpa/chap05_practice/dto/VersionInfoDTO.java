@@ -0,0 +1,27 @@
+package com.study.jpa.chap05_practice.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+@Getter
+@ToString @EqualsAndHashCode
+@AllArgsConstructor
+public class VersionInfoDTO {
+    // 응답의 ETag, Last-Modified 헤더 값
+
+    private String eTag; // "버전" 또는 W/"해시"
+    private LocalDateTime lastModified; // 모르면 null
+
+    // 게시물 하나의 버전 -> 강한 ETag ("버전")
+    public static VersionInfoDTO ofVersion(Long version, LocalDateTime lastModified) {
+        return new VersionInfoDTO("\"" + version + "\"", lastModified);
+    }
+
+    // Last-Modified 헤더용 epoch millis (모르면 -1)
+    public long getLastModifiedMillis() {
+        if (lastModified == null) return -1;
+        return lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -7,26 +7,37 @@ import javax.persistence.*;
 
 @Setter
 @Getter
-@ToString(exclude = {"post"})
+@ToString(exclude = {"post", "tag"})
 @EqualsAndHashCode(of = "id")
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "tbl_hash_tag")
+// 게시물 - 해시태그 연결 테이블 (태그 이름은 tbl_tag에 한 번만 저장)
+// 예전 tbl_hash_tag(태그 이름을 게시물마다 저장)의 데이터는 HashTagMigration이 옮겨준다.
+@Table(name = "tbl_post_tag", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_post_tag", columnNames = {"post_no", "tag_id"})
+})
 public class HashTag {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Column(name = "tag_no")
+    @Column(name = "post_tag_no")
     private Long id;
 
-    private String tagName; // 해시태그 이름
-
-    // 자식 쪽에 CascadeType.ALL(모든 변화) 작성
-    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+    // 게시물은 항상 먼저 저장되어 있기 때문에 cascade를 걸지 않는다.
+    // (CascadeType.ALL이면 해시태그를 저장할 때마다 이미 저장된 게시물까지 merge가 전파되고, 해시태그를 지우면 게시물까지 지워진다.)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_no")
     private Post post;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tag_id", nullable = false)
+    private Tag tag;
+
+    // 해시태그 이름 (tbl_tag에서 가져온다)
+    public String getTagName() {
+        return tag == null ? null : tag.getTagName();
+    }
 
 }
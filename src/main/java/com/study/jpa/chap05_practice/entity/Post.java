@@ -17,7 +17,10 @@ import java.util.List;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "tbl_post")
+@Table(name = "tbl_post", indexes = {
+        // 커서(키셋) 페이징용 복합 인덱스 -> ORDER BY create_date DESC, post_no DESC 를 인덱스만 타고 처리
+        @Index(name = "idx_post_create_date_no", columnList = "create_date, post_no")
+})
 public class Post{
 
     @Id
@@ -34,12 +37,19 @@ public class Post{
     private String content; // 글 내용
 
     @CreationTimestamp
-    @Column(updatable = false)
+    @Column(name = "create_date", updatable = false) // 인덱스에서 컬럼명으로 참조하기 때문에 이름을 명시
     private LocalDateTime createDate; // 작성시간
 
     @UpdateTimestamp
     private  LocalDateTime updateDate; // 수정시간
 
+    // 낙관적 락 버전 - 수정할 때마다 1씩 증가 (ETag로 화면단에 전달)
+    // UPDATE ... WHERE version = ? 로 다른 사람이 먼저 수정한 내용을 덮어쓰지 않게 한다.
+    // 초기값을 주지 않는다. -> null이어야 save()가 새 엔티티로 보고 merge(복사) 대신 persist, 저장할 때 Hibernate가 0을 넣는다.
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // orphanRemoval = true -> 고아 객체가 된 객체는 삭제 진행
     @OneToMany(mappedBy = "post", orphanRemoval = true) // 읽기전용 컬럼이라는 말도 포함된다.
     @Builder.Default // 특정 필드를 직접 지정한 값으로 초기화 하는 것을 강제하는 아노테이션
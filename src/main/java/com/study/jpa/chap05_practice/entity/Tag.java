@@ -0,0 +1,30 @@
+package com.study.jpa.chap05_practice.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+@Setter
+@Getter
+@ToString
+@EqualsAndHashCode(of = "id")
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "tbl_tag")
+public class Tag {
+    // 해시태그 사전 - 태그 이름은 여기에 한 번만 저장하고, 게시물에는 tag_id만 연결한다. (HashTag)
+
+    // 태그 이름 최대 길이 (예전 tbl_hash_tag.tag_name과 같다) - 등록 요청은 PostCreateDTO에서 검증
+    public static final int NAME_LENGTH = 255;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "tag_id")
+    private Long id;
+
+    @Column(name = "tag_name", nullable = false, unique = true, length = NAME_LENGTH)
+    private String tagName; // 해시태그 이름
+
+}
@@ -0,0 +1,36 @@
+package com.study.jpa.chap05_practice.event;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class PostChangedEvent {
+    // 게시물이 등록/수정/삭제 되었음을 알리는 이벤트
+    // PostService가 발행하고, 캐시처럼 게시물 데이터를 따로 들고 있는 쪽에서
+    // @TransactionalEventListener로 받아서 커밋 이후에 자기 상태를 갱신한다.
+
+    private Type type;
+    private Long postId;
+
+    // 등록/삭제된 게시물의 해시태그 이름 (수정 이벤트는 해시태그가 바뀌지 않으므로 null)
+    private List<String> hashTags;
+
+    // 등록/수정된 게시물의 제목, 내용 (검색 색인 갱신용, 삭제 이벤트는 null)
+    private String title;
+    private String content;
+
+    public PostChangedEvent(Type type, Long postId) {
+        this(type, postId, null);
+    }
+
+    public PostChangedEvent(Type type, Long postId, List<String> hashTags) {
+        this(type, postId, hashTags, null, null);
+    }
+
+    public enum Type {
+        CREATED, MODIFIED, DELETED
+    }
+}
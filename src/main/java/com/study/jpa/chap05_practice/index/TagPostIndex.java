@@ -0,0 +1,245 @@
+package com.study.jpa.chap05_practice.index;
+
+import com.study.jpa.chap05_practice.dto.PostTagDTO;
+import com.study.jpa.chap05_practice.dto.TagMatchMode;
+import com.study.jpa.chap05_practice.event.PostChangedEvent;
+import com.study.jpa.chap05_practice.repository.HashTagRepository;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class TagPostIndex {
+    // 해시태그 -> 게시물 번호 역색인 (inverted index)
+    /*
+        태그마다 게시물 번호 집합을 압축 비트맵(Roaring bitmap)으로 들고 있다.
+        - Set<Long>처럼 번호마다 객체를 만들지 않고, 정렬된 상태라 AND/OR 연산이 빠르다.
+        - 서버 시작 시 HashTagRepository로 전체를 한 번 읽어서 만들고,
+          이후에는 게시물 등록/삭제 이벤트(커밋 이후)로 갱신한다.
+        - 색인을 만드는 도중에 커밋된 이벤트는 모아 두었다가 다 만든 뒤에 순서대로 반영한다.
+          (도중에 삭제된 게시물을 읽기 시작할 때의 스냅샷이 다시 넣는 것을 막는다)
+          만들다 실패하면 비우고 post.tag-index.retry-interval마다 다시 만든다. (그동안 태그 조회는 실패로 응답)
+        - 태그 이름은 DB의 비교 규칙처럼 대소문자를 구분하지 않는다.
+        - 결과 정렬은 글번호 역순 (= 최근 등록 순)
+    */
+
+    private final Map<String, Roaring64NavigableMap> postingLists = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final HashTagRepository hashTagRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    private volatile boolean ready;
+    private volatile boolean failed; // 마지막 생성이 실패 -> 다시 시도
+
+    // 색인을 만드는 동안 커밋된 이벤트 (building과 함께 이 객체로 동기화)
+    private final List<PostChangedEvent> eventsDuringBuild = new ArrayList<>();
+    private boolean building;
+
+    public TagPostIndex(HashTagRepository hashTagRepository, PlatformTransactionManager transactionManager) {
+        this.hashTagRepository = hashTagRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    // 서버가 뜨고 나면(마이그레이션 ApplicationRunner 이후) 전체 해시태그로 색인 생성
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        synchronized (eventsDuringBuild) {
+            if (building || ready) return;
+            building = true;
+        }
+        long start = System.currentTimeMillis();
+
+        try {
+            long rows = Optional.ofNullable(readOnlyTx.execute(status -> {
+                long count = 0;
+                try (Stream<PostTagDTO> stream = hashTagRepository.streamAllTags()) {
+                    Iterator<PostTagDTO> it = stream.iterator();
+                    while (it.hasNext()) {
+                        PostTagDTO row = it.next();
+                        add(row.getTagName(), row.getPostId());
+                        count++;
+                    }
+                }
+                return count;
+            })).orElse(0L);
+
+            int replayed;
+            synchronized (eventsDuringBuild) {
+                replayed = eventsDuringBuild.size();
+                eventsDuringBuild.forEach(this::apply);
+                eventsDuringBuild.clear();
+                building = false;
+                failed = false;
+                ready = true;
+            }
+
+            lock.writeLock().lock();
+            try {
+                postingLists.values().forEach(Roaring64NavigableMap::runOptimize);
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            log.info("해시태그 색인 생성 완료 - 태그 {}개, 게시물-태그 {}개, 생성 중 변경 {}건 ({} ms)",
+                    tagCount(), rows, replayed, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                postingLists.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            synchronized (eventsDuringBuild) {
+                eventsDuringBuild.clear();
+                building = false;
+                failed = true;
+            }
+            log.error("해시태그 색인 생성 실패 - 다시 만들 때까지 태그로 조회할 수 없습니다.", e);
+        }
+    }
+
+    // 색인 생성이 실패했으면 주기적으로 다시 시도
+    @Scheduled(
+            initialDelayString = "${post.tag-index.retry-interval:60000}",
+            fixedDelayString = "${post.tag-index.retry-interval:60000}"
+    )
+    public void retryBuild() {
+        if (failed) build();
+    }
+
+    // 태그 조건에 맞는 게시물 번호를 최신순으로 offset부터 size개 조회
+    public Result find(Collection<String> tagNames, TagMatchMode mode, long offset, int size) {
+        lock.readLock().lock();
+        try {
+            Roaring64NavigableMap matched = match(tagNames, mode);
+
+            long total = matched.getLongCardinality();
+            List<Long> postIds = new ArrayList<>(size);
+            // select(n) -> n번째로 작은 번호. 뒤에서부터 꺼내면 최신순
+            for (long rank = total - 1 - offset; rank >= 0 && postIds.size() < size; rank--) {
+                postIds.add(matched.select(rank));
+            }
+            return new Result(total, postIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int tagCount() {
+        lock.readLock().lock();
+        try {
+            return postingLists.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 게시물 등록/삭제가 커밋된 뒤에만 반영 (색인을 만드는 중이면 다 만든 뒤에)
+    @TransactionalEventListener
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getHashTags() == null) return;
+
+        synchronized (eventsDuringBuild) {
+            if (building) {
+                eventsDuringBuild.add(event);
+                return;
+            }
+        }
+        apply(event);
+    }
+
+    private void apply(PostChangedEvent event) {
+        if (event.getType() == PostChangedEvent.Type.CREATED) {
+            event.getHashTags().forEach(tagName -> add(tagName, event.getPostId()));
+        } else if (event.getType() == PostChangedEvent.Type.DELETED) {
+            event.getHashTags().forEach(tagName -> remove(tagName, event.getPostId()));
+        }
+    }
+
+    // 읽기 락 안에서 호출 - 태그가 하나면 복사하지 않고 그대로 사용
+    private Roaring64NavigableMap match(Collection<String> tagNames, TagMatchMode mode) {
+        List<Roaring64NavigableMap> lists = new ArrayList<>();
+        for (String tagName : new LinkedHashSet<>(tagNames)) {
+            Roaring64NavigableMap list = postingLists.get(key(tagName));
+            if (list == null) {
+                if (mode == TagMatchMode.AND) return new Roaring64NavigableMap(); // 없는 태그가 하나라도 있으면 결과 없음
+                continue;
+            }
+            lists.add(list);
+        }
+        if (lists.isEmpty()) return new Roaring64NavigableMap();
+        if (lists.size() == 1) return lists.get(0);
+
+        // AND는 작은 집합부터 교집합을 구해야 빨리 줄어든다.
+        if (mode == TagMatchMode.AND) {
+            lists.sort(Comparator.comparingLong(Roaring64NavigableMap::getLongCardinality));
+        }
+        Roaring64NavigableMap result = new Roaring64NavigableMap();
+        result.or(lists.get(0));
+        for (int i = 1; i < lists.size(); i++) {
+            if (mode == TagMatchMode.AND) {
+                result.and(lists.get(i));
+                if (result.isEmpty()) break;
+            } else {
+                result.or(lists.get(i));
+            }
+        }
+        return result;
+    }
+
+    private void add(String tagName, Long postId) {
+        lock.writeLock().lock();
+        try {
+            postingLists.computeIfAbsent(key(tagName), k -> new Roaring64NavigableMap()).addLong(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(String tagName, Long postId) {
+        lock.writeLock().lock();
+        try {
+            String key = key(tagName);
+            Roaring64NavigableMap list = postingLists.get(key);
+            if (list == null) return;
+            list.removeLong(postId);
+            if (list.isEmpty()) postingLists.remove(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String key(String tagName) {
+        return tagName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Getter
+    public static class Result {
+        private final long total; // 조건에 맞는 전체 게시물 수
+        private final List<Long> postIds; // 요청한 페이지의 글번호 (최신순)
+
+        private Result(long total, List<Long> postIds) {
+            this.total = total;
+            this.postIds = postIds;
+        }
+    }
+}
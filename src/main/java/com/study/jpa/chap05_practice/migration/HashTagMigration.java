@@ -0,0 +1,96 @@
+package com.study.jpa.chap05_practice.migration;
+
+import com.study.jpa.chap05_practice.entity.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class HashTagMigration implements ApplicationRunner {
+    // 예전 해시태그 테이블(tbl_hash_tag: 게시물마다 태그 이름 저장) -> 태그 사전(tbl_tag) + 연결 테이블(tbl_post_tag)
+    /*
+        서버가 시작될 때 예전 테이블이 남아있으면 한 번 옮기고, 다 옮긴 테이블은 tbl_hash_tag_legacy로 이름을 바꿔둔다.
+        (확인 후 직접 DROP) -> 이름이 바뀐 다음부터는 옮기지 않는다.
+        중간에 실패해도 INSERT IGNORE라서 다시 실행하면 이어서 옮겨진다.
+        태그 사전에 들어갈 수 없는 긴 태그 이름(Tag.NAME_LENGTH 초과)이 있으면 옮기기 전에 서버 시작을 멈춘다.
+        옮긴 뒤에 빠진 연결이 하나라도 있으면 이름을 바꾸지 않고 서버 시작을 멈춘다. (예전 테이블은 그대로)
+        새 테이블은 ddl-auto: update 로 먼저 만들어진 상태다.
+
+        tbl_hash_tag_legacy에 남아있는 FK(post_no -> tbl_post)는 지운다.
+        게시물 삭제는 tbl_post_tag만 지우기 때문에 FK가 남아있으면 옮겨진 게시물을 지울 수 없다. (이미 이름을 바꾼 DB도 포함)
+    */
+
+    private static final String LEGACY_TABLE = "tbl_hash_tag";
+    private static final String RENAMED_TABLE = "tbl_hash_tag_legacy";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer legacyTables = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns" +
+                        " WHERE table_schema = SCHEMA() AND LOWER(table_name) = ? AND LOWER(column_name) = 'tag_name'",
+                Integer.class, LEGACY_TABLE);
+        if (legacyTables != null && legacyTables > 0) {
+            migrate();
+        }
+        dropLegacyForeignKeys();
+    }
+
+    private void migrate() {
+        long start = System.currentTimeMillis();
+
+        // INSERT IGNORE는 긴 값을 잘라서 넣거나 건너뛰므로 옮기기 전에 확인하고 멈춘다.
+        Integer tooLong = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tbl_hash_tag WHERE CHAR_LENGTH(tag_name) > ?",
+                Integer.class, Tag.NAME_LENGTH);
+        if (tooLong != null && tooLong > 0) {
+            throw new IllegalStateException("해시태그 마이그레이션 실패 - " + Tag.NAME_LENGTH + "자보다 긴 해시태그 " + tooLong + "개 (tbl_hash_tag는 그대로 둡니다)");
+        }
+
+        int tags = jdbcTemplate.update(
+                "INSERT IGNORE INTO tbl_tag (tag_name)" +
+                        " SELECT DISTINCT tag_name FROM tbl_hash_tag WHERE tag_name IS NOT NULL");
+
+        int postTags = jdbcTemplate.update(
+                "INSERT IGNORE INTO tbl_post_tag (post_no, tag_id)" +
+                        " SELECT h.post_no, t.tag_id FROM tbl_hash_tag h" +
+                        " JOIN tbl_tag t ON t.tag_name = h.tag_name" +
+                        " WHERE h.post_no IS NOT NULL" +
+                        " ORDER BY h.tag_no");
+
+        // 예전 테이블의 (게시물, 태그 이름)이 모두 새 테이블에 있는지 확인
+        Integer missing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tbl_hash_tag h" +
+                        " WHERE h.post_no IS NOT NULL AND h.tag_name IS NOT NULL" +
+                        " AND NOT EXISTS (SELECT 1 FROM tbl_post_tag pt JOIN tbl_tag t ON t.tag_id = pt.tag_id" +
+                        " WHERE pt.post_no = h.post_no AND t.tag_name = h.tag_name)",
+                Integer.class);
+        if (missing != null && missing > 0) {
+            throw new IllegalStateException("해시태그 마이그레이션 실패 - 옮겨지지 않은 해시태그 " + missing + "개 (tbl_hash_tag는 그대로 둡니다)");
+        }
+
+        jdbcTemplate.execute("ALTER TABLE tbl_hash_tag RENAME TO " + RENAMED_TABLE);
+
+        log.info("해시태그 마이그레이션 완료 - 태그 사전 {}개, 게시물-태그 {}개 ({} ms)",
+                tags, postTags, System.currentTimeMillis() - start);
+    }
+
+    private void dropLegacyForeignKeys() {
+        List<String> foreignKeys = jdbcTemplate.queryForList(
+                "SELECT constraint_name FROM information_schema.table_constraints" +
+                        " WHERE table_schema = SCHEMA() AND LOWER(table_name) = ? AND constraint_type = 'FOREIGN KEY'",
+                String.class, RENAMED_TABLE);
+        for (String foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + RENAMED_TABLE + " DROP FOREIGN KEY " + foreignKey);
+            log.info("{}의 외래 키 {} 삭제", RENAMED_TABLE, foreignKey);
+        }
+    }
+}
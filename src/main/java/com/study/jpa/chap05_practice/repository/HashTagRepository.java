@@ -1,7 +1,37 @@
 package com.study.jpa.chap05_practice.repository;
 
+import com.study.jpa.chap05_practice.dto.PostTagDTO;
 import com.study.jpa.chap05_practice.entity.HashTag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface HashTagRepository extends JpaRepository<HashTag, Long> {
+
+    // 여러 게시물의 해시태그를 IN 쿼리 한 번으로 조회 (게시물마다 해시태그를 조회하는 N+1 방지)
+    // 글번호 순으로 정렬 -> 같은 게시물의 태그가 붙어서 나온다. (목록 JSON을 쓸 때 게시물마다 리스트를 만들지 않고 바로 찾기 위해)
+    // h.post.id 는 FK 컬럼(post_no)을 그대로 읽기 때문에 tbl_post와 JOIN 하지 않는다. (태그 이름만 tbl_tag와 JOIN)
+    @Query("SELECT new com.study.jpa.chap05_practice.dto.PostTagDTO(h.post.id, t.tagName)" +
+            " FROM HashTag h JOIN h.tag t WHERE h.post.id IN :postIds ORDER BY h.post.id, h.id")
+    List<PostTagDTO> findTagsByPostIds(@Param("postIds") List<Long> postIds);
+
+    // 전체 게시물-태그를 한 줄씩 흘려보내며 조회 (해시태그 색인 생성용, 트랜잭션 안에서 사용 후 close 해야 한다)
+    // fetch size만큼씩 나눠서 가져온다. (MySQL은 url의 useCursorFetch=true 덕분에 전체 결과를 한 번에 메모리에 올리지 않음)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.study.jpa.chap05_practice.dto.PostTagDTO(h.post.id, t.tagName)" +
+            " FROM HashTag h JOIN h.tag t")
+    Stream<PostTagDTO> streamAllTags();
+
+    // 여러 게시물의 해시태그를 DELETE 한 번으로 삭제 (해시태그를 하나씩 조회해서 지우지 않는다)
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM HashTag h WHERE h.post.id IN :postIds")
+    int deleteByPostIds(@Param("postIds") List<Long> postIds);
 }
@@ -0,0 +1,108 @@
+package com.study.jpa.chap05_practice.repository;
+
+import com.study.jpa.chap05_practice.dto.PostCreateDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class PostBulkRepository {
+    // 게시물 + 해시태그 대량 등록 전용 레파지토리
+    /*
+        Post, HashTag는 GenerationType.IDENTITY 라서 하이버네이트가 INSERT를 모아서(batch) 보낼 수 없다.
+        (INSERT 할 때마다 바로 실행해서 생성된 PK를 받아와야 하기 때문)
+        그래서 대량 등록은 JDBC로 직접 addBatch / executeBatch 를 사용한다.
+        - JpaTransactionManager가 같은 커넥션을 공유해주기 때문에 서비스의 트랜잭션 안에서 같이 커밋/롤백 된다.
+        - MySQL은 url에 rewriteBatchedStatements=true 가 있어야 여러 줄짜리 INSERT 하나로 합쳐서 보낸다.
+    */
+
+    private static final String INSERT_POST
+            = "INSERT INTO tbl_post (writer, title, content, create_date, update_date, version) VALUES (?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_HASH_TAG
+            = "INSERT INTO tbl_post_tag (post_no, tag_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 한 번의 executeBatch로 보낼 최대 행 수
+    @Value("${post.bulk.batch-size:500}")
+    private int batchSize;
+
+    // 게시물들을 등록하고 생성된 글번호를 전달받은 순서대로 리턴
+    public List<Long> insertPosts(List<PostCreateDTO> posts, LocalDateTime now) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) con -> {
+            List<Long> ids = new ArrayList<>(posts.size());
+            Timestamp timestamp = Timestamp.valueOf(now);
+
+            try (PreparedStatement ps = con.prepareStatement(INSERT_POST, Statement.RETURN_GENERATED_KEYS)) {
+                int pending = 0;
+                for (PostCreateDTO post : posts) {
+                    ps.setString(1, post.getWriter());
+                    ps.setString(2, post.getTitle());
+                    ps.setString(3, post.getContent());
+                    ps.setTimestamp(4, timestamp);
+                    ps.setTimestamp(5, timestamp);
+                    ps.addBatch();
+
+                    if (++pending == batchSize) {
+                        executeAndCollectKeys(ps, ids);
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    executeAndCollectKeys(ps, ids);
+                }
+            }
+            return ids;
+        });
+    }
+
+    // 게시물 번호와 같은 순서로 전달된 tag_id 목록을 연결하고 등록된 해시태그 수를 리턴
+    public int insertHashTags(List<Long> postIds, List<? extends Collection<Long>> tagIds) {
+        Integer inserted = jdbcTemplate.execute((ConnectionCallback<Integer>) con -> {
+            int count = 0;
+            try (PreparedStatement ps = con.prepareStatement(INSERT_HASH_TAG)) {
+                int pending = 0;
+                for (int i = 0; i < postIds.size(); i++) {
+                    for (Long tagId : tagIds.get(i)) {
+                        ps.setLong(1, postIds.get(i));
+                        ps.setLong(2, tagId);
+                        ps.addBatch();
+                        count++;
+
+                        if (++pending == batchSize) {
+                            ps.executeBatch();
+                            pending = 0;
+                        }
+                    }
+                }
+                if (pending > 0) {
+                    ps.executeBatch();
+                }
+            }
+            return count;
+        });
+        return inserted == null ? 0 : inserted;
+    }
+
+    private static void executeAndCollectKeys(PreparedStatement ps, List<Long> ids) throws SQLException {
+        ps.executeBatch();
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+            while (keys.next()) {
+                ids.add(keys.getLong(1));
+            }
+        }
+    }
+}
@@ -1,10 +1,133 @@
 package com.study.jpa.chap05_practice.repository;
 
+import com.study.jpa.chap05_practice.dto.PostSummaryDTO;
+import com.study.jpa.chap05_practice.dto.PostVersionDTO;
 import com.study.jpa.chap05_practice.entity.Post;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
 
+    // 목록 화면에 필요한 컬럼만 DTO로 바로 조회 (Post 엔터티를 만들지 않는다)
+    // previewLength: 내용을 DB에서 앞에서부터 몇 글자까지만 가져올지
+    String SUMMARY_SELECT = "SELECT new com.study.jpa.chap05_practice.dto.PostSummaryDTO(" +
+            "p.id, p.writer, p.title, SUBSTRING(p.content, 1, :previewLength), p.createDate, p.updateDate)" +
+            " FROM Post p";
+
+    // previewLength로 "내용 전체"를 요청할 때 쓰는 값
+    // Integer.MAX_VALUE를 넘기면 DB에 따라 시작 위치 + 길이가 int 범위를 넘어서 빈 문자열이 나온다. (H2)
+    int FULL_CONTENT = Integer.MAX_VALUE / 2;
+
+    // 목록 조회 (PAGE 방식) - COUNT 쿼리 포함
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(p) FROM Post p")
+    Page<PostSummaryDTO> findSummaries(@Param("previewLength") int previewLength, Pageable pageable);
+
+    // 목록 조회 (SLICE, CACHED_COUNT 방식) - 리턴 타입이 Slice라서 COUNT 없이 size + 1개만 조회한다.
+    @Query(SUMMARY_SELECT)
+    Slice<PostSummaryDTO> findSummarySlice(@Param("previewLength") int previewLength, Pageable pageable);
+
+    // 게시물 버전만 조회하는 프로젝션 (조건부 GET 용)
+    String VERSION_SELECT = "SELECT new com.study.jpa.chap05_practice.dto.PostVersionDTO(p.id, p.version, p.updateDate)" +
+            " FROM Post p";
+
+    // 목록 버전 조회 (PAGE 방식) - 목록 조회와 같은 페이지의 글번호, 수정시간 + COUNT
+    @Query(value = VERSION_SELECT, countQuery = "SELECT COUNT(p) FROM Post p")
+    Page<PostVersionDTO> findVersions(Pageable pageable);
+
+    // 목록 버전 조회 (SLICE, CACHED_COUNT 방식)
+    @Query(VERSION_SELECT)
+    Slice<PostVersionDTO> findVersionSlice(Pageable pageable);
+
+    // 게시물 하나의 버전 조회 (PK로 한 줄, 내용/해시태그 X)
+    @Query(VERSION_SELECT + " WHERE p.id = :id")
+    Optional<PostVersionDTO> findVersionById(@Param("id") Long id);
+
+    // 글번호 목록으로 조회 (해시태그 색인에서 찾은 한 페이지 분량의 글번호 -> IN 쿼리 1번)
+    @Query(SUMMARY_SELECT + " WHERE p.id IN :ids")
+    List<PostSummaryDTO> findSummariesByIds(@Param("previewLength") int previewLength, @Param("ids") List<Long> ids);
+
+    // 커서(키셋) 페이징 - 첫 페이지
+    // 리턴 타입이 List이기 때문에 Pageable은 LIMIT으로만 쓰이고 COUNT 쿼리는 나가지 않는다.
+    @Query(SUMMARY_SELECT + " ORDER BY p.createDate DESC, p.id DESC")
+    List<PostSummaryDTO> findFirstCursorPage(@Param("previewLength") int previewLength, Pageable pageable);
+
+    // 커서(키셋) 페이징 - 다음 페이지
+    // OFFSET 없이 마지막으로 본 게시물(작성일, 글번호) 바로 다음부터 읽기 때문에 몇 번째 페이지든 비용이 같다.
+    @Query(SUMMARY_SELECT +
+            " WHERE p.createDate < :createDate" +
+            " OR (p.createDate = :createDate AND p.id < :id)" +
+            " ORDER BY p.createDate DESC, p.id DESC")
+    List<PostSummaryDTO> findCursorPageAfter(
+            @Param("createDate") LocalDateTime createDate,
+            @Param("id") Long id,
+            @Param("previewLength") int previewLength,
+            Pageable pageable
+    );
+
+    // 게시물 수정 - 엔터티를 조회하지 않고 UPDATE 한 번으로 처리 (수정된 행 수 리턴, 0이면 게시물이 없음)
+    // 벌크 연산은 영속성 컨텍스트를 거치지 않으므로 실행 전에 flush, 실행 후에 clear 해서 예전 값이 남지 않게 한다.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Post p SET p.title = :title, p.content = :content, p.updateDate = :updateDate," +
+            " p.version = p.version + 1" +
+            " WHERE p.id = :id")
+    int updateContent(
+            @Param("id") Long id,
+            @Param("title") String title,
+            @Param("content") String content,
+            @Param("updateDate") LocalDateTime updateDate
+    );
+
+    // 게시물 수정 (버전 확인) - 조회한 이후로 다른 사람이 수정했다면(현재 버전이 versions에 없으면) 0건이 수정된다.
+    // If-Match에 ETag를 여러 개 보낼 수 있어서 버전도 여러 개 받는다. (비어 있으면 안 됨)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Post p SET p.title = :title, p.content = :content, p.updateDate = :updateDate," +
+            " p.version = p.version + 1" +
+            " WHERE p.id = :id AND p.version IN :versions")
+    int updateContentIfVersion(
+            @Param("id") Long id,
+            @Param("versions") Collection<Long> versions,
+            @Param("title") String title,
+            @Param("content") String content,
+            @Param("updateDate") LocalDateTime updateDate
+    );
+
+    // 여러 게시물을 DELETE 한 번으로 삭제 (해시태그는 먼저 HashTagRepository.deleteByPostIds로 지워야 한다)
+    // 영속성 컨텍스트에 남아있는 삭제된 게시물이 다시 쓰이지 않도록 실행 후 clear
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Post p WHERE p.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+
+    // 글번호 목록 중 실제로 있는 글번호만 조회 (대량 삭제 대상 확인)
+    @Query("SELECT p.id FROM Post p WHERE p.id IN :ids ORDER BY p.id")
+    List<Long> findExistingIds(@Param("ids") List<Long> ids);
+
+    // 작성자 + 작성일 범위로 글번호만 조회 (대량 삭제 대상 찾기)
+    @Query("SELECT p.id FROM Post p WHERE p.writer = :writer" +
+            " AND p.createDate >= :from AND p.createDate < :to ORDER BY p.id")
+    List<Long> findIdsByWriterAndCreateDate(
+            @Param("writer") String writer,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
 
+    // 전체 게시물을 글번호 순서로 조금씩 읽기 (검색 색인 생성용) - 트랜잭션 안에서 사용 후 반드시 close
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query(SUMMARY_SELECT + " ORDER BY p.id")
+    Stream<PostSummaryDTO> streamSummaries(@Param("previewLength") int previewLength);
 
 }
@@ -0,0 +1,27 @@
+package com.study.jpa.chap05_practice.repository;
+
+import com.study.jpa.chap05_practice.entity.Tag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TagRepository extends JpaRepository<Tag, Long> {
+
+    List<Tag> findByTagNameIn(Collection<String> tagNames);
+
+    // 잠금 읽기(FOR SHARE) - 트랜잭션 시작 후에 다른 트랜잭션이 커밋한 태그도 보인다. (REPEATABLE READ 스냅샷 X)
+    // 태그는 등록 후 바뀌거나 지워지지 않으므로 공유 잠금이 다른 요청을 막지 않는다.
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT t FROM Tag t WHERE t.tagName IN :tagNames")
+    List<Tag> findLockedByTagNameIn(@Param("tagNames") Collection<String> tagNames);
+
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT t FROM Tag t WHERE t.tagName = :tagName")
+    Optional<Tag> findLockedByTagName(@Param("tagName") String tagName);
+}
@@ -0,0 +1,396 @@
+package com.study.jpa.chap05_practice.search;
+
+import com.study.jpa.chap05_practice.dto.PostSummaryDTO;
+import com.study.jpa.chap05_practice.event.PostChangedEvent;
+import com.study.jpa.chap05_practice.repository.PostRepository;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class PostSearchIndex {
+    // 게시물 제목 + 내용 전문 검색 색인 (외부 검색 엔진 없이 메모리에서)
+    /*
+        - term(PostTokenizer 참고) -> 그 term이 들어있는 문서 번호 목록(posting list)과 등장 횟수(tf)
+        - 문서 번호는 게시물 번호가 아니라 색인에 들어온 순서대로 붙이는 int 번호(ordinal)
+          -> posting list가 항상 오름차순이라 교집합을 건너뛰기(이진 탐색)로 구할 수 있고, long보다 메모리도 적다.
+        - 수정/삭제된 문서는 posting list에서 바로 빼지 않고 deleted 비트맵에 표시만 한다.
+          삭제 표시가 일정 비율을 넘으면 한 번에 정리(compact)한다.
+        - 검색어의 모든 term이 들어있는 게시물만 찾고(AND), BM25 점수가 높은 순으로 정렬한다.
+          가장 짧은 posting list부터 훑기 때문에 흔한 글자가 섞여 있어도 드문 term 기준으로 비교 횟수가 정해진다.
+        - 제목에 나온 term은 두 번 나온 것으로 친다. (제목 가중치)
+        - 서버 시작 시 전체 게시물로 만들고, 이후에는 게시물 등록/수정/삭제 이벤트(커밋 이후)로 갱신한다.
+          만드는 도중에 커밋된 이벤트는 TagPostIndex처럼 모아 두었다가 다 만든 뒤에 순서대로 반영한다.
+          (스냅샷의 예전 제목/내용이 수정 내용을 덮어쓰거나, 삭제된 게시물이 다시 들어가는 것을 막는다)
+          실패하면 비우고 post.search-index.retry-interval마다 다시 만든다. (그동안 검색은 실패로 응답)
+    */
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+
+    private final Map<String, Postings> postingLists = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>(); // 게시물 번호 -> 현재 문서 번호
+    private final RoaringBitmap deleted = new RoaringBitmap();
+    private long[] docPostIds = new long[1024]; // 문서 번호 -> 게시물 번호
+    private int[] docLengths = new int[1024]; // 문서 번호 -> 문서 길이(term 수)
+    private int docCount; // 지금까지 붙인 문서 번호 수 (삭제 표시 포함)
+    private long totalLength; // 살아있는 문서 길이 합 (평균 길이 계산용)
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    private volatile boolean ready;
+    private volatile boolean failed; // 마지막 생성이 실패 -> 다시 시도
+
+    // 색인을 만드는 동안 커밋된 이벤트 (building과 함께 이 객체로 동기화)
+    private final List<PostChangedEvent> eventsDuringBuild = new ArrayList<>();
+    private boolean building;
+
+    public PostSearchIndex(PostRepository postRepository, PlatformTransactionManager transactionManager) {
+        this.postRepository = postRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    // 서버가 뜨고 나면 전체 게시물로 색인 생성
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        synchronized (eventsDuringBuild) {
+            if (building || ready) return;
+            building = true;
+        }
+        long start = System.currentTimeMillis();
+
+        try {
+            long rows = Optional.ofNullable(readOnlyTx.execute(status -> {
+                long count = 0;
+                try (Stream<PostSummaryDTO> stream = postRepository.streamSummaries(PostRepository.FULL_CONTENT)) {
+                    Iterator<PostSummaryDTO> it = stream.iterator();
+                    while (it.hasNext()) {
+                        PostSummaryDTO post = it.next();
+                        index(post.getId(), post.getTitle(), post.getContent());
+                        count++;
+                    }
+                }
+                return count;
+            })).orElse(0L);
+
+            int replayed;
+            synchronized (eventsDuringBuild) {
+                replayed = eventsDuringBuild.size();
+                eventsDuringBuild.forEach(this::apply);
+                eventsDuringBuild.clear();
+                building = false;
+                failed = false;
+                ready = true;
+            }
+
+            log.info("게시물 검색 색인 생성 완료 - 게시물 {}개, term {}개, 생성 중 변경 {}건 ({} ms)",
+                    rows, termCount(), replayed, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            clear();
+            synchronized (eventsDuringBuild) {
+                eventsDuringBuild.clear();
+                building = false;
+                failed = true;
+            }
+            log.error("게시물 검색 색인 생성 실패 - 다시 만들 때까지 검색할 수 없습니다.", e);
+        }
+    }
+
+    // 색인 생성이 실패했으면 주기적으로 다시 시도
+    @Scheduled(
+            initialDelayString = "${post.search-index.retry-interval:60000}",
+            fixedDelayString = "${post.search-index.retry-interval:60000}"
+    )
+    public void retryBuild() {
+        if (failed) build();
+    }
+
+    // 검색어에 맞는 게시물 번호를 점수 순으로 offset부터 size개 조회
+    public Result search(String query, long offset, int size) {
+        Set<String> terms = new LinkedHashSet<>(PostTokenizer.tokenize(query));
+        if (terms.isEmpty()) return new Result(0, new ArrayList<>());
+
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>();
+            for (String term : terms) {
+                Postings postings = postingLists.get(term);
+                if (postings == null) return new Result(0, new ArrayList<>()); // 없는 term이 있으면 결과 없음
+                lists.add(postings);
+            }
+            lists.sort(Comparator.comparingInt(postings -> postings.size));
+
+            int liveDocs = docCount - deleted.getCardinality();
+            double avgLength = liveDocs == 0 ? 1 : (double) totalLength / liveDocs;
+            double[] idf = new double[lists.size()];
+            for (int i = 0; i < lists.size(); i++) {
+                int df = lists.get(i).size;
+                idf[i] = Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+            }
+
+            // 점수 상위 offset + size개만 남기는 최소 힙 (점수가 같으면 최신 글 우선)
+            int keep = (int) Math.min(Integer.MAX_VALUE - 8, offset + size);
+            PriorityQueue<Hit> top = new PriorityQueue<>(Hit.WORST_FIRST);
+            int[] cursors = new int[lists.size()];
+            long total = 0;
+
+            Postings rarest = lists.get(0);
+            candidates:
+            for (int p = 0; p < rarest.size; p++) {
+                int doc = rarest.docs[p];
+                if (deleted.contains(doc)) continue;
+
+                double docNorm = K1 * (1 - B + B * docLengths[doc] / avgLength);
+                double score = idf[0] * bm25(rarest.freqs[p], docNorm);
+                for (int i = 1; i < lists.size(); i++) {
+                    Postings other = lists.get(i);
+                    cursors[i] = other.seek(doc, cursors[i]);
+                    if (cursors[i] >= other.size) break candidates; // 더 긴 목록이 끝났으면 더 이상 교집합 없음
+                    if (other.docs[cursors[i]] != doc) continue candidates;
+                    score += idf[i] * bm25(other.freqs[cursors[i]], docNorm);
+                }
+
+                total++;
+                if (keep == 0) continue;
+                Hit hit = new Hit(docPostIds[doc], score);
+                if (top.size() < keep) {
+                    top.add(hit);
+                } else if (Hit.WORST_FIRST.compare(hit, top.peek()) > 0) {
+                    top.poll();
+                    top.add(hit);
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(Hit.WORST_FIRST.reversed());
+            List<Long> postIds = new ArrayList<>(size);
+            for (int i = (int) Math.min(offset, hits.size()); i < hits.size(); i++) {
+                postIds.add(hits.get(i).postId);
+            }
+            return new Result(total, postIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postingLists.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 게시물 등록/수정/삭제가 커밋된 뒤에만 반영 (색인을 만드는 중이면 다 만든 뒤에)
+    @TransactionalEventListener
+    public void onPostChanged(PostChangedEvent event) {
+        synchronized (eventsDuringBuild) {
+            if (building) {
+                eventsDuringBuild.add(event);
+                return;
+            }
+        }
+        apply(event);
+    }
+
+    private void apply(PostChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED:
+            case MODIFIED:
+                if (event.getTitle() == null && event.getContent() == null) return;
+                index(event.getPostId(), event.getTitle(), event.getContent());
+                break;
+            case DELETED:
+                remove(event.getPostId());
+                break;
+        }
+    }
+
+    // 게시물 색인 (이미 있던 게시물이면 예전 문서는 삭제 표시하고 새로 추가)
+    private void index(Long postId, String title, String content) {
+        Map<String, Integer> frequencies = PostTokenizer.termFrequencies(content);
+        PostTokenizer.termFrequencies(title).forEach((term, tf) -> frequencies.merge(term, tf * TITLE_WEIGHT, Integer::sum));
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(postId);
+
+            int doc = docCount++;
+            if (doc == docPostIds.length) {
+                docPostIds = Arrays.copyOf(docPostIds, doc * 2);
+                docLengths = Arrays.copyOf(docLengths, doc * 2);
+            }
+            docPostIds[doc] = postId;
+            docLengths[doc] = length;
+            totalLength += length;
+            ordinals.put(postId, doc);
+
+            frequencies.forEach((term, tf) -> postingLists.computeIfAbsent(term, t -> new Postings()).add(doc, tf));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 만들다 실패한 색인을 비운다.
+    private void clear() {
+        lock.writeLock().lock();
+        try {
+            postingLists.clear();
+            ordinals.clear();
+            deleted.clear();
+            docCount = 0;
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(Long postId) {
+        Integer doc = ordinals.remove(postId);
+        if (doc == null) return;
+        deleted.add(doc);
+        totalLength -= docLengths[doc];
+
+        // 삭제 표시가 전체의 20%를 넘으면 정리
+        if (deleted.getCardinality() > Math.max(1024, docCount / 5)) {
+            compact();
+        }
+    }
+
+    // 삭제 표시된 문서를 posting list에서 빼고 문서 번호를 앞으로 당긴다. (순서는 그대로라 정렬이 유지됨)
+    private void compact() {
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.contains(doc)) {
+                remap[doc] = -1;
+                continue;
+            }
+            remap[doc] = next;
+            docPostIds[next] = docPostIds[doc];
+            docLengths[next] = docLengths[doc];
+            ordinals.put(docPostIds[next], next);
+            next++;
+        }
+        docCount = next;
+        deleted.clear();
+
+        Iterator<Postings> it = postingLists.values().iterator();
+        while (it.hasNext()) {
+            Postings postings = it.next();
+            postings.remap(remap);
+            if (postings.size == 0) it.remove();
+        }
+    }
+
+    private static double bm25(int tf, double docNorm) {
+        return tf * (K1 + 1) / (tf + docNorm);
+    }
+
+    // 문서 번호 오름차순 posting list (배열을 늘려가며 사용)
+    private static class Postings {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        private void add(int doc, int tf) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = tf;
+            size++;
+        }
+
+        // from 위치부터 doc 이상인 첫 위치 (간격을 두 배씩 늘려서 건너뛴 뒤 이진 탐색)
+        private int seek(int doc, int from) {
+            if (from >= size || docs[from] >= doc) return from;
+            int step = 1;
+            int low = from;
+            int high = from + 1;
+            while (high < size && docs[high] < doc) {
+                low = high;
+                step <<= 1;
+                high = from + step;
+            }
+            high = Math.min(high, size);
+            int found = Arrays.binarySearch(docs, low + 1, high, doc);
+            return found >= 0 ? found : -found - 1;
+        }
+
+        private void remap(int[] remap) {
+            int next = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc < 0) continue;
+                docs[next] = doc;
+                freqs[next] = freqs[i];
+                next++;
+            }
+            size = next;
+            if (size < docs.length / 4) {
+                docs = Arrays.copyOf(docs, Math.max(4, size));
+                freqs = Arrays.copyOf(freqs, Math.max(4, size));
+            }
+        }
+    }
+
+    private static class Hit {
+        private static final Comparator<Hit> WORST_FIRST = Comparator
+                .comparingDouble((Hit hit) -> hit.score)
+                .thenComparingLong(hit -> hit.postId);
+
+        private final long postId;
+        private final double score;
+
+        private Hit(long postId, double score) {
+            this.postId = postId;
+            this.score = score;
+        }
+    }
+
+    @Getter
+    public static class Result {
+        private final long total; // 검색어에 맞는 전체 게시물 수
+        private final List<Long> postIds; // 요청한 페이지의 글번호 (점수순)
+
+        private Result(long total, List<Long> postIds) {
+            this.total = total;
+            this.postIds = postIds;
+        }
+    }
+}
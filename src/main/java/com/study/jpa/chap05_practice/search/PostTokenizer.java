@@ -0,0 +1,84 @@
+package com.study.jpa.chap05_practice.search;
+
+import java.util.*;
+
+public final class PostTokenizer {
+    // 검색어/게시물 본문을 색인 단위(term)로 자르는 규칙
+    /*
+        - 영어처럼 띄어쓰기로 구분되는 글자는 단어 하나가 term (소문자로 통일)
+        - 한글/한자/일본어는 조사가 붙어 있어 단어 경계가 애매하므로 두 글자씩 겹쳐서 자른다. (bigram)
+          ex) "스프링부트" -> 스프, 프링, 링부, 부트
+          한 글자만 있는 경우에는 그 글자 자체가 term
+        - 글자/숫자가 아닌 문자(공백, 문장부호 등)는 모두 구분자
+        검색어도 같은 규칙으로 자르기 때문에 "링부트"로 검색하면 "스프링부트"가 나온다.
+        (반대로 한 글자 검색어는 한 글자 단어에만 맞는다.)
+    */
+
+    private PostTokenizer() {}
+
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) return terms;
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        StringBuilder word = new StringBuilder();
+        List<Integer> cjk = new ArrayList<>();
+
+        for (int i = 0; i < lower.length(); ) {
+            int cp = lower.codePointAt(i);
+            i += Character.charCount(cp);
+
+            if (isCjk(cp)) {
+                flushWord(word, terms);
+                cjk.add(cp);
+            } else if (Character.isLetterOrDigit(cp)) {
+                flushCjk(cjk, terms);
+                word.appendCodePoint(cp);
+            } else {
+                flushWord(word, terms);
+                flushCjk(cjk, terms);
+            }
+        }
+        flushWord(word, terms);
+        flushCjk(cjk, terms);
+        return terms;
+    }
+
+    // term -> 등장 횟수
+    public static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : tokenize(text)) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    private static void flushWord(StringBuilder word, List<String> terms) {
+        if (word.length() == 0) return;
+        terms.add(word.toString());
+        word.setLength(0);
+    }
+
+    private static void flushCjk(List<Integer> cjk, List<String> terms) {
+        if (cjk.isEmpty()) return;
+        if (cjk.size() == 1) {
+            terms.add(new String(Character.toChars(cjk.get(0))));
+        } else {
+            for (int i = 0; i + 1 < cjk.size(); i++) {
+                terms.add(new StringBuilder()
+                        .appendCodePoint(cjk.get(i))
+                        .appendCodePoint(cjk.get(i + 1))
+                        .toString());
+            }
+        }
+        cjk.clear();
+    }
+
+    private static boolean isCjk(int cp) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+}
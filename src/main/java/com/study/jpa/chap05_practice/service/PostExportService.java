@@ -0,0 +1,189 @@
+package com.study.jpa.chap05_practice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.study.jpa.chap05_practice.dto.ExportFormat;
+import com.study.jpa.chap05_practice.dto.PostExportDTO;
+import com.study.jpa.chap05_practice.dto.PostSummaryDTO;
+import com.study.jpa.chap05_practice.dto.PostTagDTO;
+import com.study.jpa.chap05_practice.repository.HashTagRepository;
+import com.study.jpa.chap05_practice.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PostExportService {
+    // 전체 게시물 + 해시태그 내보내기 (분석용 덤프)
+    /*
+        - 게시물은 PostRepository.streamSummaries로 한 방향 커서를 열어 fetch size(1000)만큼씩 받아온다.
+          (엔터티가 아닌 프로젝션이라 영속성 컨텍스트에 쌓이지 않고, 그래도 배치마다 clear 해 둔다)
+        - BATCH_SIZE개씩 모아서 해시태그를 IN 쿼리 1번으로 조회한 뒤 바로 응답 스트림에 쓰고 버린다.
+          -> 메모리에는 항상 한 배치 분량만 남아있어서 테이블 크기와 상관없이 사용량이 일정하다.
+    */
+
+    private static final int BATCH_SIZE = 500;
+    private static final long LOG_INTERVAL = 100_000; // 진행 상황 로그 간격 (행)
+
+    private final PostRepository postRepository;
+    private final HashTagRepository hashTagRepository;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    // 전체 게시물을 지정한 형식으로 out에 쓰고 내보낸 행 수를 리턴
+    @Transactional(readOnly = true)
+    public long export(ExportFormat format, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long rows = 0;
+
+        try (RowWriter writer = format == ExportFormat.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out, objectMapper);
+             Stream<PostSummaryDTO> stream = postRepository.streamSummaries(PostRepository.FULL_CONTENT)) {
+
+            List<PostSummaryDTO> batch = new ArrayList<>(BATCH_SIZE);
+            Iterator<PostSummaryDTO> it = stream.iterator();
+            while (it.hasNext()) {
+                batch.add(it.next());
+                if (batch.size() < BATCH_SIZE) continue;
+
+                writeBatch(batch, writer);
+                long before = rows;
+                rows += batch.size();
+                batch.clear();
+                entityManager.clear();
+
+                if (rows / LOG_INTERVAL != before / LOG_INTERVAL) {
+                    log.info("게시물 내보내기 진행 중 - {}행 ({} rows/s)", rows, rowsPerSecond(rows, start));
+                }
+            }
+            writeBatch(batch, writer);
+            rows += batch.size();
+        }
+
+        log.info("게시물 내보내기 완료 - 형식: {}, {}행, {} ms ({} rows/s)",
+                format, rows, (System.nanoTime() - start) / 1_000_000, rowsPerSecond(rows, start));
+        return rows;
+    }
+
+    // 한 배치의 해시태그를 IN 쿼리 1번으로 조회해서 게시물과 함께 쓰기
+    private void writeBatch(List<PostSummaryDTO> batch, RowWriter writer) throws IOException {
+        if (batch.isEmpty()) return;
+
+        Map<Long, List<String>> tagMap = hashTagRepository.findTagsByPostIds(
+                batch.stream().map(PostSummaryDTO::getId).collect(Collectors.toList())
+        ).stream().collect(Collectors.groupingBy(
+                PostTagDTO::getPostId,
+                Collectors.mapping(PostTagDTO::getTagName, Collectors.toList())
+        ));
+
+        for (PostSummaryDTO post : batch) {
+            writer.write(new PostExportDTO(post, tagMap.getOrDefault(post.getId(), new ArrayList<>())));
+        }
+        writer.flush(); // 배치마다 내보내서 클라이언트가 바로 받기 시작할 수 있게
+    }
+
+    private static long rowsPerSecond(long rows, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        return elapsed == 0 ? rows : rows * 1_000_000_000L / elapsed;
+    }
+
+    private interface RowWriter extends Closeable, Flushable {
+        void write(PostExportDTO post) throws IOException;
+    }
+
+    // 한 줄에 JSON 하나 (JSON 배열로 감싸지 않는다)
+    private static class NdjsonRowWriter implements RowWriter {
+        private final SequenceWriter writer;
+
+        private NdjsonRowWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            this.writer = objectMapper.writer()
+                    .withRootValueSeparator("\n")
+                    .writeValues(new NonClosingOutputStream(out));
+        }
+
+        @Override
+        public void write(PostExportDTO post) throws IOException {
+            writer.write(post);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    // RFC 4180 CSV (쉼표, 따옴표, 줄바꿈이 들어간 값은 따옴표로 감싼다)
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        private CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(new NonClosingOutputStream(out), StandardCharsets.UTF_8));
+            writer.write("post_no,writer,title,content,hash_tags,create_date,update_date\r\n");
+        }
+
+        @Override
+        public void write(PostExportDTO post) throws IOException {
+            writer.write(String.valueOf(post.getId()));
+            writeField(post.getWriter());
+            writeField(post.getTitle());
+            writeField(post.getContent());
+            writeField(String.join("|", post.getHashTags()));
+            writeField(post.getCreateDate() == null ? null : post.getCreateDate().toString());
+            writeField(post.getUpdateDate() == null ? null : post.getUpdateDate().toString());
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            writer.write(',');
+            if (value == null) return;
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    // 응답 스트림은 서블릿 컨테이너가 닫아야 하므로 close는 flush만 한다.
+    private static class NonClosingOutputStream extends FilterOutputStream {
+        private NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.study.jpa.chap05_practice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.jpa.chap05_practice.dto.PostBulkCreateDTO;
+import com.study.jpa.chap05_practice.dto.PostBulkResponseDTO;
+import com.study.jpa.chap05_practice.dto.PostCreateDTO;
+import com.study.jpa.chap05_practice.dto.PostImportResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class PostImportService {
+    // NDJSON(한 줄에 게시물 하나) 요청 본문을 읽으면서 게시물 가져오기
+    /*
+        - 본문을 한 줄씩 읽어서 PostCreateDTO로 변환 + 입력값 검증 (전체를 메모리에 올리지 않는다)
+        - 검증을 통과한 줄을 chunk-size개씩 모아서 PostService.insertAll로 저장
+          -> 청크마다 별도의 트랜잭션(JDBC batch)이라 중간에 실패해도 앞의 청크는 그대로 남고,
+             엔터티를 만들지 않으니 영속성 컨텍스트도 커지지 않는다.
+        - 잘못된 줄과 저장에 실패한 청크의 줄은 줄 번호, 시작 위치(byte)와 함께 결과로 알려준다.
+    */
+
+    private static final int MAX_FAILURES = 1000; // 결과에 담을 최대 실패 줄 수
+    private static final int MAX_LINE_BYTES = 1024 * 1024; // 한 줄 최대 크기 (1MB)
+
+    private final PostService postService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public PostImportService(
+            PostService postService,
+            ObjectMapper objectMapper,
+            Validator validator,
+            @Value("${post.import.chunk-size:1000}") int chunkSize
+    ) {
+        this.postService = postService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    // 호출하는 쪽에 트랜잭션이 없어야 청크마다 따로 커밋된다.
+    public PostImportResponseDTO importPosts(InputStream body) throws IOException {
+        long start = System.nanoTime();
+        PostImportResponseDTO result = new PostImportResponseDTO();
+
+        LineReader reader = new LineReader(body);
+        List<PostCreateDTO> chunk = new ArrayList<>(chunkSize);
+        List<long[]> positions = new ArrayList<>(chunkSize); // 청크에 담긴 줄의 {줄 번호, 시작 위치}
+
+        byte[] line;
+        while ((line = reader.next()) != null) {
+            if (reader.isBlank()) continue;
+            result.setLineCount(result.getLineCount() + 1);
+
+            if (line.length > MAX_LINE_BYTES) {
+                fail(result, reader.lineNo, reader.lineOffset, "한 줄이 너무 깁니다. (최대 " + MAX_LINE_BYTES + " byte)");
+                continue;
+            }
+
+            PostCreateDTO dto;
+            try {
+                dto = objectMapper.readValue(line, PostCreateDTO.class);
+            } catch (JsonProcessingException e) {
+                fail(result, reader.lineNo, reader.lineOffset, "JSON 형식 오류: " + e.getOriginalMessage());
+                continue;
+            }
+            if (dto == null) { // 줄 내용이 null (숫자, 문자열, 배열은 위에서 형식 오류)
+                fail(result, reader.lineNo, reader.lineOffset, "JSON 형식 오류: 게시물은 객체({...})로 보내주세요.");
+                continue;
+            }
+
+            Set<ConstraintViolation<PostCreateDTO>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                fail(result, reader.lineNo, reader.lineOffset, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                continue;
+            }
+
+            chunk.add(dto);
+            positions.add(new long[]{reader.lineNo, reader.lineOffset});
+            if (chunk.size() == chunkSize) {
+                saveChunk(chunk, positions, result);
+                log.info("게시물 가져오기 진행 중 - {}줄 읽음, {}개 등록, {}줄 실패 ({} posts/s)",
+                        result.getLineCount(), result.getPostCount(), result.getFailedCount(),
+                        rowsPerSecond(result.getPostCount(), start));
+            }
+        }
+        saveChunk(chunk, positions, result);
+
+        log.info("게시물 가져오기 완료 - {}줄 읽음, {}개 등록, {}줄 실패, {} ms ({} posts/s)",
+                result.getLineCount(), result.getPostCount(), result.getFailedCount(),
+                (System.nanoTime() - start) / 1_000_000, rowsPerSecond(result.getPostCount(), start));
+        return result;
+    }
+
+    // 청크 하나를 한 트랜잭션으로 저장 (실패하면 그 청크의 줄을 모두 실패로 기록)
+    private void saveChunk(List<PostCreateDTO> chunk, List<long[]> positions, PostImportResponseDTO result) {
+        if (chunk.isEmpty()) return;
+        try {
+            PostBulkResponseDTO saved = postService.insertAll(new PostBulkCreateDTO(chunk));
+            result.setPostCount(result.getPostCount() + saved.getPostCount());
+            result.setHashTagCount(result.getHashTagCount() + saved.getHashTagCount());
+        } catch (RuntimeException e) {
+            log.warn("게시물 가져오기 - {}번째 줄부터 {}줄 저장 실패", positions.get(0)[0], chunk.size(), e);
+            positions.forEach(p -> fail(result, p[0], p[1], "저장 실패: " + e.getMessage()));
+        }
+        chunk.clear();
+        positions.clear();
+    }
+
+    private static void fail(PostImportResponseDTO result, long lineNo, long offset, String reason) {
+        result.setFailedCount(result.getFailedCount() + 1);
+        if (result.getFailures().size() < MAX_FAILURES) {
+            result.getFailures().add(new PostImportResponseDTO.Failure(lineNo, offset, reason));
+        }
+    }
+
+    private static long rowsPerSecond(long rows, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        return elapsed == 0 ? rows : rows * 1_000_000_000L / elapsed;
+    }
+
+    // 줄 단위로 읽으면서 줄 번호와 시작 위치(byte)를 기억하는 리더 (\n, \r\n 모두 처리)
+    private static class LineReader {
+        private final InputStream in;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private long position; // 지금까지 읽은 byte 수
+        private long lineNo; // 마지막으로 읽은 줄 번호
+        private long lineOffset; // 마지막으로 읽은 줄의 시작 위치
+        private boolean blank;
+
+        private LineReader(InputStream in) {
+            this.in = new BufferedInputStream(in, 64 * 1024);
+        }
+
+        // 다음 줄 (줄바꿈 제외, 너무 긴 줄은 MAX_LINE_BYTES + 1 byte까지만), 끝이면 null
+        private byte[] next() throws IOException {
+            buffer.reset();
+            lineOffset = position;
+            blank = true;
+            int b;
+            boolean read = false;
+            while ((b = in.read()) != -1) {
+                position++;
+                read = true;
+                if (b == '\n') break;
+                if (buffer.size() <= MAX_LINE_BYTES) buffer.write(b);
+                if (b != ' ' && b != '\t' && b != '\r') blank = false;
+            }
+            if (!read) return null;
+            lineNo++;
+
+            byte[] line = buffer.toByteArray();
+            if (line.length > 0 && line[line.length - 1] == '\r' && line.length <= MAX_LINE_BYTES) {
+                byte[] trimmed = new byte[line.length - 1];
+                System.arraycopy(line, 0, trimmed, 0, trimmed.length);
+                return trimmed;
+            }
+            return line;
+        }
+
+        private boolean isBlank() {
+            return blank;
+        }
+    }
+}
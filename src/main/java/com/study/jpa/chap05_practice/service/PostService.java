@@ -1,35 +1,93 @@
 package com.study.jpa.chap05_practice.service;
 
+import com.study.jpa.chap05_practice.cache.PostCountCache;
+import com.study.jpa.chap05_practice.cache.PostDetailCache;
+import com.study.jpa.chap05_practice.cache.TagIdCache;
 import com.study.jpa.chap05_practice.dto.*;
 import com.study.jpa.chap05_practice.entity.HashTag;
 import com.study.jpa.chap05_practice.entity.Post;
+import com.study.jpa.chap05_practice.entity.Tag;
+import com.study.jpa.chap05_practice.event.PostChangedEvent;
+import com.study.jpa.chap05_practice.index.TagPostIndex;
 import com.study.jpa.chap05_practice.repository.HashTagRepository;
+import com.study.jpa.chap05_practice.repository.PostBulkRepository;
 import com.study.jpa.chap05_practice.repository.PostRepository;
+import com.study.jpa.chap05_practice.search.PostSearchIndex;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@Timed(value = "post.service", histogram = true) // 메서드별 실행 시간 (MetricsConfig)
 @Transactional // JPA 레파지토리는 트랜잭션 단위로 동작하기 때문에 반드시 작성 해 줘야 한다@
 // JPA는 INSERT, UPDATE, DELETE시에 트랜잭션을 기준으로 동작하는 경우가 많음.
 // 기능을 보장받기 위해서는 웬만하면 트랜잭션 기능을 함께 사용해야 합니다.
 // 나중에 MVC구조를 잘 구조화 하면 Service에 아노테이션을 첨부하면 된다.
 public class PostService {
 
+    // 대량 삭제 시 한 번의 DELETE ... IN 에 담을 최대 글번호 수
+    private static final int DELETE_CHUNK_SIZE = 1000;
+    // 작성일 범위를 생략했을 때 사용할 값 (MySQL DATETIME 범위)
+    private static final LocalDateTime MIN_DATE = LocalDateTime.of(1000, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final PostRepository postRepository;
     private final HashTagRepository hashTagRepository;
+    private final PostBulkRepository postBulkRepository;
+    private final PostCountCache postCountCache;
+    private final PostDetailCache postDetailCache;
+    private final TagIdCache tagIdCache;
+    private final TagPostIndex tagPostIndex;
+    private final PostSearchIndex postSearchIndex;
+
+    // 게시물 변경 이벤트 발행 -> 캐시 등은 커밋 이후에 이벤트를 받아서 갱신
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional(readOnly = true)
     public PostListResponseDTO getPosts(PageDTO pageDTO) {
+        return getPosts(pageDTO, PageStrategy.PAGE);
+    }
+
+    // 읽기 전용 트랜잭션 -> 하이버네이트가 flush, 변경 감지를 하지 않는다.
+    @Transactional(readOnly = true)
+    public PostListResponseDTO getPosts(PageDTO pageDTO, PageStrategy strategy) {
+        PostListRowsDTO rows = getPostRows(pageDTO, strategy);
+
+        // 게시물 정보를 DTO의 형태에 맞게 변환 (해시태그는 getPostRows에서 이미 조회)
+        List<PostDetailResponseDTO> detailList = toDetailList(rows.getPosts(), rows.getTags());
+
+        // DB에서 조회한 정보(게시글 리스트)를 JSON 형태에 맞는 DTO로 변환 -> PostListResponseDTO
+        return PostListResponseDTO.builder()
+                .count(detailList.size()) // 총 게시물 수가 아니라 조회된 게시물의 개수를 전달
+                .pageInfo(rows.getPageInfo())
+                .posts(detailList)
+                .versionInfo(rows.getVersionInfo())
+                .build();
+
+    }
+
+    // 게시물 목록을 조회만 하고 DTO로 변환하지 않는다. (목록 API는 PostListJsonConverter가 이 결과로 JSON을 바로 쓴다)
+    // 쿼리는 getPosts와 같다. -> 목록 1번 + COUNT(PAGE 방식만) + 해시태그 IN 1번
+    @Transactional(readOnly = true)
+    public PostListRowsDTO getPostRows(PageDTO pageDTO, PageStrategy strategy) {
         // DB에서 게시물 목록 가져오는 메서드
 
         // findAll에게 Pageable 타입을 주기 위해서 객체 선언 + 값 주입
@@ -39,34 +97,265 @@ public class PostService {
                 pageDTO.getSize(),
                 Sort.by("createDate").descending() // 작성 일자를 기준으로 역 정렬
         );
+        int previewLength = getPreviewLength(pageDTO);
+
+        // 게시물 정보와 페이지 정보 꺼내기 (COUNT 쿼리는 PAGE 방식에서만 실행된다)
+        List<PostSummaryDTO> postList;
+        PageResponseDTO pageInfo;
+        switch (strategy) {
+            case SLICE: {
+                Slice<PostSummaryDTO> posts = postRepository.findSummarySlice(previewLength, pageable);
+                postList = posts.getContent();
+                pageInfo = new PageResponseDTO(posts);
+                break;
+            }
+            case CACHED_COUNT: {
+                Slice<PostSummaryDTO> posts = postRepository.findSummarySlice(previewLength, pageable);
+                postList = posts.getContent();
+                pageInfo = new PageResponseDTO(pageable, postCountCache.get());
+                break;
+            }
+            default: {
+                Page<PostSummaryDTO> posts = postRepository.findSummaries(previewLength, pageable);
+                postList = posts.getContent();
+                pageInfo = new PageResponseDTO(posts); // 페이지 정보가 담긴 객체를 DTO에게 전달해서 그쪽에서 처리하게 함.
+            }
+        }
 
-        Page<Post> posts = postRepository.findAll(pageable);
+        // 해시태그는 페이지 크기와 상관없이 쿼리 1번
+        List<PostTagDTO> tags = findTags(postList);
 
-        // 게시물 정보만 꺼내기
-        List<Post> postList = posts.getContent();
+        VersionInfoDTO versionInfo = listVersion(pageDTO, strategy, pageInfo, postList.stream()
+                .map(post -> new PostVersionDTO(post.getId(), null, post.getUpdateDate()))
+                .collect(Collectors.toList()));
 
-        // 게시물 정보를 DTO의 형태에 맞게 변환(stream을 이용하여 객체마다 일괄 처리)
-        List<PostDetailResponseDTO> detailList
-                = postList
-                .stream()
-                .map(PostDetailResponseDTO::new)// 전달받은 값(post)을 그대로 dto의 생성자의 매개 값으로 보냈다.
-                .collect(Collectors.toList());
+        return new PostListRowsDTO(pageInfo, postList, tags, versionInfo);
+    }
+
+    // 게시물 목록의 ETag, Last-Modified만 조회 (조건부 GET) - getPosts와 같은 페이지를 글번호, 수정시간만 읽어서 계산
+    // 내용, 해시태그를 읽지 않고 DTO 변환도 하지 않기 때문에 변경이 없으면(304) 훨씬 싸게 끝난다.
+    @Transactional(readOnly = true)
+    public VersionInfoDTO getPostsVersion(PageDTO pageDTO, PageStrategy strategy) {
+        Pageable pageable = PageRequest.of(pageDTO.getPage(), pageDTO.getSize(), Sort.by("createDate").descending());
+
+        List<PostVersionDTO> versions;
+        PageResponseDTO pageInfo;
+        switch (strategy) {
+            case SLICE: {
+                Slice<PostVersionDTO> posts = postRepository.findVersionSlice(pageable);
+                versions = posts.getContent();
+                pageInfo = new PageResponseDTO(posts);
+                break;
+            }
+            case CACHED_COUNT: {
+                Slice<PostVersionDTO> posts = postRepository.findVersionSlice(pageable);
+                versions = posts.getContent();
+                pageInfo = new PageResponseDTO(pageable, postCountCache.get());
+                break;
+            }
+            default: {
+                Page<PostVersionDTO> posts = postRepository.findVersions(pageable);
+                versions = posts.getContent();
+                pageInfo = new PageResponseDTO(posts);
+            }
+        }
+        return listVersion(pageDTO, strategy, pageInfo, versions);
+    }
+
+    // 목록 ETag = 요청 조건 + 페이지 정보 + 게시물마다 (글번호, 수정시간)의 해시 (약한 ETag)
+    // 해시태그는 등록 후 바뀌지 않고, 제목/내용이 바뀌면 수정시간이 바뀌므로 이것만으로 목록 변경을 알 수 있다.
+    private static VersionInfoDTO listVersion(PageDTO pageDTO, PageStrategy strategy,
+                                              PageResponseDTO pageInfo, List<PostVersionDTO> posts) {
+        StringBuilder key = new StringBuilder()
+                .append(pageDTO.getPage()).append('|')
+                .append(pageDTO.getSize()).append('|')
+                .append(getPreviewLength(pageDTO)).append('|')
+                .append(strategy).append('|')
+                .append(pageInfo);
+        LocalDateTime lastModified = null;
+        for (PostVersionDTO post : posts) {
+            key.append('|').append(post.getId()).append(':').append(post.getUpdateDate());
+            if (post.getUpdateDate() != null && (lastModified == null || post.getUpdateDate().isAfter(lastModified))) {
+                lastModified = post.getUpdateDate();
+            }
+        }
+        String hash = DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+        return new VersionInfoDTO("W/\"" + hash + "\"", lastModified);
+    }
+
+    // 커서(키셋) 방식 게시물 목록 조회 - cursor가 비어있으면 첫 페이지
+    @Transactional(readOnly = true)
+    public PostCursorResponseDTO getPostsByCursor(String cursor, PageDTO pageDTO) {
+
+        int size = pageDTO.getSize();
+        // 1개를 더 조회하므로 size + 1이 int 범위를 넘지 않아야 한다. (컨트롤러에서 400으로 응답)
+        if (size < 1 || size == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("size는 1 이상의 값으로 보내주세요: " + size);
+        }
+        int previewLength = getPreviewLength(pageDTO);
+
+        // 다음 페이지 존재 여부를 COUNT 없이 알기 위해 1개를 더 조회한다.
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<PostSummaryDTO> postList;
+        if (cursor == null || cursor.isBlank()) {
+            postList = postRepository.findFirstCursorPage(previewLength, limit);
+        } else {
+            PostCursor after = PostCursor.decode(cursor);
+            postList = postRepository.findCursorPageAfter(after.getCreateDate(), after.getId(), previewLength, limit);
+        }
+
+        boolean hasNext = postList.size() > size;
+        if (hasNext) {
+            postList = postList.subList(0, size);
+        }
+
+        List<PostDetailResponseDTO> detailList = toDetailList(postList);
+
+        return PostCursorResponseDTO.builder()
+                .count(detailList.size())
+                .nextCursor(hasNext ? PostCursor.of(postList.get(postList.size() - 1)).encode() : null)
+                .posts(detailList)
+                .build();
+    }
+
+    // 해시태그로 게시물 목록 조회 - 조건 계산은 메모리의 해시태그 색인에서, DB는 한 페이지 분량의 글번호로만 조회
+    @Transactional(readOnly = true)
+    public PostListResponseDTO getPostsByTags(List<String> tagNames, TagMatchMode mode, PageDTO pageDTO) {
+        if (!tagPostIndex.isReady()) {
+            throw new IllegalStateException("해시태그 색인을 만드는 중입니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        Pageable pageable = PageRequest.of(pageDTO.getPage(), pageDTO.getSize());
+
+        TagPostIndex.Result found = tagPostIndex.find(
+                normalizeTags(tagNames), mode, pageable.getOffset(), pageable.getPageSize());
+        List<Long> postIds = found.getPostIds();
+
+        // 색인에서 꺼낸 순서(최신순) 그대로 조회
+        List<PostSummaryDTO> postList = findSummariesInOrder(postIds, pageDTO);
+
+        List<PostDetailResponseDTO> detailList = toDetailList(postList);
 
-        // DB에서 조회한 정보(게시글 리스트)를 JSON 형태에 맞는 DTO로 변환 -> PostListResponseDTO
         return PostListResponseDTO.builder()
-                .count(detailList.size()) // 총 게시물 수가 아니라 조회된 게시물의 개수를 전달
-                .pageInfo(new PageResponseDTO(posts)) // 페이지 정보가 담긴 객체를 DTO에게 전달해서 그쪽에서 처리하게 함.
+                .count(detailList.size())
+                .pageInfo(new PageResponseDTO(pageable, found.getTotal())) // 전체 개수는 색인에서 바로 나온다. (COUNT X)
                 .posts(detailList)
                 .build();
+    }
+
+    // 제목 + 내용 검색 - 검색/정렬은 메모리의 검색 색인에서, DB는 한 페이지 분량의 글번호로만 조회 (LIKE '%x%' 전체 스캔 X)
+    @Transactional(readOnly = true)
+    public PostListResponseDTO search(String query, PageDTO pageDTO) {
+        if (!postSearchIndex.isReady()) {
+            throw new IllegalStateException("검색 색인을 만드는 중입니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        Pageable pageable = PageRequest.of(pageDTO.getPage(), pageDTO.getSize());
+
+        PostSearchIndex.Result found = postSearchIndex.search(query, pageable.getOffset(), pageable.getPageSize());
+        List<PostDetailResponseDTO> detailList = toDetailList(findSummariesInOrder(found.getPostIds(), pageDTO));
+
+        return PostListResponseDTO.builder()
+                .count(detailList.size())
+                .pageInfo(new PageResponseDTO(pageable, found.getTotal()))
+                .posts(detailList)
+                .build();
+    }
+
+    // 글번호 목록으로 조회 (IN 쿼리 1번) - IN 쿼리 결과는 순서가 보장되지 않으니 전달받은 글번호 순서로 다시 정렬
+    private List<PostSummaryDTO> findSummariesInOrder(List<Long> postIds, PageDTO pageDTO) {
+        if (postIds.isEmpty()) return new ArrayList<>();
+
+        Map<Long, PostSummaryDTO> postMap = postRepository.findSummariesByIds(getPreviewLength(pageDTO), postIds)
+                .stream()
+                .collect(Collectors.toMap(PostSummaryDTO::getId, post -> post));
+        return postIds.stream()
+                .map(postMap::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // 목록 프로젝션 + 해시태그(IN 쿼리 1번)를 합쳐서 응답 DTO로 변환
+    private List<PostDetailResponseDTO> toDetailList(List<PostSummaryDTO> postList) {
+        if (postList.isEmpty()) return new ArrayList<>();
+        return toDetailList(postList, findTags(postList));
+    }
+
+    // 목록에 있는 게시물들의 해시태그를 IN 쿼리 한 번으로 조회 (글번호 순)
+    private List<PostTagDTO> findTags(List<PostSummaryDTO> postList) {
+        if (postList.isEmpty()) return new ArrayList<>();
+
+        List<Long> postIds = postList.stream()
+                .map(PostSummaryDTO::getId)
+                .collect(Collectors.toList());
+
+        return hashTagRepository.findTagsByPostIds(postIds);
+    }
+
+    private static List<PostDetailResponseDTO> toDetailList(List<PostSummaryDTO> postList, List<PostTagDTO> tags) {
+        Map<Long, List<String>> tagMap = tags
+                .stream()
+                .collect(Collectors.groupingBy(
+                        PostTagDTO::getPostId,
+                        Collectors.mapping(PostTagDTO::getTagName, Collectors.toList())
+                ));
+
+        return postList.stream()
+                .map(post -> new PostDetailResponseDTO(post, tagMap.getOrDefault(post.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+
+    // 해시태그 이름 정리 (앞뒤 공백 제거, 빈 값/중복 제외)
+    private static List<String> normalizeTags(List<String> hashTags) {
+        if (hashTags == null) return new ArrayList<>();
+        return hashTags.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(tag -> !tag.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
 
+    // 미리보기 길이를 지정하지 않았으면(0 이하) 내용 전체
+    private static int getPreviewLength(PageDTO pageDTO) {
+        return pageDTO.getPreviewLength() > 0 ? pageDTO.getPreviewLength() : PostRepository.FULL_CONTENT;
     }
 
+    // 상세 조회는 캐시를 먼저 확인하고, 없을 때만 DB에서 조회 (수정/삭제 시 PostDetailCache가 알아서 비운다)
+    // SUPPORTS -> 캐시에 있으면 트랜잭션(커넥션)을 아예 잡지 않는다.
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public PostDetailResponseDTO getDetail(Long id) throws Exception {
 
+        return postDetailCache.get(id, this::loadDetail);
+    }
+
+    // 게시물 하나의 ETag(버전), Last-Modified만 조회 (조건부 GET)
+    @Transactional(readOnly = true)
+    public VersionInfoDTO getDetailVersion(Long id) {
+        PostVersionDTO version = postRepository.findVersionById(id)
+                .orElseThrow(() -> new RuntimeException(id + "번 게시물이 존재하지 않습니다!"));
+        return VersionInfoDTO.ofVersion(version.getVersion(), version.getUpdateDate());
+    }
+
+    // 트랜잭션 밖에서도 동작하도록 지연 로딩 대신 해시태그를 프로젝션으로 따로 조회
+    private PostDetailResponseDTO loadDetail(Long id) {
         Post postEntity = getPost(id);
 
+        List<String> hashTags = hashTagRepository.findTagsByPostIds(List.of(id))
+                .stream()
+                .map(PostTagDTO::getTagName)
+                .collect(Collectors.toList());
 
-        return new PostDetailResponseDTO(postEntity);
+        return PostDetailResponseDTO.builder()
+                .writer(postEntity.getWriter())
+                .title(postEntity.getTitle())
+                .content(postEntity.getContent())
+                .hashTags(hashTags)
+                .regDate(postEntity.getCreateDate())
+                .version(postEntity.getVersion())
+                .updateDate(postEntity.getUpdateDate())
+                .build();
     }
 
 
@@ -80,12 +369,20 @@ public class PostService {
 
         // 해시태그 저장
         // 1. 해시태그 값 뽑기(DTO에서)
-        List<String> hashTags = dto.getHashTags();
-        if(hashTags != null && !hashTags.isEmpty()){
+        List<String> hashTags = normalizeTags(dto.getHashTags());
+        if(!hashTags.isEmpty()){
+            // 2. 태그 이름 -> 태그 사전의 tag_id (캐시에 있는 태그는 SELECT 없이 바로 찾는다)
+            Map<String, Long> tagIds = tagIdCache.resolve(hashTags);
+            Set<Long> linked = new HashSet<>(); // DB가 같은 태그로 보는 이름(대소문자 차이 등)은 한 번만 연결
+
             hashTags.forEach(ht -> { // 이러면 list의 개수만큼 돌려지면서 정보가 저장된다.
+                Long tagId = tagIds.get(ht);
+                if (!linked.add(tagId)) return;
+
                 HashTag savedTag = hashTagRepository.save(
                         HashTag.builder()
-                        .tagName(ht) // 문자열 tagName을 받는 필드명
+                        // 사전에 이미 등록된 태그이므로 id로 참조만 한다. (태그를 다시 SELECT 하지 않음)
+                        .tag(Tag.builder().id(tagId).tagName(ht).build())
                         // 그리고 이 해시태그가 달릴 게시글의 정보도 달라는 post라는 필드명도 있음
                         // 근데 마침 위에 save로 선언해 준 게시글의 정보를 담은 객체가 있음
                         .post(saved)
@@ -110,22 +407,82 @@ public class PostService {
             });
         }
 
+        eventPublisher.publishEvent(new PostChangedEvent(
+                PostChangedEvent.Type.CREATED, saved.getId(), hashTags, saved.getTitle(), saved.getContent()));
+
         return new PostDetailResponseDTO(saved);
     }
 
+    // 게시물 대량 등록 - 게시물, 해시태그를 각각 JDBC batch로 저장 (행마다 왕복하지 않는다)
+    public PostBulkResponseDTO insertAll(PostBulkCreateDTO dto) {
+
+        List<PostCreateDTO> posts = dto.getPosts();
+
+        // 요청 전체의 태그를 한 번에 tag_id로 변환
+        List<List<String>> postTags = posts.stream()
+                .map(post -> normalizeTags(post.getHashTags()))
+                .collect(Collectors.toList());
+        Map<String, Long> tagIds = tagIdCache.resolve(
+                postTags.stream().flatMap(List::stream).collect(Collectors.toCollection(LinkedHashSet::new))
+        );
+
+        List<Long> postNos = postBulkRepository.insertPosts(posts, LocalDateTime.now());
+        int hashTagCount = postBulkRepository.insertHashTags(
+                postNos,
+                postTags.stream()
+                        .map(tags -> tags.stream().map(tagIds::get).collect(Collectors.toCollection(LinkedHashSet::new)))
+                        .collect(Collectors.toList())
+        );
+
+        for (int i = 0; i < postNos.size(); i++) {
+            PostCreateDTO post = posts.get(i);
+            eventPublisher.publishEvent(new PostChangedEvent(
+                    PostChangedEvent.Type.CREATED, postNos.get(i), postTags.get(i), post.getTitle(), post.getContent()));
+        }
+
+        return PostBulkResponseDTO.builder()
+                .postCount(postNos.size())
+                .hashTagCount(hashTagCount)
+                .postNos(postNos)
+                .build();
+    }
+
     public PostDetailResponseDTO modify(PostModifyDTO dto) {
+        return modify(dto, (Collection<Long>) null);
+    }
+
+    // expectedVersion: 화면단이 보고 있던 버전 (If-Match), null이면 버전 확인 없이 수정
+    public PostDetailResponseDTO modify(PostModifyDTO dto, Long expectedVersion) {
+        return modify(dto, expectedVersion == null ? null : List.of(expectedVersion));
+    }
 
-        // 수정 전 데이터 조회
-        Post postEntity = getPost(dto.getPostNo()); // 메서드를 따로 뺀 getPost덕분에 1줄 댐
+    // 게시물 수정 - 조회(SELECT) 없이 UPDATE 한 번으로 수정
+    // expectedVersions: 현재 버전이 이 중 하나일 때만 수정 (If-Match), null이면 버전 확인 없이 수정
+    public PostDetailResponseDTO modify(PostModifyDTO dto, Collection<Long> expectedVersions) {
 
-        // 수정 시작 (title, content 내용 바꿔주기)
-        postEntity.setTitle(dto.getTitle());
-        postEntity.setContent(dto.getContent());
+        // 맞을 수 있는 버전이 하나도 없으면 UPDATE 없이 바로 실패
+        if (expectedVersions != null && expectedVersions.isEmpty()) {
+            throw new OptimisticLockingFailureException(dto.getPostNo() + "번 게시물의 버전과 일치하는 ETag가 없습니다.");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = expectedVersions == null
+                ? postRepository.updateContent(dto.getPostNo(), dto.getTitle(), dto.getContent(), now)
+                : postRepository.updateContentIfVersion(dto.getPostNo(), expectedVersions, dto.getTitle(), dto.getContent(), now);
+
+        if (updated == 0) {
+            // 버전을 보냈다면 게시물이 없거나 그 사이에 누가 먼저 수정한 것 -> 어느 쪽인지 다시 조회하지 않는다.
+            if (expectedVersions != null) {
+                throw new OptimisticLockingFailureException(
+                        dto.getPostNo() + "번 게시물이 이미 수정되었거나 존재하지 않습니다. (version: " + expectedVersions + ")");
+            }
+            throw new RuntimeException(dto.getPostNo() + "번 게시물이 존재하지 않습니다!");
+        }
 
-        // 수정 완료 처리
-        Post modifiedPost = postRepository.save(postEntity);
+        eventPublisher.publishEvent(new PostChangedEvent(
+                PostChangedEvent.Type.MODIFIED, dto.getPostNo(), null, dto.getTitle(), dto.getContent()));
 
-        return new PostDetailResponseDTO(modifiedPost);
+        return loadDetail(dto.getPostNo());
     }
 
 
@@ -137,6 +494,66 @@ public class PostService {
     }
 
     public void delete(Long id) throws Exception {
-        postRepository.deleteById(id);
+        if (deletePosts(List.of(id)).getPostCount() == 0) {
+            throw new RuntimeException(id + "번 게시물이 존재하지 않습니다!");
+        }
+    }
+
+    // 게시물 대량 삭제 - 글번호 목록 또는 작성자 + 작성일 범위
+    public PostBulkDeleteResponseDTO deleteAll(PostBulkDeleteDTO dto) {
+
+        List<Long> postIds;
+        if (dto.isByIds()) {
+            postIds = dto.getPostNos().stream().distinct().collect(Collectors.toList());
+        } else {
+            postIds = postRepository.findIdsByWriterAndCreateDate(
+                    dto.getWriter(),
+                    dto.getFrom() != null ? dto.getFrom() : MIN_DATE,
+                    dto.getTo() != null ? dto.getTo() : MAX_DATE
+            );
+        }
+
+        int postCount = 0;
+        int hashTagCount = 0;
+        for (int from = 0; from < postIds.size(); from += DELETE_CHUNK_SIZE) {
+            List<Long> chunk = postIds.subList(from, Math.min(from + DELETE_CHUNK_SIZE, postIds.size()));
+            if (dto.isByIds()) {
+                chunk = postRepository.findExistingIds(chunk); // 없는 글번호는 삭제 이벤트를 보내지 않도록 제외
+                if (chunk.isEmpty()) continue;
+            }
+            PostBulkDeleteResponseDTO deleted = deletePosts(chunk);
+            postCount += deleted.getPostCount();
+            hashTagCount += deleted.getHashTagCount();
+        }
+
+        return PostBulkDeleteResponseDTO.builder()
+                .postCount(postCount)
+                .hashTagCount(hashTagCount)
+                .build();
+    }
+
+    // 게시물 + 해시태그 삭제 (DELETE ... WHERE IN 2번) 후 삭제된 게시물, 해시태그 수 리턴
+    /*
+        deleteById는 orphanRemoval 때문에 게시물 조회 -> 해시태그 목록 조회 -> 해시태그마다 DELETE -> 게시물 DELETE 순서로
+        한 줄씩 지운다. 여기서는 해시태그, 게시물을 각각 한 번에 지우고 영속성 컨텍스트는 비운다.
+        (색인, 캐시는 삭제 이벤트를 받아서 커밋 이후에 정리)
+    */
+    private PostBulkDeleteResponseDTO deletePosts(List<Long> postIds) {
+        // 해시태그 색인에서 지울 수 있도록 삭제 전에 태그 이름을 조회
+        Map<Long, List<String>> tagMap = hashTagRepository.findTagsByPostIds(postIds)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        PostTagDTO::getPostId,
+                        Collectors.mapping(PostTagDTO::getTagName, Collectors.toList())
+                ));
+
+        int hashTagCount = hashTagRepository.deleteByPostIds(postIds);
+        int postCount = postRepository.deleteByIds(postIds);
+
+        if (postCount > 0) {
+            postIds.forEach(id -> eventPublisher.publishEvent(new PostChangedEvent(
+                    PostChangedEvent.Type.DELETED, id, tagMap.getOrDefault(id, new ArrayList<>()))));
+        }
+        return new PostBulkDeleteResponseDTO(postCount, hashTagCount);
     }
 }
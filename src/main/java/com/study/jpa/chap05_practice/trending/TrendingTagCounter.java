@@ -0,0 +1,223 @@
+package com.study.jpa.chap05_practice.trending;
+
+import com.study.jpa.chap05_practice.dto.TrendingTagDTO;
+import com.study.jpa.chap05_practice.event.PostChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+@Component
+public class TrendingTagCounter {
+    // 최근 구간(window)의 인기 해시태그 집계
+    /*
+        - 시간을 일정 간격(bucket, 기본 1분)으로 나누고 최근 N개 구간만 원형 배열(ring)에 들고 있는다.
+        - 구간마다 Count-Min Sketch(고정 크기 AtomicLongArray)에 태그 등장 횟수를 더한다.
+          -> 락 없이 CAS로 증가, 태그 종류가 아무리 많아도 메모리 크기는 고정 (근사값, 실제보다 크게 나올 수는 있음)
+        - 구간마다 "후보 태그"도 최대 개수까지만 기억해 두고, 조회할 때 후보들의 횟수만 더해서 상위 K개를 뽑는다.
+          후보가 다 찼을 때는 Space-Saving처럼 추정치가 가장 작은 후보를 밀어내고 더 자주 나온 태그를 넣는다.
+          -> 구간 후반에 갑자기 많이 쓰인 태그도 후보가 된다.
+        - 같은 구간 길이의 상위 목록은 짧게 캐싱해서 대부분의 조회는 계산 없이 바로 응답한다.
+    */
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final int width;
+    private final int depth;
+    private final int candidateCapacity;
+    private final long resultCacheMillis;
+
+    private final AtomicReferenceArray<Bucket> ring;
+    private final Map<Long, Snapshot> resultCache = new ConcurrentHashMap<>();
+
+    public TrendingTagCounter(
+            @Value("${post.trending.bucket-seconds:60}") int bucketSeconds,
+            @Value("${post.trending.buckets:60}") int bucketCount,
+            @Value("${post.trending.sketch-width:2048}") int width,
+            @Value("${post.trending.sketch-depth:4}") int depth,
+            @Value("${post.trending.candidates-per-bucket:1000}") int candidateCapacity,
+            @Value("${post.trending.result-cache-millis:1000}") long resultCacheMillis
+    ) {
+        this.bucketMillis = bucketSeconds * 1000L;
+        this.bucketCount = bucketCount;
+        this.width = width;
+        this.depth = depth;
+        this.candidateCapacity = candidateCapacity;
+        this.resultCacheMillis = resultCacheMillis;
+        this.ring = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    // 등록된 게시물의 해시태그 집계 (커밋된 게시물만)
+    @TransactionalEventListener
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getType() != PostChangedEvent.Type.CREATED || event.getHashTags() == null) return;
+        event.getHashTags().forEach(tagName -> increment(tagName, System.currentTimeMillis()));
+    }
+
+    public void increment(String tagName, long now) {
+        bucketOf(now / bucketMillis).add(key(tagName));
+    }
+
+    // 조회할 수 있는 가장 긴 구간 (보관하는 구간 전체)
+    public Duration maxWindow() {
+        return Duration.ofMillis(bucketMillis * bucketCount);
+    }
+
+    // 최근 window 동안 가장 많이 쓰인 태그 limit개
+    public List<TrendingTagDTO> top(Duration window, int limit, long now) {
+        // 너무 큰 window는 toMillis()에서 ArithmeticException이 나므로 먼저 비교
+        if (window.compareTo(maxWindow()) > 0) {
+            throw new IllegalArgumentException("조회할 수 있는 최대 구간은 " + maxWindow() + " 입니다.");
+        }
+        long buckets = Math.max(1, (window.toMillis() + bucketMillis - 1) / bucketMillis);
+
+        Snapshot cached = resultCache.get(buckets);
+        if (cached != null && cached.createdAt + resultCacheMillis > now && cached.tags.size() >= limit) {
+            return cached.tags.subList(0, limit);
+        }
+
+        List<TrendingTagDTO> tags = compute(now / bucketMillis, buckets, Math.max(limit, 100));
+        resultCache.put(buckets, new Snapshot(now, tags));
+        return tags.size() > limit ? tags.subList(0, limit) : tags;
+    }
+
+    private List<TrendingTagDTO> compute(long currentEpoch, long buckets, int limit) {
+        List<Bucket> inWindow = new ArrayList<>();
+        for (long epoch = currentEpoch - buckets + 1; epoch <= currentEpoch; epoch++) {
+            Bucket bucket = ring.get(slot(epoch));
+            if (bucket != null && bucket.epoch == epoch) inWindow.add(bucket);
+        }
+
+        Set<String> candidates = new HashSet<>();
+        inWindow.forEach(bucket -> candidates.addAll(bucket.candidates.keySet()));
+
+        // 상위 limit개만 남기는 최소 힙
+        PriorityQueue<TrendingTagDTO> heap = new PriorityQueue<>(Comparator.comparingLong(TrendingTagDTO::getCount));
+        for (String tagName : candidates) {
+            long count = 0;
+            for (Bucket bucket : inWindow) {
+                count += bucket.estimate(tagName);
+            }
+            if (heap.size() < limit) {
+                heap.add(new TrendingTagDTO(tagName, count));
+            } else if (heap.peek().getCount() < count) {
+                heap.poll();
+                heap.add(new TrendingTagDTO(tagName, count));
+            }
+        }
+
+        List<TrendingTagDTO> result = new ArrayList<>(heap);
+        result.sort(Comparator.comparingLong(TrendingTagDTO::getCount).reversed()
+                .thenComparing(TrendingTagDTO::getTagName));
+        return result;
+    }
+
+    // 현재 구간의 버킷 (구간이 바뀌었으면 새 버킷으로 교체 -> 예전 구간은 자연스럽게 버려진다)
+    private Bucket bucketOf(long epoch) {
+        int slot = slot(epoch);
+        while (true) {
+            Bucket bucket = ring.get(slot);
+            if (bucket != null && bucket.epoch == epoch) return bucket;
+            if (bucket != null && bucket.epoch > epoch) return bucket; // 늦게 도착한 이전 구간 집계는 현재 버킷에 합친다.
+
+            Bucket fresh = new Bucket(epoch);
+            if (ring.compareAndSet(slot, bucket, fresh)) return fresh;
+        }
+    }
+
+    private int slot(long epoch) {
+        return (int) Math.floorMod(epoch, (long) bucketCount);
+    }
+
+    private static String key(String tagName) {
+        return tagName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private class Bucket {
+        private final long epoch;
+        private final AtomicLongArray sketch = new AtomicLongArray(width * depth);
+        private final Map<String, Boolean> candidates = new ConcurrentHashMap<>();
+        // 모든 후보의 추정치가 이 값 이상 (추정치는 줄지 않으므로) -> 이하인 태그는 락 없이 바로 거절
+        private volatile long admissionFloor;
+
+        private Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+
+        private void add(String tagName) {
+            long estimate = Long.MAX_VALUE;
+            int hash = tagName.hashCode();
+            for (int row = 0; row < depth; row++) {
+                long value = sketch.incrementAndGet(row * width + index(hash, row));
+                estimate = Math.min(estimate, value);
+            }
+
+            if (candidates.containsKey(tagName) || estimate <= admissionFloor) return;
+            admit(tagName, estimate);
+        }
+
+        // 후보가 다 찼다면 추정치가 가장 작은 후보보다 클 때만 그 후보를 밀어내고 넣는다. (Space-Saving)
+        private synchronized void admit(String tagName, long estimate) {
+            if (candidates.containsKey(tagName)) return;
+            if (candidates.size() < candidateCapacity) {
+                candidates.put(tagName, Boolean.TRUE);
+                return;
+            }
+
+            String minTag = null;
+            long min = Long.MAX_VALUE;
+            long secondMin = Long.MAX_VALUE;
+            for (String candidate : candidates.keySet()) {
+                long value = estimate(candidate);
+                if (value < min) {
+                    secondMin = min;
+                    min = value;
+                    minTag = candidate;
+                } else if (value < secondMin) {
+                    secondMin = value;
+                }
+            }
+
+            if (estimate > min) {
+                candidates.remove(minTag);
+                candidates.put(tagName, Boolean.TRUE);
+                admissionFloor = Math.min(secondMin, estimate);
+            } else {
+                admissionFloor = min;
+            }
+        }
+
+        private long estimate(String tagName) {
+            long estimate = Long.MAX_VALUE;
+            int hash = tagName.hashCode();
+            for (int row = 0; row < depth; row++) {
+                estimate = Math.min(estimate, sketch.get(row * width + index(hash, row)));
+            }
+            return estimate;
+        }
+
+        // 행마다 다른 해시 값을 만들어서 칸 번호로 사용
+        private int index(int hash, int row) {
+            int h = hash * 0x9E3779B1 + row * 0x85EBCA77;
+            h ^= h >>> 15;
+            h *= 0x2C1B3C6D;
+            h ^= h >>> 13;
+            return Math.floorMod(h, width);
+        }
+    }
+
+    private static class Snapshot {
+        private final long createdAt;
+        private final List<TrendingTagDTO> tags;
+
+        private Snapshot(long createdAt, List<TrendingTagDTO> tags) {
+            this.createdAt = createdAt;
+            this.tags = tags;
+        }
+    }
+}
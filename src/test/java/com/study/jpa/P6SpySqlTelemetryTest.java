@@ -0,0 +1,81 @@
+package com.study.jpa;
+
+import com.p6spy.engine.common.StatementInformation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class P6SpySqlTelemetryTest {
+
+    @Test
+    @DisplayName("값, 주석, 공백, 대소문자, IN 목록 길이가 달라도 같은 fingerprint가 나와야 한다.")
+    void testFingerprint() {
+        String a = P6SpySqlTelemetry.fingerprint(
+                "SELECT post0_.post_no, post0_.title FROM tbl_post post0_\n  WHERE post0_.writer = 'kim''s' AND post0_.post_no IN (1, 2, 3) -- 주석");
+        String b = P6SpySqlTelemetry.fingerprint(
+                "select post0_.post_no, post0_.title from tbl_post post0_ where post0_.writer = ? /* hint */ and post0_.post_no in ( ?,? )");
+
+        assertEquals("select post0_.post_no, post0_.title from tbl_post post0_ where post0_.writer = ? and post0_.post_no in (?+)", a);
+        assertEquals(a, b);
+
+        // 이름 안의 숫자, 함수 인자는 그대로
+        assertEquals("select substring(p1.content, ?, ?) from t2 p1 limit ?",
+                P6SpySqlTelemetry.fingerprint("select substring(p1.content, 1, 100) from t2 p1 limit 10"));
+    }
+
+    @Test
+    @DisplayName("히스토그램 구간은 값을 포함하고 오차가 12.5% 이내여야 한다.")
+    void testBuckets() {
+        for (long micros : new long[]{0, 1, 7, 8, 15, 16, 100, 1234, 99_999, 5_000_000}) {
+            int bucket = P6SpySqlTelemetry.SqlStats.bucketOf(micros);
+            long upper = P6SpySqlTelemetry.SqlStats.upperBoundOf(bucket);
+            assertTrue(upper >= micros, micros + " -> " + upper);
+            assertTrue(upper <= micros * 1.125 + 1, micros + " -> " + upper);
+        }
+    }
+
+    @Test
+    @DisplayName("fingerprint별로 횟수, 총 시간, p50, p99를 모아야 한다.")
+    void testRecord() {
+        //given
+        P6SpySqlTelemetry telemetry = new P6SpySqlTelemetry(1000, 10);
+
+        //when - 1ms x 98번, 100ms x 2번
+        for (int i = 0; i < 100; i++) {
+            long elapsed = i < 98 ? TimeUnit.MILLISECONDS.toNanos(1) : TimeUnit.MILLISECONDS.toNanos(100);
+            telemetry.onAfterAnyExecute(statement("select * from tbl_post where post_no = " + i), elapsed, null);
+        }
+        telemetry.onAfterAnyExecute(statement("delete from tbl_post where post_no = 1"),
+                TimeUnit.MILLISECONDS.toNanos(1), new SQLException("fail"));
+
+        //then
+        List<P6SpySqlTelemetry.Snapshot> snapshots = telemetry.snapshot();
+        assertEquals(2, snapshots.size());
+
+        P6SpySqlTelemetry.Snapshot select = snapshots.get(0); // 총 시간 순
+        assertEquals("select * from tbl_post where post_no = ?", select.getFingerprint());
+        assertEquals(100, select.getCount());
+        assertEquals(298.0, select.getTotalMillis(), 0.001);
+        assertEquals(1.0, select.getP50Millis(), 0.125);
+        assertEquals(100.0, select.getP99Millis(), 12.5);
+        assertEquals(100.0, select.getMaxMillis(), 0.001);
+
+        assertEquals(1, snapshots.get(1).getErrors());
+
+        // 보고 후에는 새 구간
+        telemetry.report();
+        assertTrue(telemetry.snapshot().isEmpty());
+        telemetry.destroy();
+    }
+
+    private static StatementInformation statement(String sql) {
+        StatementInformation information = new StatementInformation(null);
+        information.setStatementQuery(sql);
+        return information;
+    }
+}
@@ -0,0 +1,45 @@
+package com.study.jpa;
+
+import org.junit.jupiter.api.function.Executable;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 테스트용: 작업 하나에서 실행된 SQL 수와 같은 SQL 반복 횟수가 예산 안인지 확인 (N+1이 다시 생기면 테스트 실패)
+// SqlStatementListener(p6spy)가 기록하므로 @SpringBootTest 안에서 사용한다.
+// 지연된 flush는 작업 밖에서 실행되므로, 확인할 작업 전에 flush / clear를 해 두는 게 좋다.
+public final class StatementBudget {
+
+    private StatementBudget() {
+    }
+
+    // 작업을 실행하고 그동안 실행된 SQL 통계를 리턴
+    public static SqlStatementStats measure(Executable work) {
+        SqlStatementStats previous = SqlStatementStats.current();
+        SqlStatementStats stats = new SqlStatementStats();
+        SqlStatementStats.bind(stats);
+        try {
+            work.execute();
+        } catch (Throwable t) {
+            fail("측정 중인 작업이 실패했습니다.", t);
+        } finally {
+            if (previous != null) SqlStatementStats.bind(previous);
+            else SqlStatementStats.unbind();
+        }
+        return stats;
+    }
+
+    // SQL 수는 maxStatements개 이하, 같은 SQL은 maxRepeat번 이하로 실행되어야 한다.
+    public static SqlStatementStats assertBudget(int maxStatements, int maxRepeat, Executable work) {
+        SqlStatementStats stats = measure(work);
+        assertTrue(stats.getCount() <= maxStatements,
+                () -> "SQL 예산 초과 (최대 " + maxStatements + "개) - " + stats);
+        assertTrue(stats.getMaxRepeat() <= maxRepeat,
+                () -> "N+1 의심 (같은 SQL 최대 " + maxRepeat + "회) - " + stats);
+        return stats;
+    }
+
+    // 같은 SQL이 두 번 이상 실행되지 않아야 한다.
+    public static SqlStatementStats assertBudget(int maxStatements, Executable work) {
+        return assertBudget(maxStatements, 1, work);
+    }
+}
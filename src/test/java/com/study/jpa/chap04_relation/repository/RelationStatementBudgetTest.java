@@ -0,0 +1,68 @@
+package com.study.jpa.chap04_relation.repository;
+
+import com.study.jpa.SqlStatementStats;
+import com.study.jpa.chap04_relation.entity.Department;
+import com.study.jpa.chap04_relation.entity.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static com.study.jpa.StatementBudget.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// 부서 - 사원 연관관계 조회의 SQL 예산 (N+1이 생기면 실패)
+@SpringBootTest
+@Transactional // 더미 데이터는 테스트가 끝나면 롤백
+class RelationStatementBudgetTest {
+
+    @Autowired
+    DepartmentRepository departmentRepository;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @BeforeEach
+    void insertDummyData() {
+        for (int d = 1; d <= 5; d++) {
+            Department department = departmentRepository.save(Department.builder().name("예산부서" + d).build());
+            for (int e = 1; e <= 3; e++) {
+                employeeRepository.save(Employee.builder().name("사원" + d + "-" + e).department(department).build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("페치 조인으로 부서와 사원을 조회하면 SQL 1개로 끝나야 한다.")
+    void testFetchJoinBudget() {
+        assertBudget(1, () -> {
+            List<Department> departments = departmentRepository.findAllIncludesEmployees();
+            departments.forEach(d -> d.getEmployees().forEach(Employee::getName));
+        });
+    }
+
+    @Test
+    @DisplayName("사원마다 부서를 지연 로딩하면 N+1로 감지되어야 한다.")
+    void testLazyLoadingIsDetected() {
+        SqlStatementStats stats = measure(() -> {
+            List<Employee> employees = employeeRepository.findAll();
+            employees.forEach(e -> e.getDepartment().getName());
+        });
+
+        assertTrue(stats.getMaxRepeat() >= 5); // 부서 조회가 부서 수만큼 반복
+        assertThrows(AssertionError.class, () -> assertBudget(2, () -> {
+            entityManager.clear();
+            employeeRepository.findAll().forEach(e -> e.getDepartment().getName());
+        }));
+    }
+}
@@ -0,0 +1,117 @@
+package com.study.jpa.chap04_relation.service;
+
+import com.study.jpa.SqlStatementStats;
+import com.study.jpa.chap04_relation.dto.DepartmentListResponseDTO;
+import com.study.jpa.chap04_relation.dto.DepartmentResponseDTO;
+import com.study.jpa.chap04_relation.dto.EmployeeResponseDTO;
+import com.study.jpa.chap04_relation.dto.EmployeeView;
+import com.study.jpa.chap04_relation.entity.Department;
+import com.study.jpa.chap04_relation.entity.Employee;
+import com.study.jpa.chap04_relation.repository.DepartmentRepository;
+import com.study.jpa.chap04_relation.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.study.jpa.StatementBudget.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional // 더미 데이터는 테스트가 끝나면 롤백
+class DepartmentServiceTest {
+
+    @Autowired
+    DepartmentService departmentService;
+
+    @Autowired
+    DepartmentRepository departmentRepository;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @BeforeEach
+    void insertDummyData() {
+        // 다른 테스트가 남긴 부서가 섞이지 않도록 비우고 시작 (롤백됨)
+        employeeRepository.deleteAllInBatch();
+        departmentRepository.deleteAllInBatch();
+
+        // 부서 12개, 부서마다 사원 0 ~ 3명
+        for (int d = 1; d <= 12; d++) {
+            Department department = departmentRepository.save(Department.builder().name("부서" + d).build());
+            for (int e = 1; e <= d % 4; e++) {
+                employeeRepository.save(Employee.builder().name("사원" + d + "-" + e).department(department).build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("부서는 DB에서 페이징하고 각 부서의 사원이 빠짐없이 함께 조회되어야 한다.")
+    void testGetDepartments() {
+        //when
+        DepartmentListResponseDTO dto = departmentService.getDepartments(2, 5, EmployeeView.FULL);
+
+        //then
+        assertEquals(5, dto.getCount());
+        assertEquals(2, dto.getCurrentPage());
+        assertEquals(3, dto.getTotalPages());
+        assertEquals(12, dto.getTotalCount());
+
+        List<String> names = dto.getDepartments().stream().map(DepartmentResponseDTO::getName).collect(Collectors.toList());
+        assertEquals(List.of("부서6", "부서7", "부서8", "부서9", "부서10"), names);
+
+        DepartmentResponseDTO dept7 = dto.getDepartments().get(1);
+        assertEquals(List.of("사원7-1", "사원7-2", "사원7-3"),
+                dept7.getEmployees().stream().map(EmployeeResponseDTO::getName).collect(Collectors.toList()));
+        dept7.getEmployees().forEach(e -> assertNotNull(e.getId()));
+        assertTrue(dto.getDepartments().get(2).getEmployees().isEmpty()); // 부서8: 8 % 4 = 0명
+    }
+
+    @Test
+    @DisplayName("ID, NAME 조회는 사원 번호 또는 이름만 담아야 한다.")
+    void testProjection() {
+        //when
+        DepartmentResponseDTO byId = departmentService.getDepartments(1, 5, EmployeeView.ID).getDepartments().get(2);
+        DepartmentResponseDTO byName = departmentService.getDepartments(1, 5, EmployeeView.NAME).getDepartments().get(2);
+
+        //then
+        assertEquals(3, byId.getEmployees().size());
+        byId.getEmployees().forEach(e -> {
+            assertNotNull(e.getId());
+            assertNull(e.getName());
+        });
+        assertEquals(List.of("사원3-1", "사원3-2", "사원3-3"),
+                byName.getEmployees().stream().map(EmployeeResponseDTO::getName).collect(Collectors.toList()));
+        byName.getEmployees().forEach(e -> assertNull(e.getId()));
+    }
+
+    @Test
+    @DisplayName("SQL 수는 한 페이지의 부서 수와 상관없이 같아야 한다. (부서 페이지 + COUNT + 사원 IN 1번)")
+    void testStatementCount() {
+        for (EmployeeView view : EmployeeView.values()) {
+            //when
+            List<Long> counts = new ArrayList<>();
+            for (int size : new int[]{2, 5, 12}) {
+                entityManager.clear();
+                SqlStatementStats stats = assertBudget(3, () -> departmentService.getDepartments(1, size, view)
+                        .getDepartments().forEach(d -> d.getEmployees().forEach(EmployeeResponseDTO::getName)));
+                counts.add(stats.getCount());
+            }
+
+            //then
+            assertEquals(List.of(3L, 3L, 3L), counts, view.name());
+        }
+    }
+}
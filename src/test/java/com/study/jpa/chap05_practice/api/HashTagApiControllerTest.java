@@ -0,0 +1,31 @@
+package com.study.jpa.chap05_practice.api;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashTagApiControllerTest {
+
+    static final Duration MAX_WINDOW = Duration.ofHours(1);
+
+    @Test
+    @DisplayName("숫자 + 단위로 보낸 구간을 Duration으로 바꿔야 한다.")
+    void testParseWindow() {
+        assertEquals(Duration.ofSeconds(90), HashTagApiController.parseWindow("90s", MAX_WINDOW));
+        assertEquals(Duration.ofMinutes(30), HashTagApiController.parseWindow(" 30M ", MAX_WINDOW));
+        assertEquals(Duration.ofHours(1), HashTagApiController.parseWindow("1h", MAX_WINDOW));
+    }
+
+    @Test
+    @DisplayName("형식이 틀리거나, 0이거나, 최대 구간보다 긴 구간은 (아주 큰 숫자도) 400이 되도록 IllegalArgumentException이어야 한다.")
+    void testInvalidWindow() {
+        for (String window : new String[]{"1d", "h", "0m", "000s", "61m", "2h",
+                "9999999999999999h", "9999999999999999999m", "99999999999999999999999999s"}) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> HashTagApiController.parseWindow(window, MAX_WINDOW), window);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.study.jpa.chap05_practice.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// DB 작업 스레드를 모두 막아 두고 요청을 보낸다. (대기열은 1칸)
+@SpringBootTest(properties = "post.async.queue-capacity=1")
+@AutoConfigureMockMvc
+class PostExecutorRejectionApiTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ThreadPoolTaskExecutor postDbExecutor;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void releaseThreads() throws Exception {
+        release.countDown();
+        awaitIdle();
+    }
+
+    @Test
+    @DisplayName("DB 작업 스레드와 대기열이 모두 차 있으면 기다리지 않고 바로 503과 Retry-After로 응답해야 한다.")
+    void testRejected() throws Exception {
+        //given - 모든 스레드가 작업 중이고 대기열도 찼다.
+        blockAllThreads();
+        MvcResult queued = mockMvc.perform(get("/api/v1/posts/1")).andReturn();
+
+        //when
+        MockHttpServletResponse response = perform("/api/v1/posts/1");
+
+        //then
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    @DisplayName("대기열에서 기다리다 요청 시간이 지나면 503으로 끝나고, 그 작업은 DB 작업 없이 취소되어야 한다.")
+    void testTimeoutCancelsQueuedTask() throws Exception {
+        //given
+        blockAllThreads();
+        MvcResult queued = mockMvc.perform(get("/api/v1/posts/1")).andReturn();
+        double missesBefore = detailCacheMisses();
+
+        //when - 요청 시간 초과 후 스레드가 비어도
+        timeout(queued);
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(queued)).andReturn().getResponse();
+        queued.getRequest().getAsyncContext().complete(); // 503 응답이 끝났다고 컨테이너가 알림
+        release.countDown();
+        awaitIdle(); // 대기열에 있던 작업이 처리될 때까지
+
+        //then
+        assertEquals(503, response.getStatus());
+        assertEquals(missesBefore, detailCacheMisses()); // 상세 조회(캐시 확인 + DB 조회)를 하지 않았다.
+    }
+
+    // 대기열이 1칸이라 한꺼번에 넣으면 거절될 수 있으므로 하나씩 시작된 것을 확인하며 넣는다.
+    private void blockAllThreads() throws InterruptedException {
+        for (int i = 0; i < postDbExecutor.getMaxPoolSize(); i++) {
+            CountDownLatch started = new CountDownLatch(1);
+            postDbExecutor.execute(() -> {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    // 막아 둔 작업과 대기열이 모두 끝날 때까지
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while ((postDbExecutor.getActiveCount() > 0 || !postDbExecutor.getThreadPoolExecutor().getQueue().isEmpty())
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    // spring.mvc.async.request-timeout이 지난 것처럼 Servlet 컨테이너의 시간 초과 알림을 보낸다.
+    private static void timeout(MvcResult result) throws Exception {
+        MockAsyncContext context = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : context.getListeners()) {
+            listener.onTimeout(new AsyncEvent(context));
+        }
+    }
+
+    private double detailCacheMisses() {
+        return meterRegistry.get("cache.gets").tags("cache", "postDetail", "result", "miss").functionCounter().count();
+    }
+
+    // 비동기(CompletableFuture) 응답까지 기다린다.
+    private MockHttpServletResponse perform(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url)).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        return result.getResponse();
+    }
+}
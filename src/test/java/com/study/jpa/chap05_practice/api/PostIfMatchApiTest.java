@@ -0,0 +1,122 @@
+package com.study.jpa.chap05_practice.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.jpa.chap05_practice.dto.*;
+import com.study.jpa.chap05_practice.service.PostService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+// 수정 요청은 DB 작업 스레드에서 실행되므로 @Transactional 없이 실행하고, 등록한 게시물은 직접 지운다.
+@SpringBootTest
+@AutoConfigureMockMvc
+class PostIfMatchApiTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    Long postNo;
+
+    @BeforeEach
+    void insertDummyData() throws Exception {
+        PostBulkResponseDTO saved = postService.insertAll(new PostBulkCreateDTO(List.of(
+                PostCreateDTO.builder()
+                        .writer("작성자")
+                        .title("제목")
+                        .content("내용")
+                        .hashTags(List.of("태그"))
+                        .build()
+        )));
+        postNo = saved.getPostNos().get(0);
+    }
+
+    @AfterEach
+    void deleteDummyData() {
+        postService.deleteAll(PostBulkDeleteDTO.builder().postNos(List.of(postNo)).build());
+    }
+
+    @Test
+    @DisplayName("If-Match에 보낸 ETag 목록 중 현재 버전이 있으면 수정해야 한다.")
+    void testIfMatchList() throws Exception {
+        //given
+        Long version = postService.getDetail(postNo).getVersion();
+
+        //when
+        MockHttpServletResponse response = modify("\"" + (version + 5) + "\", \"" + version + "\"");
+
+        //then
+        assertEquals(200, response.getStatus());
+        assertEquals("\"" + (version + 1) + "\"", response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("If-Match가 * 이면 버전 확인 없이 수정해야 한다.")
+    void testIfMatchAny() throws Exception {
+        //when
+        MockHttpServletResponse response = modify("*");
+
+        //then
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    @DisplayName("약한 ETag는 현재 버전과 같아도 강한 비교에서 일치하지 않으므로 412로 거절해야 한다.")
+    void testIfMatchWeak() throws Exception {
+        //given
+        Long version = postService.getDetail(postNo).getVersion();
+
+        //when
+        MockHttpServletResponse response = modify("W/\"" + version + "\"");
+
+        //then
+        assertEquals(412, response.getStatus());
+        assertEquals(version, postService.getDetail(postNo).getVersion());
+    }
+
+    @Test
+    @DisplayName("게시물 버전이 될 수 없는 ETag만 보내면 400이 아니라 412로 거절해야 한다.")
+    void testIfMatchUnknown() throws Exception {
+        //when
+        MockHttpServletResponse quoted = modify("\"abc\", W/\"1\"");
+        MockHttpServletResponse unquoted = modify("1");
+
+        //then
+        assertEquals(412, quoted.getStatus());
+        assertEquals(412, unquoted.getStatus());
+    }
+
+    // 비동기(CompletableFuture) 응답까지 기다린다.
+    private MockHttpServletResponse modify(String ifMatch) throws Exception {
+        PostModifyDTO dto = PostModifyDTO.builder().postNo(postNo).title("수정된 제목").content("수정된 내용").build();
+        MvcResult result = mockMvc.perform(put("/api/v1/posts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, ifMatch)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        return result.getResponse();
+    }
+}
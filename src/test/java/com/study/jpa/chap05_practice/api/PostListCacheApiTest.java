@@ -0,0 +1,127 @@
+package com.study.jpa.chap05_practice.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.jpa.SqlStatementStats;
+import com.study.jpa.StatementBudget;
+import com.study.jpa.chap05_practice.cache.PostListCache;
+import com.study.jpa.chap05_practice.dto.*;
+import com.study.jpa.chap05_practice.service.PostService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// 목록 응답 캐시는 커밋된 데이터와 DB 작업 스레드를 거치므로 @Transactional 없이 실행하고, 등록한 게시물은 직접 지운다.
+@SpringBootTest
+@AutoConfigureMockMvc
+class PostListCacheApiTest {
+
+    static final String URL = "/api/v1/posts?page=0&size=10";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    PostListCache postListCache;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    List<Long> postNos = new ArrayList<>();
+
+    @BeforeEach
+    void insertDummyData() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            PostBulkResponseDTO saved = postService.insertAll(new PostBulkCreateDTO(List.of(
+                    PostCreateDTO.builder()
+                            .writer("작성자")
+                            .title("캐시" + i)
+                            .content("내용" + i)
+                            .hashTags(List.of("태그" + i))
+                            .build()
+            )));
+            postNos.addAll(saved.getPostNos());
+        }
+        postListCache.clear();
+    }
+
+    @AfterEach
+    void deleteDummyData() {
+        postService.deleteAll(PostBulkDeleteDTO.builder().postNos(postNos).build());
+    }
+
+    @Test
+    @DisplayName("캐시된 목록 페이지는 SQL 없이 같은 본문으로 응답하고, gzip을 받을 수 있으면 압축된 본문을 보내야 한다.")
+    void testCachedPage() throws Exception {
+        //given
+        String expected = objectMapper.writeValueAsString(postService.getPosts(PageDTO.builder().page(0).size(10).build()));
+        MockHttpServletResponse first = perform(get(URL));
+
+        //when
+        MockHttpServletResponse[] cached = new MockHttpServletResponse[2];
+        SqlStatementStats stats = StatementBudget.measure(() -> {
+            cached[0] = perform(get(URL));
+            cached[1] = perform(get(URL).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"));
+        });
+
+        //then
+        assertEquals(0, stats.getCount());
+        assertEquals(expected, first.getContentAsString(StandardCharsets.UTF_8));
+        assertEquals(expected, cached[0].getContentAsString(StandardCharsets.UTF_8));
+        assertEquals(first.getHeader(HttpHeaders.ETAG), cached[0].getHeader(HttpHeaders.ETAG));
+        assertNull(cached[0].getHeader(HttpHeaders.CONTENT_ENCODING));
+
+        assertEquals("gzip", cached[1].getHeader(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(cached[1].getContentAsByteArray()))) {
+            assertEquals(expected, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("캐시된 페이지의 게시물을 수정하면 다음 요청은 수정된 내용으로 응답해야 한다.")
+    void testModified() throws Exception {
+        //given
+        perform(get(URL));
+        String eTag = perform(get(URL)).getHeader(HttpHeaders.ETAG);
+        assertEquals(304, perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, eTag)).getStatus());
+
+        //when
+        postService.modify(PostModifyDTO.builder().postNo(postNos.get(0)).title("수정됨").content("수정된 내용").build());
+
+        //then
+        MockHttpServletResponse response = perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, eTag));
+        assertEquals(200, response.getStatus());
+        assertTrue(response.getContentAsString(StandardCharsets.UTF_8).contains("수정된 내용"));
+        assertNotEquals(eTag, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    // 비동기(CompletableFuture) 응답까지 기다린다.
+    private MockHttpServletResponse perform(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        return result.getResponse();
+    }
+}
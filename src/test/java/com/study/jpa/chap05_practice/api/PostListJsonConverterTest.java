@@ -0,0 +1,105 @@
+package com.study.jpa.chap05_practice.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.jpa.chap05_practice.dto.PageDTO;
+import com.study.jpa.chap05_practice.dto.PageStrategy;
+import com.study.jpa.chap05_practice.dto.PostCreateDTO;
+import com.study.jpa.chap05_practice.service.PostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional // 더미 데이터는 테스트가 끝나면 롤백
+class PostListJsonConverterTest {
+
+    @Autowired
+    PostListJsonConverter converter;
+
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    HttpMessageConverters httpMessageConverters;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @BeforeEach
+    void insertDummyData() throws Exception {
+        for (int i = 1; i <= 12; i++) {
+            postService.insert(
+                    PostCreateDTO.builder()
+                            .writer("작성자" + i)
+                            .title("제목 \"" + i + "\"\t<b>")
+                            .content(i % 4 == 0 ? null : "내용\n" + i + " \\ 😀 \u0001")
+                            // 해시태그가 없는 게시물도 섞는다.
+                            .hashTags(i % 3 == 0 ? List.of() : List.of("태그" + i, "공통", "태그\"" + i))
+                            .build()
+            );
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("스트리밍으로 쓴 목록 JSON은 PostListResponseDTO를 Jackson으로 쓴 결과와 바이트 단위로 같아야 한다.")
+    void testSameBytes() throws Exception {
+        for (PageStrategy strategy : PageStrategy.values()) {
+            for (PageDTO pageDTO : List.of(
+                    PageDTO.builder().page(1).size(5).build(),
+                    PageDTO.builder().page(2).size(10).previewLength(3).build(),
+                    PageDTO.builder().page(100).size(10).build() // 빈 페이지
+            )) {
+                //given
+                byte[] expected = objectMapper.writeValueAsBytes(postService.getPosts(pageDTO, strategy));
+
+                //when
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                converter.write(postService.getPostRows(pageDTO, strategy), out);
+
+                //then
+                assertEquals(new String(expected, StandardCharsets.UTF_8), out.toString(StandardCharsets.UTF_8),
+                        strategy + " " + pageDTO);
+                assertArrayEquals(expected, out.toByteArray());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("목록 컨버터는 기본 Jackson 컨버터보다 먼저 등록되어야 한다.")
+    void testRegisteredBeforeJackson() {
+        //given
+        List<HttpMessageConverter<?>> converters = httpMessageConverters.getConverters();
+
+        //when
+        int streaming = converters.indexOf(converter);
+        int jackson = -1;
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                jackson = i;
+                break;
+            }
+        }
+
+        //then
+        assertTrue(streaming >= 0);
+        assertTrue(streaming < jackson);
+    }
+}
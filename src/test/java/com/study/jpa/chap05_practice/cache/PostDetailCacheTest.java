@@ -0,0 +1,150 @@
+package com.study.jpa.chap05_practice.cache;
+
+import com.study.jpa.chap05_practice.config.ReadYourWrites;
+import com.study.jpa.chap05_practice.dto.PostDetailResponseDTO;
+import com.study.jpa.chap05_practice.event.PostChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostDetailCacheTest {
+
+    // DB 대신 조회한 게시물 번호를 기록하는 loader
+    List<Long> loaded = new ArrayList<>();
+    Function<Long, PostDetailResponseDTO> loader = id -> {
+        loaded.add(id);
+        return PostDetailResponseDTO.builder().title("제목" + id).build();
+    };
+
+    @AfterEach
+    void clearPin() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    @DisplayName("최대 개수를 넘으면 가장 오래 조회하지 않은 게시물부터 제거해야 한다.")
+    void testLruEviction() {
+        //given - 최대 2개
+        PostDetailCache cache = new PostDetailCache(2, 60_000, "", 0, new SimpleMeterRegistry());
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+        cache.get(1L, loader); // 1번을 최근에 사용
+
+        //when
+        cache.get(3L, loader); // 2번이 제거되어야 한다.
+        loaded.clear();
+        cache.get(1L, loader);
+        cache.get(3L, loader);
+        cache.get(2L, loader);
+
+        //then
+        assertEquals(List.of(2L), loaded);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("만료 시간이 지난 게시물은 캐시에서 주지 않고 다시 조회해야 한다.")
+    void testTtlExpiry() throws Exception {
+        //given
+        PostDetailCache cache = new PostDetailCache(10, 500, "", 0, new SimpleMeterRegistry());
+        cache.get(1L, loader);
+        cache.get(1L, loader);
+        assertEquals(List.of(1L), loaded); // 만료 전에는 캐시에서
+
+        //when
+        Thread.sleep(600);
+        cache.get(1L, loader);
+
+        //then
+        assertEquals(List.of(1L, 1L), loaded);
+    }
+
+    @Test
+    @DisplayName("수정 트랜잭션이 끝나기 전에는 캐시를 쓰지도 넣지도 않고, 끝난 뒤에는 다시 캐시해야 한다.")
+    void testWhileWriting() {
+        //given
+        PostDetailCache cache = new PostDetailCache(10, 60_000, "", 0, new SimpleMeterRegistry());
+        PostChangedEvent event = new PostChangedEvent(PostChangedEvent.Type.MODIFIED, 1L);
+        cache.get(1L, loader);
+
+        //when - 트랜잭션 안에서 이벤트 발행
+        cache.onPostChanging(event);
+        cache.get(1L, loader);
+        cache.get(1L, loader);
+
+        //then
+        assertEquals(List.of(1L, 1L, 1L), loaded);
+        assertEquals(0, cache.size());
+
+        //when - 커밋
+        cache.onPostChanged(event);
+        cache.get(1L, loader);
+        cache.get(1L, loader);
+
+        //then
+        assertEquals(List.of(1L, 1L, 1L, 1L), loaded);
+    }
+
+    @Test
+    @DisplayName("DB에서 읽는 도중에 무효화가 있었다면 읽어온 게시물은 캐시에 넣지 않아야 한다.")
+    void testStaleLoad() {
+        //given
+        PostDetailCache cache = new PostDetailCache(10, 60_000, "", 0, new SimpleMeterRegistry());
+
+        //when - 읽는 도중에 다른 트랜잭션이 수정하고 커밋
+        cache.get(1L, id -> {
+            cache.invalidate(id);
+            return loader.apply(id);
+        });
+
+        //then
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("primary로 고정된 요청은 캐시에 있어도 DB에서 읽고, 읽어온 값으로 캐시를 채워야 한다.")
+    void testPinned() {
+        //given
+        PostDetailCache cache = new PostDetailCache(10, 60_000, "jdbc:replica", 1_000, new SimpleMeterRegistry());
+        cache.get(1L, loader);
+
+        //when
+        ReadYourWrites.pinPrimaryUntil(System.currentTimeMillis() + 60_000);
+        cache.get(1L, loader);
+        ReadYourWrites.clear();
+        cache.get(1L, loader);
+
+        //then
+        assertEquals(List.of(1L, 1L), loaded);
+    }
+
+    @Test
+    @DisplayName("replica를 쓰면 게시물이 바뀐 뒤 고정 시간 동안은 replica에서 읽은 값을 캐시에 넣지 않아야 한다.")
+    void testReplicaLag() throws Exception {
+        //given - 고정 시간 500ms
+        PostDetailCache cache = new PostDetailCache(10, 60_000, "jdbc:replica", 500, new SimpleMeterRegistry());
+        PostChangedEvent event = new PostChangedEvent(PostChangedEvent.Type.MODIFIED, 1L);
+        cache.onPostChanging(event);
+        cache.onPostChanged(event);
+
+        //when - 다른 클라이언트가 복제가 늦은 replica에서 읽음
+        cache.get(1L, loader);
+
+        //then
+        assertEquals(0, cache.size());
+
+        //when - 고정 시간이 지난 뒤
+        Thread.sleep(600);
+        cache.get(1L, loader);
+
+        //then
+        assertEquals(1, cache.size());
+    }
+}
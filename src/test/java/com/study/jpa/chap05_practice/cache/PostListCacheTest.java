@@ -0,0 +1,242 @@
+package com.study.jpa.chap05_practice.cache;
+
+import com.study.jpa.chap05_practice.config.ReadYourWrites;
+import com.study.jpa.chap05_practice.dto.PageDTO;
+import com.study.jpa.chap05_practice.dto.PageStrategy;
+import com.study.jpa.chap05_practice.dto.PostListRowsDTO;
+import com.study.jpa.chap05_practice.dto.PostSummaryDTO;
+import com.study.jpa.chap05_practice.dto.VersionInfoDTO;
+import com.study.jpa.chap05_practice.event.PostChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostListCacheTest {
+
+    PostListCache cache;
+
+    @BeforeEach
+    void setUp() {
+        // page 0 ~ 3, 크기 10만 캐시, 만료 1분
+        cache = new PostListCache(3, Set.of(10), 60_000, "", 0, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void clearPin() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    @DisplayName("앞쪽 페이지, 기본 크기, 미리보기 없는 목록만 캐시 대상이어야 한다.")
+    void testKeyOf() {
+        assertNotNull(cache.keyOf(page(3, 10), PageStrategy.PAGE));
+        assertNull(cache.keyOf(page(4, 10), PageStrategy.PAGE));
+        assertNull(cache.keyOf(page(0, 20), PageStrategy.PAGE));
+        assertNull(cache.keyOf(PageDTO.builder().page(0).size(10).previewLength(5).build(), PageStrategy.PAGE));
+        assertNotEquals(cache.keyOf(page(0, 10), PageStrategy.PAGE), cache.keyOf(page(0, 10), PageStrategy.SLICE));
+    }
+
+    @Test
+    @DisplayName("캐시된 페이지는 JSON 바이트와 gzip으로 압축한 같은 내용을 함께 가지고 있어야 한다.")
+    void testBodies() throws Exception {
+        //given
+        PostListCache.Key key = cache.keyOf(page(0, 10), PageStrategy.PAGE);
+
+        //when
+        cache.put(key, cache.generation(), rows(10, 1), rows -> "{\"게시물\":10}".getBytes(StandardCharsets.UTF_8));
+        PostListCache.Page page = cache.get(key);
+
+        //then
+        assertNotNull(page);
+        assertEquals("{\"게시물\":10}", new String(page.getBody(), StandardCharsets.UTF_8));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(page.getGzipBody()))) {
+            assertArrayEquals(page.getBody(), in.readAllBytes());
+        }
+        assertEquals("W/\"10\"", page.getVersionInfo().getETag());
+    }
+
+    @Test
+    @DisplayName("게시물을 수정하면 그 게시물이 들어 있는 페이지만 비워야 한다.")
+    void testModified() {
+        //given - 30 ~ 21, 20 ~ 11, 10 ~ 1
+        fill(PageStrategy.PAGE);
+
+        //when
+        commit(new PostChangedEvent(PostChangedEvent.Type.MODIFIED, 15L));
+
+        //then
+        assertCached(PageStrategy.PAGE, true, false, true);
+    }
+
+    @Test
+    @DisplayName("게시물을 등록하면 모든 페이지를 비워야 한다.")
+    void testCreated() {
+        //given
+        fill(PageStrategy.PAGE);
+        fill(PageStrategy.SLICE);
+
+        //when
+        commit(new PostChangedEvent(PostChangedEvent.Type.CREATED, 31L));
+
+        //then
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("게시물을 삭제하면 총 게시물 수가 들어 있는 PAGE 방식은 전부, SLICE 방식은 그 게시물이 있는 페이지부터 비워야 한다.")
+    void testDeleted() {
+        //given
+        fill(PageStrategy.PAGE);
+        fill(PageStrategy.SLICE);
+
+        //when
+        commit(new PostChangedEvent(PostChangedEvent.Type.DELETED, 15L));
+
+        //then
+        assertCached(PageStrategy.PAGE, false, false, false);
+        assertCached(PageStrategy.SLICE, true, false, false);
+    }
+
+    @Test
+    @DisplayName("캐시된 페이지에 없는 게시물을 삭제하면 SLICE 방식도 그 크기의 페이지를 모두 비워야 한다.")
+    void testDeletedUnknown() {
+        //given
+        fill(PageStrategy.SLICE);
+
+        //when
+        commit(new PostChangedEvent(PostChangedEvent.Type.DELETED, 100L));
+
+        //then
+        assertCached(PageStrategy.SLICE, false, false, false);
+    }
+
+    @Test
+    @DisplayName("수정 트랜잭션이 끝나기 전에는 그 게시물이 있는 페이지를 캐시에서 주거나 새로 넣지 않아야 한다.")
+    void testWhileModifying() {
+        //given
+        fill(PageStrategy.PAGE);
+        PostChangedEvent event = new PostChangedEvent(PostChangedEvent.Type.MODIFIED, 25L);
+        PostListCache.Key first = cache.keyOf(page(0, 10), PageStrategy.PAGE);
+
+        //when - 트랜잭션 안에서 이벤트 발행
+        cache.onPostChanging(event);
+        long generation = cache.generation();
+        cache.put(first, generation, rows(30, 21), PostListCacheTest::serialize); // 커밋 전 내용을 읽어온 요청
+
+        //then
+        assertNull(cache.get(first));
+        assertNotNull(cache.get(cache.keyOf(page(1, 10), PageStrategy.PAGE)));
+
+        //when - 커밋
+        cache.onPostChanged(event);
+
+        //then
+        assertNull(cache.get(first));
+        cache.put(first, cache.generation(), rows(30, 21), PostListCacheTest::serialize);
+        assertNotNull(cache.get(first));
+    }
+
+    @Test
+    @DisplayName("DB에서 읽는 도중에 무효화가 있었다면 읽어온 목록은 캐시에 넣지 않아야 한다.")
+    void testStaleLoad() {
+        //given
+        PostListCache.Key key = cache.keyOf(page(0, 10), PageStrategy.PAGE);
+        long generation = cache.generation();
+
+        //when
+        commit(new PostChangedEvent(PostChangedEvent.Type.CREATED, 31L));
+        PostListCache.Page page = cache.put(key, generation, rows(30, 21), PostListCacheTest::serialize);
+
+        //then
+        assertNotNull(page); // 이번 응답에는 사용
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    @DisplayName("primary로 고정된 요청에는 캐시된 목록을 주지 않아야 한다.")
+    void testPinned() {
+        //given
+        fill(PageStrategy.PAGE);
+
+        //when
+        ReadYourWrites.pinPrimaryUntil(System.currentTimeMillis() + 60_000);
+
+        //then
+        assertCached(PageStrategy.PAGE, false, false, false);
+        ReadYourWrites.clear();
+        assertCached(PageStrategy.PAGE, true, true, true);
+    }
+
+    @Test
+    @DisplayName("replica를 쓰면 게시물이 바뀐 뒤 고정 시간 동안은 primary에서 읽은 목록만 캐시에 넣어야 한다.")
+    void testReplicaLag() {
+        //given
+        cache = new PostListCache(3, Set.of(10), 60_000, "jdbc:replica", 60_000, new SimpleMeterRegistry());
+        PostListCache.Key key = cache.keyOf(page(0, 10), PageStrategy.PAGE);
+        commit(new PostChangedEvent(PostChangedEvent.Type.CREATED, 31L));
+
+        //when - 복제가 늦은 replica에서 읽은 목록
+        cache.put(key, cache.generation(), rows(30, 21), PostListCacheTest::serialize);
+
+        //then
+        assertEquals(0, cache.size());
+
+        //when - primary로 고정된 요청이 읽은 목록
+        ReadYourWrites.pinPrimaryUntil(System.currentTimeMillis() + 60_000);
+        cache.put(key, cache.generation(), rows(31, 22), PostListCacheTest::serialize);
+
+        //then
+        assertEquals(1, cache.size());
+    }
+
+    // 글번호 30 ~ 1 (최신 글이 먼저)을 10개씩 페이지 0, 1, 2에 넣는다.
+    private void fill(PageStrategy strategy) {
+        for (int page = 0; page < 3; page++) {
+            long newest = 30 - page * 10;
+            cache.put(cache.keyOf(page(page, 10), strategy), cache.generation(),
+                    rows(newest, newest - 9), PostListCacheTest::serialize);
+        }
+    }
+
+    private void assertCached(PageStrategy strategy, boolean... cached) {
+        for (int page = 0; page < cached.length; page++) {
+            assertEquals(cached[page], cache.get(cache.keyOf(page(page, 10), strategy)) != null,
+                    strategy + " page " + page);
+        }
+    }
+
+    // 트랜잭션 안에서 발행 -> 커밋
+    private void commit(PostChangedEvent event) {
+        cache.onPostChanging(event);
+        cache.onPostChanged(event);
+    }
+
+    private static PageDTO page(int page, int size) {
+        return PageDTO.builder().page(page).size(size).build();
+    }
+
+    private static PostListRowsDTO rows(long from, long to) {
+        List<PostSummaryDTO> posts = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = from; id >= to; id--) {
+            posts.add(new PostSummaryDTO(id, "작성자", "제목" + id, "내용", now, now));
+        }
+        return new PostListRowsDTO(null, posts, List.of(), new VersionInfoDTO("W/\"" + from + "\"", now));
+    }
+
+    private static byte[] serialize(PostListRowsDTO rows) {
+        return rows.getPosts().toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
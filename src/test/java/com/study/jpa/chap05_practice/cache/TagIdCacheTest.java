@@ -0,0 +1,83 @@
+package com.study.jpa.chap05_practice.cache;
+
+import com.study.jpa.chap05_practice.repository.TagRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 커밋/롤백에 따라 캐시와 태그 사전이 어떻게 되는지 보기 위해 @Transactional 없이 실행하고, 등록한 태그는 직접 지운다.
+@SpringBootTest
+class TagIdCacheTest {
+
+    @Autowired
+    TagIdCache tagIdCache;
+
+    @Autowired
+    TagRepository tagRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void deleteTags() {
+        jdbcTemplate.update("DELETE FROM tbl_tag WHERE tag_name LIKE '캐시태그%'");
+    }
+
+    @Test
+    @DisplayName("새 태그는 호출한 트랜잭션 안에서 등록되고, 커밋된 다음에 캐시에 들어가야 한다.")
+    void testCommit() {
+        //given
+        int before = tagIdCache.size();
+
+        //when
+        Map<String, Long> ids = transactionTemplate.execute(status -> {
+            Map<String, Long> resolved = tagIdCache.resolve(List.of("캐시태그B", "캐시태그A"));
+            assertEquals(before, tagIdCache.size()); // 커밋 전에는 캐시에 넣지 않는다.
+            return resolved;
+        });
+
+        //then
+        assertEquals(before + 2, tagIdCache.size());
+        assertEquals(ids.get("캐시태그A"), tagRepository.findByTagNameIn(List.of("캐시태그A")).get(0).getId());
+        assertEquals(ids, tagIdCache.resolve(List.of("캐시태그A", "캐시태그B")));
+    }
+
+    @Test
+    @DisplayName("호출한 트랜잭션이 롤백되면 새 태그도 남지 않고 캐시에도 들어가지 않아야 한다.")
+    void testRollback() {
+        //given
+        int before = tagIdCache.size();
+
+        //when
+        transactionTemplate.execute(status -> {
+            assertEquals(1, tagIdCache.resolve(List.of("캐시태그C")).size());
+            status.setRollbackOnly();
+            return null;
+        });
+
+        //then
+        assertEquals(before, tagIdCache.size());
+        assertTrue(tagRepository.findByTagNameIn(List.of("캐시태그C")).isEmpty());
+    }
+}
@@ -0,0 +1,42 @@
+package com.study.jpa.chap05_practice.config;
+
+import com.study.jpa.chap05_practice.dto.PageDTO;
+import com.study.jpa.chap05_practice.service.PostService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class MetricsConfigTest {
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Autowired
+    PostService postService;
+
+    @Test
+    @DisplayName("서비스, 레파지토리 메서드 호출 시간과 커넥션 대기 시간이 기록되어야 한다.")
+    void testTimers() {
+        //when
+        postService.getPosts(new PageDTO());
+
+        //then
+        Timer service = registry.find("post.service").tag("method", "getPosts").timer();
+        assertNotNull(service);
+        assertTrue(service.count() >= 1);
+
+        Timer repository = registry.find("spring.data.repository.invocations")
+                .tag("repository", "PostRepository").timer();
+        assertNotNull(repository);
+        assertTrue(repository.count() >= 1);
+
+        assertNotNull(registry.find("hikaricp.connections.acquire").timer());
+        assertNotNull(registry.find("hikaricp.connections.active").gauge());
+    }
+}
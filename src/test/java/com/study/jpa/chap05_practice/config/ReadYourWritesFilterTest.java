@@ -0,0 +1,115 @@
+package com.study.jpa.chap05_practice.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.Cookie;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesFilterTest {
+
+    ReadYourWritesFilter filter = new ReadYourWritesFilter(1_000);
+
+    @Test
+    @DisplayName("쿠키에 먼 미래 시각이 있어도 지금 + 고정 시간까지만 primary로 고정해야 한다.")
+    void testFarFutureCookie() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/posts");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, String.valueOf(Long.MAX_VALUE)));
+        List<Long> pinned = new ArrayList<>();
+
+        //when
+        long before = System.currentTimeMillis();
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> pinned.add(ReadYourWrites.current()));
+        long after = System.currentTimeMillis();
+
+        //then
+        assertEquals(1, pinned.size());
+        assertTrue(pinned.get(0) >= before + 1_000);
+        assertTrue(pinned.get(0) <= after + 1_000);
+        assertNull(ReadYourWrites.current()); // 요청이 끝나면 지운다.
+    }
+
+    @Test
+    @DisplayName("고정 시간 안의 쿠키 값은 그대로 사용해야 한다.")
+    void testCookieInWindow() throws Exception {
+        //given
+        long until = System.currentTimeMillis() + 500;
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/posts");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, String.valueOf(until)));
+        List<Long> pinned = new ArrayList<>();
+
+        //when
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> pinned.add(ReadYourWrites.current()));
+
+        //then
+        assertEquals(List.of(until), pinned);
+    }
+
+    @Test
+    @DisplayName("고정 시간보다 오래 걸린 쓰기는 요청 시작이 아니라 커밋한 시각 기준으로 쿠키를 내려야 한다.")
+    void testSlowWrite() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/posts");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        long[] committedUntil = new long[1];
+
+        //when - 요청 시작 후 3초 뒤에 커밋 (ReplicationRoutingDataSource가 커밋 시각 + 고정 시간으로 다시 고정)
+        long before = System.currentTimeMillis();
+        filter.doFilter(request, response, (req, res) -> {
+            committedUntil[0] = System.currentTimeMillis() + 3_000 + 1_000;
+            ReadYourWrites.pinPrimaryUntil(committedUntil[0]);
+            res.getWriter().write("ok");
+        });
+
+        //then
+        assertTrue(committedUntil[0] >= before + 4_000);
+        assertEquals(String.valueOf(committedUntil[0]), response.getCookie(ReadYourWritesFilter.COOKIE_NAME).getValue());
+        assertTrue(response.getCookie(ReadYourWritesFilter.COOKIE_NAME).getMaxAge() >= 4);
+    }
+
+    @Test
+    @DisplayName("비동기 쓰기는 작업 스레드가 커밋한 시각으로 ASYNC 디스패치에서 쿠키를 한 번만 내려야 한다.")
+    void testAsyncWrite() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/posts");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        long committedUntil = System.currentTimeMillis() + 5_000;
+
+        //when - 요청 스레드는 작업을 넘기고 비동기로 전환
+        filter.doFilter(request, response, (req, res) -> {
+            req.startAsync();
+            Thread worker = new Thread(ReadYourWrites.wrap(() -> ReadYourWrites.pinPrimaryUntil(committedUntil)));
+            worker.start();
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertNull(response.getCookie(ReadYourWritesFilter.COOKIE_NAME)); // 아직 작업이 끝나기 전
+
+        // 작업이 끝나면 ASYNC 디스패치에서 응답 본문을 쓴다.
+        request.setAsyncStarted(false);
+        request.setDispatcherType(DispatcherType.ASYNC);
+        List<Long> pinned = new ArrayList<>();
+        filter.doFilter(request, response, (req, res) -> {
+            pinned.add(ReadYourWrites.current());
+            res.getWriter().write("ok");
+            res.flushBuffer();
+        });
+
+        //then
+        assertEquals(List.of(committedUntil), pinned);
+        assertEquals(1, response.getCookies().length);
+        assertEquals(String.valueOf(committedUntil), response.getCookie(ReadYourWritesFilter.COOKIE_NAME).getValue());
+        assertNull(ReadYourWrites.current());
+    }
+}
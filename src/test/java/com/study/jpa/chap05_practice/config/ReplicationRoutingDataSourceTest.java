@@ -0,0 +1,173 @@
+package com.study.jpa.chap05_practice.config;
+
+import com.study.jpa.chap05_practice.dto.PageDTO;
+import com.study.jpa.chap05_practice.service.PostService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 내장 DB(H2) 하나를 primary, replica 두 개의 커넥션 풀로 연결해서
+// 어느 풀의 커넥션이 사용되었는지로 라우팅을 확인한다.
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicationRoutingDataSourceTest.URL,
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.replica.url=" + ReplicationRoutingDataSourceTest.URL,
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.database=h2",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "post.datasource.sticky-millis=60000"
+})
+class ReplicationRoutingDataSourceTest {
+
+    static final String URL = "jdbc:h2:mem:routing;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    static volatile Runnable onRepositoryCall;
+
+    HikariDataSource primary;
+    HikariDataSource replica;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    PostService postService;
+
+    // 풀은 p6spy로 감싸져 있으므로 꺼내서 사용
+    @Autowired
+    void setPools(@Qualifier("primaryDataSource") DataSource primary,
+                  @Qualifier("replicaDataSource") DataSource replica) throws SQLException {
+        this.primary = primary.unwrap(HikariDataSource.class);
+        this.replica = replica.unwrap(HikariDataSource.class);
+    }
+
+    // 애플리케이션 시작 시의 쓰기(마이그레이션 등)도 같은 스레드에서 실행되므로 테스트마다 고정을 풀어준다.
+    @BeforeEach
+    @AfterEach
+    void clearPin() {
+        ReadYourWrites.clear();
+        onRepositoryCall = null;
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 replica, 쓰기 트랜잭션은 primary 커넥션을 사용해야 한다.")
+    void testRouting() {
+        assertEquals("replica", usedPool(true));
+        ReadYourWrites.clear();
+        assertEquals("primary", usedPool(false));
+    }
+
+    @Test
+    @DisplayName("쓰기 이후 같은 스레드의 읽기는 primary로 고정되어야 한다.")
+    void testReadYourWrites() {
+        //given
+        assertEquals("replica", usedPool(true));
+
+        //when
+        usedPool(false);
+
+        //then
+        assertEquals("primary", usedPool(true));
+        ReadYourWrites.clear();
+        assertEquals("replica", usedPool(true));
+    }
+
+    @Test
+    @DisplayName("쓰기 이후의 고정 시간은 커넥션을 잡은 시각이 아니라 트랜잭션이 끝난 시각부터 재야 한다.")
+    void testPinFromCommit() {
+        //given
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        long[] beforeCommit = new long[1];
+
+        //when - 커넥션을 잡고 나서 시간이 걸리는 쓰기
+        tx.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            beforeCommit[0] = System.currentTimeMillis();
+        });
+
+        //then
+        assertTrue(ReadYourWrites.current() >= beforeCommit[0] + 60_000);
+    }
+
+    @Test
+    @DisplayName("읽기 전용 서비스 메서드는 replica에서 조회되어야 한다.")
+    void testServiceRead() {
+        //given
+        List<String> pools = new ArrayList<>();
+        onRepositoryCall = () -> pools.add(activePool());
+
+        //when
+        assertNotNull(postService.getPosts(new PageDTO()));
+
+        //then - 레파지토리 메서드가 끝난 시점(서비스 트랜잭션이 커넥션을 잡고 있는 동안)의 풀
+        assertFalse(pools.isEmpty());
+        pools.forEach(pool -> assertEquals("replica", pool));
+        assertFalse(ReadYourWrites.isPinned());
+    }
+
+    // 트랜잭션 안에서 SQL을 실행하고, 그 순간 커넥션을 빌려 간 풀의 이름을 리턴
+    private String usedPool(boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            return activePool();
+        });
+    }
+
+    // 지금 커넥션을 빌려 간 풀의 이름
+    private String activePool() {
+        if (primary.getHikariPoolMXBean().getActiveConnections() > 0) return "primary";
+        if (replica.getHikariPoolMXBean().getActiveConnections() > 0) return "replica";
+        return "none";
+    }
+
+    // 레파지토리 메서드가 실행될 때마다 onRepositoryCall을 실행 (서비스 메서드 안에서 어느 풀을 쓰는지 확인용)
+    @TestConfiguration
+    static class RepositoryCallConfig {
+        @Bean
+        static BeanPostProcessor repositoryCallListener() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                    if (bean instanceof RepositoryFactoryBeanSupport) {
+                        ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                                factory.addInvocationListener(invocation -> {
+                                    Runnable listener = onRepositoryCall;
+                                    if (listener != null) listener.run();
+                                }));
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
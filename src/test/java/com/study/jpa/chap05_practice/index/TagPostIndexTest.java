@@ -0,0 +1,116 @@
+package com.study.jpa.chap05_practice.index;
+
+import com.study.jpa.chap05_practice.dto.PostTagDTO;
+import com.study.jpa.chap05_practice.dto.TagMatchMode;
+import com.study.jpa.chap05_practice.event.PostChangedEvent;
+import com.study.jpa.chap05_practice.repository.HashTagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.study.jpa.chap05_practice.event.PostChangedEvent.Type.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TagPostIndexTest {
+
+    TagPostIndex index;
+
+    @BeforeEach
+    void insertDummyData() {
+        // DB 없이 이벤트로만 색인을 채운다.
+        index = new TagPostIndex(null, null);
+        index.onPostChanged(new PostChangedEvent(CREATED, 1L, List.of("자바", "스프링")));
+        index.onPostChanged(new PostChangedEvent(CREATED, 2L, List.of("자바")));
+        index.onPostChanged(new PostChangedEvent(CREATED, 3L, List.of("스프링", "JPA")));
+        index.onPostChanged(new PostChangedEvent(CREATED, 4L, List.of("자바", "스프링", "jpa")));
+    }
+
+    @Test
+    @DisplayName("AND 조건은 모든 태그가 달린 게시물만 최신순으로 찾아야 한다.")
+    void testFindAnd() {
+        TagPostIndex.Result result = index.find(List.of("자바", "스프링"), TagMatchMode.AND, 0, 10);
+
+        assertEquals(2, result.getTotal());
+        assertEquals(List.of(4L, 1L), result.getPostIds());
+    }
+
+    @Test
+    @DisplayName("OR 조건은 태그 중 하나라도 달린 게시물을 찾고, 태그 이름의 대소문자는 구분하지 않는다.")
+    void testFindOr() {
+        TagPostIndex.Result result = index.find(List.of("Jpa", "자바"), TagMatchMode.OR, 0, 10);
+
+        assertEquals(4, result.getTotal());
+        assertEquals(List.of(4L, 3L, 2L, 1L), result.getPostIds());
+    }
+
+    @Test
+    @DisplayName("페이지 크기와 시작 위치만큼만 글번호를 꺼내야 한다.")
+    void testFindPage() {
+        TagPostIndex.Result result = index.find(List.of("스프링"), TagMatchMode.AND, 1, 1);
+
+        assertEquals(3, result.getTotal());
+        assertEquals(List.of(3L), result.getPostIds());
+    }
+
+    @Test
+    @DisplayName("삭제된 게시물은 색인에서 빠져야 한다.")
+    void testRemove() {
+        index.onPostChanged(new PostChangedEvent(DELETED, 4L, List.of("자바", "스프링", "jpa")));
+
+        assertEquals(List.of(2L, 1L), index.find(List.of("자바"), TagMatchMode.AND, 0, 10).getPostIds());
+        assertTrue(index.find(List.of("없는태그", "자바"), TagMatchMode.AND, 0, 10).getPostIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("색인을 만드는 도중에 삭제된 게시물은 예전 스냅샷에서 읽혀도 색인에 남지 않아야 한다.")
+    void testDeletedDuringBuild() {
+        //given - 1번 게시물을 읽기 시작한 뒤에 삭제가 커밋된다.
+        HashTagRepository repository = mock(HashTagRepository.class);
+        TagPostIndex building = new TagPostIndex(repository, mock(PlatformTransactionManager.class));
+        when(repository.streamAllTags()).thenAnswer(invocation -> {
+            building.onPostChanged(new PostChangedEvent(DELETED, 1L, List.of("자바")));
+            building.onPostChanged(new PostChangedEvent(CREATED, 3L, List.of("자바")));
+            return Stream.of(new PostTagDTO(1L, "자바"), new PostTagDTO(2L, "자바"));
+        });
+
+        //when
+        building.build();
+
+        //then
+        assertTrue(building.isReady());
+        TagPostIndex.Result result = building.find(List.of("자바"), TagMatchMode.AND, 0, 10);
+        assertEquals(2, result.getTotal());
+        assertEquals(List.of(3L, 2L), result.getPostIds());
+    }
+
+    @Test
+    @DisplayName("색인 생성이 실패하면 준비되지 않은 상태로 남고, 다시 시도해서 성공하면 준비되어야 한다.")
+    void testBuildFailure() {
+        //given
+        HashTagRepository repository = mock(HashTagRepository.class);
+        TagPostIndex failing = new TagPostIndex(repository, mock(PlatformTransactionManager.class));
+        when(repository.streamAllTags())
+                .thenThrow(new IllegalStateException("DB 연결 실패"))
+                .thenAnswer(invocation -> Stream.of(new PostTagDTO(1L, "자바")));
+
+        //when
+        failing.build();
+
+        //then
+        assertFalse(failing.isReady());
+        assertEquals(0, failing.tagCount());
+
+        //when
+        failing.retryBuild();
+
+        //then
+        assertTrue(failing.isReady());
+        assertEquals(List.of(1L), failing.find(List.of("자바"), TagMatchMode.AND, 0, 10).getPostIds());
+    }
+}
@@ -0,0 +1,109 @@
+package com.study.jpa.chap05_practice.migration;
+
+import com.study.jpa.chap05_practice.dto.PostBulkCreateDTO;
+import com.study.jpa.chap05_practice.dto.PostCreateDTO;
+import com.study.jpa.chap05_practice.dto.PostDetailResponseDTO;
+import com.study.jpa.chap05_practice.service.PostService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 테이블을 만들고 이름을 바꾸는(DDL) 테스트라서 @Transactional 없이 실행하고, 만든 데이터는 직접 지운다.
+@SpringBootTest
+class HashTagMigrationTest {
+
+    @Autowired
+    HashTagMigration migration;
+
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    Long postNo;
+
+    @BeforeEach
+    void createLegacyTable() {
+        postNo = postService.insertAll(new PostBulkCreateDTO(List.of(
+                PostCreateDTO.builder().writer("작성자").title("예전 게시물").content("내용").build()
+        ))).getPostNos().get(0);
+
+        // 예전 해시태그 테이블 - 게시물마다 태그 이름을 저장하고 tbl_post를 참조한다. (긴 태그 확인을 위해 컬럼은 넉넉하게)
+        jdbcTemplate.execute("CREATE TABLE tbl_hash_tag (" +
+                " tag_no BIGINT AUTO_INCREMENT PRIMARY KEY," +
+                " tag_name VARCHAR(500)," +
+                " post_no BIGINT," +
+                " CONSTRAINT fk_hash_tag_post FOREIGN KEY (post_no) REFERENCES tbl_post (post_no))");
+        jdbcTemplate.update("INSERT INTO tbl_hash_tag (tag_name, post_no) VALUES (?, ?), (?, ?)",
+                "예전태그1", postNo, "예전태그2", postNo);
+    }
+
+    @AfterEach
+    void dropLegacyTable() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS tbl_hash_tag");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS tbl_hash_tag_legacy");
+        jdbcTemplate.update("DELETE FROM tbl_post_tag WHERE post_no = ?", postNo);
+        jdbcTemplate.update("DELETE FROM tbl_post WHERE post_no = ?", postNo);
+        jdbcTemplate.update("DELETE FROM tbl_tag WHERE tag_name LIKE '예전태그%'");
+    }
+
+    @Test
+    @DisplayName("옮긴 게시물의 해시태그가 새 테이블로 조회되고, 옮긴 게시물을 삭제할 수 있어야 한다.")
+    void testDeleteMigratedPost() throws Exception {
+        //given
+        migration.run(null);
+        PostDetailResponseDTO detail = postService.getDetail(postNo);
+
+        //when
+        postService.delete(postNo);
+
+        //then
+        assertEquals(List.of("예전태그1", "예전태그2"), detail.getHashTags());
+        assertEquals(0, count("SELECT COUNT(*) FROM tbl_post WHERE post_no = " + postNo));
+        assertEquals(0, count("SELECT COUNT(*) FROM information_schema.table_constraints" +
+                " WHERE LOWER(table_name) = 'tbl_hash_tag_legacy' AND constraint_type = 'FOREIGN KEY'"));
+    }
+
+    @Test
+    @DisplayName("이미 이름을 바꾼 예전 테이블에 남아있는 외래 키도 서버가 시작될 때 지워야 한다.")
+    void testDropForeignKeyOfRenamedTable() throws Exception {
+        //given - 외래 키를 지우기 전 버전으로 옮겨진 DB
+        jdbcTemplate.execute("ALTER TABLE tbl_hash_tag RENAME TO tbl_hash_tag_legacy");
+
+        //when
+        migration.run(null);
+
+        //then
+        assertEquals(0, count("SELECT COUNT(*) FROM information_schema.table_constraints" +
+                " WHERE LOWER(table_name) = 'tbl_hash_tag_legacy' AND constraint_type = 'FOREIGN KEY'"));
+        assertDoesNotThrow(() -> postService.delete(postNo));
+    }
+
+    @Test
+    @DisplayName("태그 사전에 들어갈 수 없는 긴 해시태그가 있으면 옮기지 않고 실패해야 한다.")
+    void testTooLongTag() {
+        //given
+        jdbcTemplate.update("INSERT INTO tbl_hash_tag (tag_name, post_no) VALUES (?, ?)", "예전태그" + "가".repeat(300), postNo);
+
+        //when
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> migration.run(null));
+
+        //then
+        assertTrue(e.getMessage().contains("1개"));
+        assertEquals(0, count("SELECT COUNT(*) FROM tbl_post_tag WHERE post_no = " + postNo));
+        assertEquals(3, count("SELECT COUNT(*) FROM tbl_hash_tag"));
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
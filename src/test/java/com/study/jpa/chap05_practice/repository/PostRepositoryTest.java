@@ -34,4 +34,23 @@ class PostRepositoryTest {
         }
 
     }
-}
\ No newline at end of file
+
+    @Test
+    @Rollback
+    @DisplayName("새 게시물은 merge(복사)가 아니라 persist로 저장되어 넘긴 객체가 그대로 영속 상태가 되고 버전은 0이어야 한다.")
+    void saveNewPost() {
+        //given
+        Post post = Post.builder()
+                .title("새 제목")
+                .content("새 내용")
+                .writer("새 작성자")
+                .build();
+
+        //when
+        Post saved = postRepository.save(post);
+
+        //then
+        assertSame(post, saved);
+        assertEquals(0L, saved.getVersion());
+    }
+}
@@ -0,0 +1,158 @@
+package com.study.jpa.chap05_practice.search;
+
+import com.study.jpa.chap05_practice.dto.PostSummaryDTO;
+import com.study.jpa.chap05_practice.event.PostChangedEvent;
+import com.study.jpa.chap05_practice.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static com.study.jpa.chap05_practice.event.PostChangedEvent.Type.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PostSearchIndexTest {
+
+    PostSearchIndex index;
+
+    @BeforeEach
+    void insertDummyData() {
+        // DB 없이 이벤트로만 색인을 채운다.
+        index = new PostSearchIndex(null, null);
+        created(1L, "스프링부트 입문", "스프링부트로 게시판을 만들어 봅시다.");
+        created(2L, "JPA 정리", "Spring Data JPA와 스프링부트를 같이 씁니다.");
+        created(3L, "점심 메뉴", "오늘은 김치찌개를 먹었습니다.");
+        created(4L, "Spring tips", "spring boot, spring data jpa");
+    }
+
+    @Test
+    @DisplayName("한글은 두 글자씩 잘리고, 영어는 단어 단위로 소문자로 잘려야 한다.")
+    void testTokenize() {
+        assertEquals(List.of("스프", "프링", "링부", "부트", "jpa", "밥"), PostTokenizer.tokenize("스프링부트, JPA! 밥"));
+    }
+
+    @Test
+    @DisplayName("검색어의 모든 단어가 들어있는 게시물만 찾고, 제목에 있는 게시물이 더 앞에 나와야 한다.")
+    void testSearch() {
+        //when
+        PostSearchIndex.Result result = index.search("스프링부트", 0, 10);
+
+        //then
+        assertEquals(2, result.getTotal());
+        assertEquals(List.of(1L, 2L), result.getPostIds());
+        assertEquals(Set.of(2L, 4L), new HashSet<>(index.search("data jpa", 0, 10).getPostIds()));
+        assertEquals(0, index.search("스프링 파이썬", 0, 10).getTotal());
+    }
+
+    @Test
+    @DisplayName("단어 중간 부분으로도 검색되어야 하고 페이지 단위로 잘려야 한다.")
+    void testPaging() {
+        //when
+        PostSearchIndex.Result first = index.search("링부트", 0, 1);
+        PostSearchIndex.Result second = index.search("링부트", 1, 1);
+
+        //then
+        assertEquals(2, first.getTotal());
+        assertEquals(List.of(1L), first.getPostIds());
+        assertEquals(List.of(2L), second.getPostIds());
+    }
+
+    @Test
+    @DisplayName("수정/삭제된 게시물은 바뀐 내용으로만 검색되어야 한다.")
+    void testModifyAndDelete() {
+        //when
+        index.onPostChanged(new PostChangedEvent(MODIFIED, 3L, null, "저녁 메뉴", "된장찌개"));
+        index.onPostChanged(new PostChangedEvent(DELETED, 1L, List.of()));
+
+        //then
+        assertEquals(0, index.search("김치찌개", 0, 10).getTotal());
+        assertEquals(List.of(3L), index.search("찌개", 0, 10).getPostIds());
+        assertEquals(List.of(2L), index.search("스프링부트", 0, 10).getPostIds());
+    }
+
+    @Test
+    @DisplayName("삭제가 많이 쌓여 색인을 정리한 뒤에도 남은 게시물은 그대로 검색되어야 한다.")
+    void testCompact() {
+        //given
+        for (long id = 100; id < 3100; id++) {
+            created(id, "더미 " + id, "삭제될 게시물");
+        }
+
+        //when
+        for (long id = 100; id < 3100; id++) {
+            index.onPostChanged(new PostChangedEvent(DELETED, id, List.of()));
+        }
+
+        //then
+        assertEquals(0, index.search("삭제", 0, 10).getTotal());
+        assertEquals(List.of(1L, 2L), index.search("스프링부트", 0, 10).getPostIds());
+        assertEquals(List.of(3L), index.search("김치찌개", 0, 10).getPostIds());
+    }
+
+    @Test
+    @DisplayName("색인을 만드는 도중에 수정/삭제된 게시물은 예전 스냅샷이 아니라 바뀐 내용으로 남아야 한다.")
+    void testChangedDuringBuild() {
+        //given - 게시물을 읽기 시작한 뒤에 1번 수정, 2번 삭제가 커밋된다.
+        PostRepository repository = mock(PostRepository.class);
+        PostSearchIndex building = new PostSearchIndex(repository, mock(PlatformTransactionManager.class));
+        when(repository.streamSummaries(anyInt())).thenAnswer(invocation -> {
+            building.onPostChanged(new PostChangedEvent(MODIFIED, 1L, null, "저녁 메뉴", "된장찌개"));
+            building.onPostChanged(new PostChangedEvent(DELETED, 2L, List.of()));
+            return Stream.of(summary(1L, "점심 메뉴", "김치찌개"), summary(2L, "점심 메뉴", "순두부찌개"));
+        });
+
+        //when
+        building.build();
+
+        //then
+        assertTrue(building.isReady());
+        assertEquals(0, building.search("김치찌개", 0, 10).getTotal());
+        assertEquals(List.of(1L), building.search("찌개", 0, 10).getPostIds());
+    }
+
+    @Test
+    @DisplayName("색인 생성이 실패하면 준비되지 않은 상태로 남고, 다시 시도해서 성공하면 준비되어야 한다.")
+    void testBuildFailure() {
+        //given
+        PostRepository repository = mock(PostRepository.class);
+        PostSearchIndex failing = new PostSearchIndex(repository, mock(PlatformTransactionManager.class));
+        when(repository.streamSummaries(anyInt()))
+                .thenAnswer(invocation -> Stream.concat(
+                        Stream.of(summary(1L, "점심 메뉴", "김치찌개")),
+                        Stream.generate(() -> { throw new IllegalStateException("DB 연결 끊김"); })))
+                .thenAnswer(invocation -> Stream.of(summary(2L, "저녁 메뉴", "된장찌개")));
+
+        //when
+        failing.build();
+
+        //then
+        assertFalse(failing.isReady());
+        assertEquals(0, failing.termCount()); // 만들다 만 색인은 비운다.
+
+        //when
+        failing.retryBuild();
+
+        //then
+        assertTrue(failing.isReady());
+        assertEquals(0, failing.search("김치찌개", 0, 10).getTotal());
+        assertEquals(List.of(2L), failing.search("찌개", 0, 10).getPostIds());
+    }
+
+    private static PostSummaryDTO summary(Long id, String title, String content) {
+        LocalDateTime now = LocalDateTime.now();
+        return new PostSummaryDTO(id, "작성자", title, content, now, now);
+    }
+
+    private void created(Long id, String title, String content) {
+        index.onPostChanged(new PostChangedEvent(CREATED, id, List.of(), title, content));
+    }
+}
@@ -0,0 +1,111 @@
+package com.study.jpa.chap05_practice.service;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import com.study.jpa.chap05_practice.dto.PostBulkCreateDTO;
+import com.study.jpa.chap05_practice.dto.PostBulkResponseDTO;
+import com.study.jpa.chap05_practice.dto.PostCreateDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 게시물 등록: 기존 방식(게시물/해시태그 한 줄씩 save) vs 대량 등록(JDBC batch) 비교
+@SpringBootTest
+@Transactional // 비교용 데이터는 테스트가 끝나면 롤백
+@Import(PostBulkInsertBenchmarkTest.StatementCounterConfig.class)
+class PostBulkInsertBenchmarkTest {
+
+    static final int POST_COUNT = 500;
+    static final int TAG_COUNT = 5;
+
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    StatementCounter statementCounter;
+
+    @Test
+    @DisplayName("대량 등록은 기존 방식보다 DB 왕복 횟수가 훨씬 적어야 한다.")
+    void compareInsert() throws Exception {
+        //given
+        List<PostCreateDTO> posts = createDummyPosts();
+
+        //when
+        // 1. 기존 방식
+        long perRowStatements = statementCounter.count.get();
+        long perRowStart = System.nanoTime();
+        for (PostCreateDTO post : posts) {
+            postService.insert(post);
+        }
+        long perRowNanos = System.nanoTime() - perRowStart;
+        perRowStatements = statementCounter.count.get() - perRowStatements;
+
+        // 2. 대량 등록
+        long bulkStatements = statementCounter.count.get();
+        long bulkStart = System.nanoTime();
+        PostBulkResponseDTO result = postService.insertAll(new PostBulkCreateDTO(posts));
+        long bulkNanos = System.nanoTime() - bulkStart;
+        bulkStatements = statementCounter.count.get() - bulkStatements;
+
+        //then
+        System.out.println("\n\n\n");
+        System.out.printf("게시물 %d개 (해시태그 %d개씩)%n", POST_COUNT, TAG_COUNT);
+        System.out.printf("기존 방식 - 실행 횟수: %d, %d ms, %.0f posts/s%n",
+                perRowStatements, perRowNanos / 1_000_000, POST_COUNT / (perRowNanos / 1e9));
+        System.out.printf("대량 등록 - 실행 횟수: %d, %d ms, %.0f posts/s%n",
+                bulkStatements, bulkNanos / 1_000_000, POST_COUNT / (bulkNanos / 1e9));
+        System.out.println("\n\n\n");
+
+        assertEquals(POST_COUNT, result.getPostCount());
+        assertEquals(POST_COUNT * TAG_COUNT, result.getHashTagCount());
+        assertTrue(perRowStatements >= POST_COUNT * (1 + TAG_COUNT)); // 처음 보는 태그는 사전 등록 쿼리가 더 나간다.
+        assertTrue(bulkStatements * 10 < perRowStatements);
+    }
+
+    private List<PostCreateDTO> createDummyPosts() {
+        List<PostCreateDTO> posts = new ArrayList<>();
+        for (int i = 1; i <= POST_COUNT; i++) {
+            List<String> tags = new ArrayList<>();
+            for (int j = 1; j <= TAG_COUNT; j++) {
+                tags.add("태그" + j);
+            }
+            posts.add(PostCreateDTO.builder()
+                    .writer("작성자")
+                    .title("제목" + i)
+                    .content("내용" + i)
+                    .hashTags(tags)
+                    .build());
+        }
+        return posts;
+    }
+
+    // p6spy를 통해 실제로 DB에 실행 요청(execute, executeBatch)을 보낸 횟수를 센다.
+    static class StatementCounter extends SimpleJdbcEventListener {
+        final AtomicLong count = new AtomicLong();
+
+        @Override
+        public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+            count.incrementAndGet();
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCounterConfig {
+        @Bean
+        StatementCounter statementCounter() {
+            return new StatementCounter();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.study.jpa.chap05_practice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.jpa.chap05_practice.dto.ExportFormat;
+import com.study.jpa.chap05_practice.dto.PostBulkCreateDTO;
+import com.study.jpa.chap05_practice.dto.PostCreateDTO;
+import com.study.jpa.chap05_practice.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional // 더미 데이터는 테스트가 끝나면 롤백
+class PostExportServiceTest {
+
+    static final int POST_COUNT = 1234; // 배치 크기(500)로 나누어 떨어지지 않는 수
+
+    @Autowired
+    PostExportService postExportService;
+
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @BeforeEach
+    void insertDummyData() {
+        List<PostCreateDTO> posts = new ArrayList<>();
+        for (int i = 1; i <= POST_COUNT; i++) {
+            posts.add(PostCreateDTO.builder()
+                    .writer("작성자")
+                    .title("제목" + i)
+                    .content("내용, \"따옴표\"\n두 번째 줄" + i)
+                    .hashTags(List.of("태그A", "태그B" + (i % 3)))
+                    .build());
+        }
+        postService.insertAll(new PostBulkCreateDTO(posts));
+    }
+
+    @Test
+    @DisplayName("NDJSON 내보내기는 게시물마다 해시태그가 포함된 JSON 한 줄씩 써야 한다.")
+    void testExportNdjson() throws Exception {
+        //given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long total = postRepository.count();
+
+        //when
+        long rows = postExportService.export(ExportFormat.NDJSON, out);
+
+        //then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(total, rows);
+        assertEquals(total, lines.length);
+
+        JsonNode last = objectMapper.readTree(lines[lines.length - 1]);
+        assertEquals("제목" + POST_COUNT, last.get("title").asText());
+        assertEquals("내용, \"따옴표\"\n두 번째 줄" + POST_COUNT, last.get("content").asText());
+        assertEquals(2, last.get("hashTags").size());
+    }
+
+    @Test
+    @DisplayName("CSV 내보내기는 헤더 다음에 게시물마다 한 행씩, 특수문자가 있는 값은 따옴표로 감싸서 써야 한다.")
+    void testExportCsv() throws Exception {
+        //given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        long rows = postExportService.export(ExportFormat.CSV, out);
+
+        //then
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("post_no,writer,title,content,hash_tags,create_date,update_date\r\n"));
+        assertEquals(rows + 1, csv.split("\r\n").length); // 내용 안의 줄바꿈은 \n 이라 행 구분(\r\n)과 섞이지 않는다.
+        assertTrue(csv.contains(",제목1,\"내용, \"\"따옴표\"\"\n두 번째 줄1\",태그A|태그B1,"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.study.jpa.chap05_practice.service;
+
+import com.study.jpa.chap05_practice.dto.PostBulkDeleteDTO;
+import com.study.jpa.chap05_practice.dto.PostImportResponseDTO;
+import com.study.jpa.chap05_practice.repository.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 청크 크기를 작게 해서 여러 청크로 나눠 저장되게 한다.
+// 청크마다 따로 커밋되는지 확인해야 하므로 @Transactional 없이 실행하고, 가져온 게시물은 작성자로 직접 지운다.
+@SpringBootTest(properties = "post.import.chunk-size=2")
+class PostImportServiceTest {
+
+    static final String WRITER = "가져오기";
+
+    @Autowired
+    PostImportService postImportService;
+
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @AfterEach
+    void deleteImportedPosts() {
+        postService.deleteAll(PostBulkDeleteDTO.builder().writer(WRITER).build());
+    }
+
+    @Test
+    @DisplayName("올바른 줄은 모두 등록하고, 잘못된 줄은 줄 번호와 시작 위치를 알려줘야 한다.")
+    void testImport() throws Exception {
+        //given
+        String line1 = post("제목1", "\"hashTags\":[\"가\",\"나\"]");
+        String line2 = "{\"writer\":\"" + WRITER + "\",\"title\":\n";
+        String line3 = post("제목3", "\"hashTags\":[\"가\"]");
+        String line4 = "\n";
+        String line5 = "{\"writer\":\"이름이너무긴작성자\",\"title\":\"제목5\"}\n";
+        String line6 = "{\"writer\":\"" + WRITER + "\",\"title\":\"제목6\"}\r\n";
+        String line7 = post("제목7", "\"hashTags\":[\"" + "가".repeat(256) + "\"]");
+        String line8 = "{\"writer\":\"" + WRITER + "\",\"title\":\"제목8\"}"; // 마지막 줄은 줄바꿈 없이
+        String body = line1 + line2 + line3 + line4 + line5 + line6 + line7 + line8;
+        long before = postRepository.count();
+
+        //when
+        PostImportResponseDTO result = postImportService.importPosts(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        //then
+        assertEquals(7, result.getLineCount()); // 빈 줄 제외
+        assertEquals(4, result.getPostCount());
+        assertEquals(3, result.getHashTagCount());
+        assertEquals(3, result.getFailedCount());
+        assertEquals(before + 4, postRepository.count());
+
+        List<PostImportResponseDTO.Failure> failures = result.getFailures();
+        assertEquals(2, failures.get(0).getLine());
+        assertEquals(bytes(line1), failures.get(0).getOffset());
+        assertEquals(5, failures.get(1).getLine());
+        assertEquals(bytes(line1 + line2 + line3 + line4), failures.get(1).getOffset());
+        assertTrue(failures.get(1).getReason().startsWith("writer"));
+        assertEquals(7, failures.get(2).getLine());
+        assertTrue(failures.get(2).getReason().startsWith("hashTags[0]"));
+    }
+
+    @Test
+    @DisplayName("저장에 실패한 청크의 줄만 실패로 알려주고, 앞뒤 청크는 커밋되어 남아있어야 한다.")
+    void testFailedChunk() throws Exception {
+        //given - 청크 2개씩: [1, 2] [3, 4(내용이 컬럼 길이보다 김 -> DB 오류)] [5]
+        String body = post("제목1", null) + post("제목2", null)
+                + post("제목3", null) + post("제목4", "\"content\":\"" + "가".repeat(300) + "\"")
+                + post("제목5", null);
+        long before = postRepository.count();
+
+        //when
+        PostImportResponseDTO result = postImportService.importPosts(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        //then
+        assertEquals(5, result.getLineCount());
+        assertEquals(3, result.getPostCount());
+        assertEquals(2, result.getFailedCount());
+        assertEquals(before + 3, postRepository.count()); // 실패한 청크 앞의 청크도 롤백되지 않는다.
+
+        List<PostImportResponseDTO.Failure> failures = result.getFailures();
+        assertEquals(3, failures.get(0).getLine());
+        assertEquals(4, failures.get(1).getLine());
+        assertTrue(failures.get(0).getReason().startsWith("저장 실패"));
+    }
+
+    @Test
+    @DisplayName("객체가 아닌 JSON 줄(null, 숫자, 배열)은 실패로 알려주고 나머지 줄은 등록해야 한다.")
+    void testNotObject() throws Exception {
+        //given
+        String body = post("제목1", null) + "null\n" + "1\n" + "[]\n" + post("제목5", null);
+
+        //when
+        PostImportResponseDTO result = postImportService.importPosts(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        //then
+        assertEquals(2, result.getPostCount());
+        assertEquals(3, result.getFailedCount());
+        List<PostImportResponseDTO.Failure> failures = result.getFailures();
+        assertEquals(2, failures.get(0).getLine());
+        assertTrue(failures.get(0).getReason().startsWith("JSON 형식 오류"));
+        assertEquals(3, failures.get(1).getLine());
+        assertEquals(4, failures.get(2).getLine());
+    }
+
+    // 가져오기 작성자의 게시물 한 줄 (extra: 추가할 필드)
+    private static String post(String title, String extra) {
+        return "{\"writer\":\"" + WRITER + "\",\"title\":\"" + title + "\"" + (extra == null ? "" : "," + extra) + "}\n";
+    }
+
+    private static long bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
@@ -0,0 +1,325 @@
+package com.study.jpa.chap05_practice.service;
+
+import com.study.jpa.chap05_practice.dto.PageDTO;
+import com.study.jpa.chap05_practice.dto.PageStrategy;
+import com.study.jpa.chap05_practice.dto.PostBulkCreateDTO;
+import com.study.jpa.chap05_practice.dto.PostBulkDeleteDTO;
+import com.study.jpa.chap05_practice.dto.PostBulkDeleteResponseDTO;
+import com.study.jpa.chap05_practice.dto.PostCreateDTO;
+import com.study.jpa.chap05_practice.dto.PostCursorResponseDTO;
+import com.study.jpa.chap05_practice.dto.PostDetailResponseDTO;
+import com.study.jpa.chap05_practice.dto.PostListResponseDTO;
+import com.study.jpa.chap05_practice.dto.PostModifyDTO;
+import com.study.jpa.chap05_practice.dto.VersionInfoDTO;
+import com.study.jpa.chap05_practice.repository.PostRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 하이버네이트 통계를 켜서 실행된 SQL 개수를 셀 수 있게 한다.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional // 더미 데이터는 테스트가 끝나면 롤백
+class PostServiceTest {
+
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @BeforeEach
+    void insertDummyData() throws Exception {
+        for (int i = 1; i <= 30; i++) {
+            postService.insert(
+                    PostCreateDTO.builder()
+                            .writer("작성자")
+                            .title("제목" + i)
+                            .content("내용" + i)
+                            .hashTags(List.of("태그A" + i, "태그B" + i, "태그C" + i))
+                            .build()
+            );
+        }
+        entityManager.flush();
+        entityManager.clear(); // 영속성 컨텍스트를 비워야 조회할 때 실제 쿼리가 나간다.
+    }
+
+    @Test
+    @DisplayName("게시물 목록 조회의 쿼리 수는 페이지 크기와 상관없이 같아야 한다. (해시태그 N+1 방지)")
+    void testGetPostsStatementCount() {
+        //given
+        PageDTO small = PageDTO.builder().page(0).size(5).build();
+        PageDTO large = PageDTO.builder().page(0).size(20).build();
+
+        //when
+        long smallCount = countStatements(() -> {
+            PostListResponseDTO dto = postService.getPosts(small);
+            dto.getPosts().forEach(post -> assertEquals(3, post.getHashTags().size()));
+        });
+        long largeCount = countStatements(() -> {
+            PostListResponseDTO dto = postService.getPosts(large);
+            dto.getPosts().forEach(post -> assertEquals(3, post.getHashTags().size()));
+        });
+
+        //then
+        System.out.println("\n\nsize 5 -> " + smallCount + " / size 20 -> " + largeCount + "\n\n");
+        assertEquals(smallCount, largeCount);
+    }
+
+    @Test
+    @DisplayName("SLICE, CACHED_COUNT 방식은 COUNT 쿼리 없이 목록을 조회해야 한다.")
+    void testGetPostsWithoutCount() {
+        //given
+        PageDTO pageDTO = PageDTO.builder().page(0).size(10).build();
+        postService.getPosts(pageDTO, PageStrategy.CACHED_COUNT); // 총 게시물 수 캐시 채우기
+
+        //when
+        long pageCount = countStatements(() -> postService.getPosts(pageDTO, PageStrategy.PAGE));
+        long sliceCount = countStatements(() -> {
+            PostListResponseDTO dto = postService.getPosts(pageDTO, PageStrategy.SLICE);
+            assertEquals(2, dto.getPageInfo().getEndPage()); // 다음 페이지가 있으니 2페이지 버튼까지
+            assertEquals(-1, dto.getPageInfo().getTotalCount());
+        });
+        long cachedCount = countStatements(() -> postService.getPosts(pageDTO, PageStrategy.CACHED_COUNT));
+
+        //then
+        assertEquals(pageCount - 1, sliceCount);
+        assertEquals(pageCount - 1, cachedCount);
+    }
+
+    @Test
+    @DisplayName("미리보기 길이를 지정하면 내용이 그 길이만큼 잘려서 조회되어야 한다.")
+    void testGetPostsWithPreview() {
+        //given
+        PageDTO pageDTO = PageDTO.builder().page(0).size(10).previewLength(2).build();
+
+        //when
+        PostListResponseDTO dto = postService.getPosts(pageDTO);
+
+        //then
+        dto.getPosts().forEach(post -> assertEquals("내용", post.getContent()));
+    }
+
+    @Test
+    @DisplayName("커서 페이징으로 끝까지 넘기면 모든 게시물을 중복 없이 한 번씩 조회해야 한다.")
+    void testGetPostsByCursor() {
+        //given
+        Set<String> titles = new HashSet<>();
+        String cursor = "";
+        int pages = 0;
+
+        //when
+        while (cursor != null) {
+            PostCursorResponseDTO dto = postService.getPostsByCursor(cursor, PageDTO.builder().size(7).build());
+            dto.getPosts().forEach(post -> assertTrue(titles.add(post.getTitle())));
+            cursor = dto.getNextCursor();
+            pages++;
+        }
+
+        //then
+        assertEquals(30, titles.size());
+        assertEquals(5, pages); // 7 + 7 + 7 + 7 + 2
+    }
+
+    @Test
+    @DisplayName("커서 페이징에 1보다 작은 size를 보내면 잘못된 요청으로 처리해야 한다.")
+    void testGetPostsByCursorInvalidSize() {
+        //when
+        IllegalArgumentException zero = assertThrows(IllegalArgumentException.class,
+                () -> postService.getPostsByCursor(null, PageDTO.builder().size(0).build()));
+        IllegalArgumentException negative = assertThrows(IllegalArgumentException.class,
+                () -> postService.getPostsByCursor("", PageDTO.builder().size(-5).build()));
+
+        //then
+        assertTrue(zero.getMessage().contains("size"));
+        assertTrue(negative.getMessage().contains("size"));
+    }
+
+    @Test
+    @DisplayName("상세 조회 후 게시물을 수정하면 다음 상세 조회에는 수정된 내용이 나와야 한다.")
+    void testGetDetailAfterModify() throws Exception {
+        //given
+        Long id = postRepository.findAll().get(0).getId();
+        PostDetailResponseDTO before = postService.getDetail(id);
+
+        //when
+        postService.modify(PostModifyDTO.builder()
+                .postNo(id)
+                .title("수정된 제목")
+                .content(before.getContent())
+                .build());
+        PostDetailResponseDTO after = postService.getDetail(id);
+
+        //then
+        assertEquals("수정된 제목", after.getTitle());
+        assertEquals(before.getHashTags(), after.getHashTags());
+    }
+
+    @Test
+    @DisplayName("커밋된 게시물의 상세 조회는 캐시에서 응답하고, 수정이 커밋되면 캐시가 비워져 수정된 내용이 나와야 한다.")
+    void testGetDetailCachedAfterCommit() throws Exception {
+        //given - 더미 데이터 트랜잭션을 끝내고(롤백) 커밋된 게시물로 확인한다. (커밋 후 이벤트가 실제로 실행되어야 함)
+        TestTransaction.end();
+        List<Long> postNos = postService.insertAll(new PostBulkCreateDTO(List.of(
+                PostCreateDTO.builder().writer("작성자").title("커밋된 제목").content("내용").hashTags(List.of("태그")).build()
+        ))).getPostNos();
+        Long id = postNos.get(0);
+
+        try {
+            postService.getDetail(id);
+            long cachedCount = countStatements(() -> assertDoesNotThrow(() -> postService.getDetail(id)));
+
+            //when
+            postService.modify(PostModifyDTO.builder().postNo(id).title("수정된 제목").content("수정된 내용").build());
+            PostDetailResponseDTO after = postService.getDetail(id);
+
+            //then
+            assertEquals(0, cachedCount);
+            assertEquals("수정된 제목", after.getTitle());
+            assertEquals("수정된 내용", after.getContent());
+        } finally {
+            postService.deleteAll(PostBulkDeleteDTO.builder().postNos(postNos).build());
+        }
+    }
+
+    @Test
+    @DisplayName("버전을 지정한 수정은 UPDATE 한 번으로 처리되고, 예전 버전으로 수정하면 추가 조회 없이 실패해야 한다.")
+    void testModifyWithVersion() throws Exception {
+        //given
+        Long id = postRepository.findAll().get(0).getId();
+        Long version = postService.getDetail(id).getVersion();
+        PostModifyDTO dto = PostModifyDTO.builder().postNo(id).title("수정된 제목").content("수정된 내용").build();
+
+        //when
+        PostDetailResponseDTO modified = postService.modify(dto, version);
+        long staleCount = countStatements(() ->
+                assertThrows(OptimisticLockingFailureException.class, () -> postService.modify(dto, version)));
+
+        //then
+        assertEquals(version + 1, modified.getVersion());
+        assertEquals("수정된 제목", modified.getTitle());
+        assertEquals(1, staleCount); // 실패한 UPDATE 1번만
+    }
+
+    @Test
+    @DisplayName("게시물 삭제는 해시태그 수와 상관없이 정해진 수의 쿼리로 처리되어야 한다.")
+    void testDeleteStatementCount() {
+        //given
+        Long id = postRepository.findAll().get(0).getId();
+
+        //when
+        long count = countStatements(() -> assertDoesNotThrow(() -> postService.delete(id)));
+
+        //then
+        assertEquals(3, count); // 해시태그 이름 조회, 해시태그 DELETE, 게시물 DELETE
+        assertFalse(postRepository.existsById(id));
+        assertThrows(RuntimeException.class, () -> postService.delete(id));
+    }
+
+    @Test
+    @DisplayName("작성자로 대량 삭제하면 그 작성자의 게시물과 해시태그만 삭제되어야 한다.")
+    void testDeleteAllByWriter() throws Exception {
+        //given
+        for (int i = 1; i <= 5; i++) {
+            postService.insert(PostCreateDTO.builder()
+                    .writer("스팸")
+                    .title("광고" + i)
+                    .hashTags(List.of("광고", "홍보"))
+                    .build());
+        }
+
+        //when
+        PostBulkDeleteResponseDTO result = postService.deleteAll(PostBulkDeleteDTO.builder().writer("스팸").build());
+
+        //then
+        assertEquals(5, result.getPostCount());
+        assertEquals(10, result.getHashTagCount());
+        assertEquals(30, postRepository.count());
+    }
+
+    @Test
+    @DisplayName("글번호로 대량 삭제하면 없는 글번호는 건너뛰고 있는 게시물만 삭제되어야 한다.")
+    void testDeleteAllByIds() {
+        //given
+        List<Long> ids = new ArrayList<>();
+        postRepository.findAll().subList(0, 10).forEach(post -> ids.add(post.getId()));
+        ids.add(-1L);
+
+        //when
+        PostBulkDeleteResponseDTO result = postService.deleteAll(PostBulkDeleteDTO.builder().postNos(ids).build());
+
+        //then
+        assertEquals(10, result.getPostCount());
+        assertEquals(30, result.getHashTagCount());
+        assertEquals(20, postRepository.count());
+    }
+
+    @Test
+    @DisplayName("목록 버전 조회는 목록 조회와 같은 ETag를 더 적은 쿼리로 계산하고, 게시물이 수정되면 ETag가 바뀌어야 한다.")
+    void testGetPostsVersion() {
+        //given
+        PageDTO pageDTO = PageDTO.builder().page(0).size(10).build();
+        Long id = postRepository.findSummaries(1, PageRequest.of(0, 10, Sort.by("createDate").descending()))
+                .getContent().get(0).getId(); // 첫 페이지에 있는 게시물
+
+        for (PageStrategy strategy : PageStrategy.values()) {
+            //when
+            String listETag = postService.getPosts(pageDTO, strategy).getVersionInfo().getETag();
+            long versionCount = countStatements(() -> assertEquals(listETag,
+                    postService.getPostsVersion(pageDTO, strategy).getETag()));
+            long listCount = countStatements(() -> postService.getPosts(pageDTO, strategy));
+
+            //then
+            assertTrue(versionCount < listCount, strategy + ": " + versionCount + " / " + listCount);
+        }
+
+        String before = postService.getPostsVersion(pageDTO, PageStrategy.PAGE).getETag();
+        postService.modify(PostModifyDTO.builder().postNo(id).title("수정된 제목").content("수정된 내용").build());
+        assertNotEquals(before, postService.getPostsVersion(pageDTO, PageStrategy.PAGE).getETag());
+    }
+
+    @Test
+    @DisplayName("게시물 버전 조회는 상세 조회와 같은 버전을 알려줘야 한다.")
+    void testGetDetailVersion() throws Exception {
+        //given
+        Long id = postRepository.findAll().get(0).getId();
+
+        //when
+        PostDetailResponseDTO detail = postService.getDetail(id);
+        VersionInfoDTO version = postService.getDetailVersion(id);
+
+        //then
+        assertEquals("\"" + detail.getVersion() + "\"", version.getETag());
+        assertEquals(detail.getUpdateDate(), version.getLastModified());
+    }
+
+    // 전달받은 작업을 실행하는 동안 DB로 나간 SQL의 개수를 리턴
+    private long countStatements(Runnable work) {
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        work.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,88 @@
+package com.study.jpa.chap05_practice.service;
+
+import com.study.jpa.SqlStatementStats;
+import com.study.jpa.chap05_practice.dto.*;
+import com.study.jpa.chap05_practice.entity.Post;
+import com.study.jpa.chap05_practice.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.study.jpa.StatementBudget.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// PostService 메서드별 SQL 예산 - 게시물/해시태그 수가 늘어도 SQL 수가 늘지 않아야 한다.
+@SpringBootTest
+@Transactional // 더미 데이터는 테스트가 끝나면 롤백
+class PostStatementBudgetTest {
+
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @BeforeEach
+    void insertDummyData() throws Exception {
+        for (int i = 1; i <= 20; i++) {
+            postService.insert(
+                    PostCreateDTO.builder()
+                            .writer("작성자")
+                            .title("제목" + i)
+                            .content("내용" + i)
+                            .hashTags(List.of("예산태그A" + i, "예산태그B" + i))
+                            .build()
+            );
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("목록 조회는 페이지 크기와 상관없이 정해진 수의 SQL로 처리되어야 한다.")
+    void testListBudget() {
+        PageDTO pageDTO = PageDTO.builder().page(1).size(20).build();
+
+        assertBudget(3, () -> postService.getPosts(pageDTO, PageStrategy.PAGE));  // 목록, COUNT, 해시태그 IN
+        assertBudget(2, () -> postService.getPosts(pageDTO, PageStrategy.SLICE)); // 목록, 해시태그 IN
+        assertBudget(2, () -> postService.getPostsByCursor(null, pageDTO));
+    }
+
+    @Test
+    @DisplayName("상세 조회, 수정, 삭제는 해시태그 수와 상관없이 정해진 수의 SQL로 처리되어야 한다.")
+    void testDetailModifyDeleteBudget() throws Exception {
+        Long id = postRepository.findAll().get(0).getId();
+        entityManager.clear();
+
+        assertBudget(2, () -> postService.getDetail(id)); // 게시물, 해시태그
+        assertBudget(3, () -> postService.modify(
+                PostModifyDTO.builder().postNo(id).title("수정").content("수정").build()));
+        assertBudget(3, () -> postService.delete(id));
+    }
+
+    @Test
+    @DisplayName("N+1 예산을 넘기면 실패해야 한다.")
+    void testBudgetDetectsRepeats() {
+        List<Long> ids = postRepository.findAll().stream().map(Post::getId).limit(5)
+                .collect(Collectors.toList());
+        entityManager.clear();
+
+        // 게시물마다 따로 조회 = 같은 SQL 5번
+        SqlStatementStats stats = measure(() -> ids.forEach(id -> postRepository.findById(id)));
+        assertEquals(5, stats.getMaxRepeat());
+        assertThrows(AssertionError.class, () -> assertBudget(5, () -> {
+            entityManager.clear();
+            ids.forEach(postRepository::findById);
+        }));
+    }
+}
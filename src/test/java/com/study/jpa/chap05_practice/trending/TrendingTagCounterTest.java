@@ -0,0 +1,106 @@
+package com.study.jpa.chap05_practice.trending;
+
+import com.study.jpa.chap05_practice.dto.TrendingTagDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingTagCounterTest {
+
+    static final long MINUTE = 60_000;
+
+    TrendingTagCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        // 1분 단위 구간 60개, 구간마다 후보 태그 10개, 결과 캐싱 없음
+        counter = new TrendingTagCounter(60, 60, 256, 4, 10, 0);
+    }
+
+    @Test
+    @DisplayName("많이 쓰인 태그 순서대로 조회되어야 하고 대소문자는 같은 태그로 세야 한다.")
+    void testTop() {
+        //given
+        long now = 100 * MINUTE;
+        for (int i = 0; i < 5; i++) counter.increment("자바", now);
+        for (int i = 0; i < 3; i++) counter.increment("JPA", now);
+        counter.increment("jpa", now);
+        counter.increment("스프링", now);
+
+        //when
+        List<TrendingTagDTO> top = counter.top(Duration.ofHours(1), 2, now);
+
+        //then
+        assertEquals(List.of(new TrendingTagDTO("자바", 5), new TrendingTagDTO("jpa", 4)), top);
+    }
+
+    @Test
+    @DisplayName("조회 구간을 벗어난 집계는 빠져야 한다.")
+    void testWindow() {
+        //given
+        long now = 100 * MINUTE;
+        for (int i = 0; i < 10; i++) counter.increment("예전태그", now - 30 * MINUTE);
+        counter.increment("최근태그", now);
+
+        //when
+        List<TrendingTagDTO> lastTenMinutes = counter.top(Duration.ofMinutes(10), 10, now);
+        List<TrendingTagDTO> lastHour = counter.top(Duration.ofHours(1), 10, now);
+        List<TrendingTagDTO> afterTwoHours = counter.top(Duration.ofHours(1), 10, now + 120 * MINUTE);
+
+        //then
+        assertEquals(List.of(new TrendingTagDTO("최근태그", 1)), lastTenMinutes);
+        assertEquals("예전태그", lastHour.get(0).getTagName());
+        assertTrue(afterTwoHours.isEmpty());
+    }
+
+    @Test
+    @DisplayName("태그 종류가 많아도 후보 수는 제한되고, 자주 나온 태그는 늦게 나와도 후보가 되어야 한다.")
+    void testBoundedCandidates() {
+        //given
+        long now = 100 * MINUTE;
+        for (int i = 0; i < 10_000; i++) counter.increment("태그" + i, now);
+        for (int i = 0; i < 5_000; i++) counter.increment("인기태그", now);
+
+        //when
+        List<TrendingTagDTO> top = counter.top(Duration.ofMinutes(1), 100, now);
+
+        //then
+        assertTrue(top.size() <= 10); // 구간 하나의 후보는 최대 10개
+        assertEquals("인기태그", top.get(0).getTagName());
+        assertTrue(top.get(0).getCount() >= 5_000); // 근사값은 실제보다 작게 나오지 않는다.
+    }
+
+    @Test
+    @DisplayName("후보가 다 찬 뒤에 자주 나온 태그는 가장 적게 나온 후보를 밀어내고 후보가 되어야 한다.")
+    void testLateHeavyHitter() {
+        //given - 후보 10개가 먼저 두 번씩 나와서 자리를 채운다.
+        long now = 100 * MINUTE;
+        for (int i = 0; i < 10; i++) {
+            counter.increment("먼저" + i, now);
+            counter.increment("먼저" + i, now);
+        }
+        for (int i = 0; i < 1_000; i++) counter.increment("한번" + i, now); // 후보보다 적게 나온 태그는 들어오지 못한다.
+
+        //when - 같은 구간 후반에 갑자기 많이 쓰인 태그
+        for (int i = 0; i < 50; i++) counter.increment("늦은인기", now);
+
+        //then
+        List<TrendingTagDTO> top = counter.top(Duration.ofMinutes(1), 10, now);
+        assertEquals("늦은인기", top.get(0).getTagName());
+        assertTrue(top.get(0).getCount() >= 50);
+    }
+
+    @Test
+    @DisplayName("보관하는 구간보다 긴 구간은 조회할 수 없다.")
+    void testTooLongWindow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> counter.top(Duration.ofHours(2), 10, 100 * MINUTE));
+        assertThrows(IllegalArgumentException.class,
+                () -> counter.top(Duration.ofSeconds(Long.MAX_VALUE), 10, 100 * MINUTE)); // ms로 바꾸면 넘치는 구간
+    }
+}